@@ -0,0 +1,72 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time of assigning unassigned Rockets to Missions, contended by all benchmark threads.
+ * Run with -t (BenchmarkRunner uses 1 to 64 threads), SKEWED distribution concentrates assignments on few Missions.
+ * Every thread assigns a batch of Rockets it created before the iteration, so only assignment is measured
+ * (see RepositoryWriteBenchmark.addRocket for creating Rockets). Assignment can't be repeated with the same Rocket,
+ * so each iteration is a single shot of a batch, throughput is threads * batch size / reported time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = AssignmentBenchmark.ASSIGNMENTS_PER_ITERATION)
+@Measurement(iterations = 5, batchSize = AssignmentBenchmark.ASSIGNMENTS_PER_ITERATION)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AssignmentBenchmark {
+
+		static final int ASSIGNMENTS_PER_ITERATION = 50_000;
+
+		@Param({"EMPTY", "UNIFORM", "SKEWED"})
+		RocketDistribution distribution;
+
+		Fleet fleet;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+				fleet = Fleet.build(1_000, distribution);
+		}
+
+		/**
+		 * Unassigned Rockets of a thread, created in fleet of the iteration before it starts
+		 */
+		@State(Scope.Thread)
+		public static class UnassignedRockets {
+
+				final Random random = new Random();
+				String[] rocketIds;
+				int next;
+
+				@Setup(Level.Iteration)
+				public void setUp(AssignmentBenchmark benchmark) {
+						var names = new ArrayList<String>(ASSIGNMENTS_PER_ITERATION);
+						for (int i = 0; i < ASSIGNMENTS_PER_ITERATION; i++) {
+								names.add("Dragon " + i);
+						}
+						rocketIds = benchmark.fleet.repository.addRockets(names).toArray(String[]::new);
+						next = 0;
+				}
+		}
+
+		@Benchmark
+		public void assignRocketToMission(UnassignedRockets rockets) {
+				var missionId = fleet.missionIds[distribution.pickMission(rockets.random, fleet.missionIds.length)];
+				fleet.repository.assignRocketToMission(rockets.rocketIds[rockets.next++], missionId);
+		}
+}
@@ -0,0 +1,45 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all repository benchmarks with GC profiler, so allocation rate is reported next to each result.
+ * Assignment benchmark is run for 1 to 64 threads. Arguments are passed to JMH, e.g. -p missions=1000.
+ */
+public final class BenchmarkRunner {
+
+		private static final int[] ASSIGNMENT_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+		private BenchmarkRunner() {
+		}
+
+		public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+				var commandLineOptions = new CommandLineOptions(args);
+
+				new Runner(new OptionsBuilder()
+					.parent(commandLineOptions)
+					.include(RepositoryWriteBenchmark.class.getSimpleName())
+					.include(RocketStatusBenchmark.class.getSimpleName())
+					.include(CommandEngineBenchmark.class.getSimpleName())
+					.include(MissionsSummaryBenchmark.class.getSimpleName())
+					.include(ManifestLoadBenchmark.class.getSimpleName())
+					.addProfiler(GCProfiler.class)
+					.build())
+					.run();
+
+				for (var threads : ASSIGNMENT_THREADS) {
+						new Runner(new OptionsBuilder()
+							.parent(commandLineOptions)
+							.include(AssignmentBenchmark.class.getSimpleName())
+							.threads(threads)
+							.addProfiler(GCProfiler.class)
+							.build())
+							.run();
+				}
+		}
+}
@@ -0,0 +1,61 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.msocha.spacexrepository.engine.RepositoryCommandEngine;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Throughput of Rocket status changes applied by single writer engine, compare with RocketStatusBenchmark.
+ * Each operation waits for its command to be applied, run with -t to load engine from many threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CommandEngineBenchmark {
+
+		@Param({"EMPTY", "UNIFORM", "SKEWED"})
+		RocketDistribution distribution;
+
+		Fleet fleet;
+		RepositoryCommandEngine engine;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+				fleet = Fleet.build(10_000, distribution);
+				engine = new RepositoryCommandEngine(fleet.repository);
+		}
+
+		@TearDown(Level.Iteration)
+		public void tearDown() {
+				engine.close();
+		}
+
+		@State(Scope.Thread)
+		public static class ThreadRandom {
+				final Random random = new Random();
+		}
+
+		@Benchmark
+		public void setRocketStatusWithRepairCascade(ThreadRandom threadRandom) {
+				var rocketId = fleet.rocketIds[threadRandom.random.nextInt(fleet.rocketIds.length)];
+				engine.setRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+				engine.setRocketStatus(rocketId, RocketStatus.IN_SPACE).join();
+		}
+}
@@ -0,0 +1,58 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.SpaceXRepository;
+
+/**
+ * Repository populated with Missions and Rockets according to RocketDistribution.
+ */
+final class Fleet {
+
+		final SpaceXRepository repository;
+		final String[] missionIds;
+		final String[] rocketIds;
+
+		private Fleet(SpaceXRepository repository, String[] missionIds, String[] rocketIds) {
+				this.repository = repository;
+				this.missionIds = missionIds;
+				this.rocketIds = rocketIds;
+		}
+
+		/**
+		 * Builds fleet with the same content for the same arguments.
+		 * Every Mission gets Rockets according to distribution, at least one Rocket is always created.
+		 */
+		static Fleet build(int missionCount, RocketDistribution distribution) {
+				return build(missionCount, distribution, RepositoryOptions.defaults());
+		}
+
+		static Fleet build(int missionCount, RocketDistribution distribution, RepositoryOptions options) {
+				var random = new Random(42);
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), options);
+				var missionIds = new String[missionCount];
+				var rocketIds = new ArrayList<String>();
+
+				for (int i = 0; i < missionCount; i++) {
+						missionIds[i] = repository.addMission("Mission " + i);
+						var missionRocketIds = repository.addRockets(names(distribution.rocketsFor(random)));
+						repository.assignRocketsToMission(missionIds[i], missionRocketIds);
+						rocketIds.addAll(missionRocketIds);
+				}
+				if (rocketIds.isEmpty()) {
+						rocketIds.add(repository.addRocket("Dragon"));
+				}
+				return new Fleet(repository, missionIds, rocketIds.toArray(String[]::new));
+		}
+
+		private static List<String> names(int count) {
+				var names = new ArrayList<String>(count);
+				for (int i = 0; i < count; i++) {
+						names.add("Dragon " + i);
+				}
+				return names;
+		}
+}
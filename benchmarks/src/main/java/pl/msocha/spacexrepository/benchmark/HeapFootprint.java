@@ -0,0 +1,62 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+import pl.msocha.spacexrepository.storage.DenseRocketStore;
+import pl.msocha.spacexrepository.storage.OffHeapMissionStore;
+import pl.msocha.spacexrepository.storage.OffHeapRocketStore;
+
+/**
+ * Heap retained by repository per Rocket for every storage, with default options.
+ * Fleet of a given number of Rockets is assigned to Missions of the same size, heap is measured after full GC
+ * before and after the fleet is created. Heap of Missions is included, so it is spread over their Rockets.
+ * Summaries are not created, so no summary is cached.
+ * Number of Rockets and Rockets per Mission are passed as arguments, 1 000 000 and 10 by default:
+ * java -cp benchmarks/target/benchmarks.jar pl.msocha.spacexrepository.benchmark.HeapFootprint 1000000 10
+ */
+public final class HeapFootprint {
+
+		private HeapFootprint() {
+		}
+
+		public static void main(String[] args) {
+				var rocketCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+				var rocketsPerMission = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+				measure("ConcurrentHashMap", rocketCount, rocketsPerMission, ConcurrentHashMap::new, ConcurrentHashMap::new);
+				measure("DenseRocketStore", rocketCount, rocketsPerMission, DenseRocketStore::new, ConcurrentHashMap::new);
+				measure("OffHeap", rocketCount, rocketsPerMission, OffHeapRocketStore::new, OffHeapMissionStore::new);
+		}
+
+		private static void measure(String storage, int rocketCount, int rocketsPerMission, Supplier<ConcurrentMap<String, Rocket>> rockets,
+			Supplier<ConcurrentMap<String, Mission>> missions) {
+				var before = usedHeap();
+				var repository = new SpaceXRepository(rockets.get(), missions.get());
+				for (int created = 0; created < rocketCount; created += rocketsPerMission) {
+						var missionId = repository.addMission("Mission " + created);
+						var rocketIds = repository.addRockets(Collections.nCopies(Math.min(rocketsPerMission, rocketCount - created), "Dragon"));
+						repository.assignRocketsToMission(missionId, rocketIds);
+				}
+				var retained = usedHeap() - before;
+				System.out.printf("%-20s %,d Rockets: %,d bytes of heap, %.1f bytes per Rocket%n", storage, rocketCount, retained,
+					(double) retained / rocketCount);
+				// Keeps repository reachable until heap is measured
+				if (repository.countRocketsByStatus(RocketStatus.IN_SPACE) != rocketCount) {
+						throw new IllegalStateException("Fleet was not created");
+				}
+		}
+
+		private static long usedHeap() {
+				var memory = ManagementFactory.getMemoryMXBean();
+				for (int i = 0; i < 3; i++) {
+						memory.gc();
+				}
+				return memory.getHeapMemoryUsage().getUsed();
+		}
+}
@@ -0,0 +1,75 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.manifest.ManifestFormat;
+import pl.msocha.spacexrepository.manifest.ManifestLoadReport;
+import pl.msocha.spacexrepository.manifest.ManifestLoader;
+
+/**
+ * Time of loading a CSV manifest of Rockets assigned to Missions into an empty repository.
+ * Every Rocket is assigned, spread evenly over given number of Missions, so few Missions means large Missions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ManifestLoadBenchmark {
+
+		@Param({"1000000"})
+		int rockets;
+
+		@Param({"10", "10000"})
+		int missions;
+
+		Path manifest;
+		ManifestLoader loader;
+
+		@Setup(Level.Trial)
+		public void writeManifest() throws IOException {
+				manifest = Files.createTempFile("manifest", ".csv");
+				try (BufferedWriter writer = Files.newBufferedWriter(manifest)) {
+						for (int mission = 0; mission < missions; mission++) {
+								writer.write("mission,m%d,Mission %d\n".formatted(mission, mission));
+						}
+						for (int rocket = 0; rocket < rockets; rocket++) {
+								writer.write("rocket,r%d,Dragon\nassign,r%d,m%d\n".formatted(rocket, rocket, rocket % missions));
+						}
+				}
+		}
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+				loader = new ManifestLoader(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+		}
+
+		@TearDown(Level.Trial)
+		public void deleteManifest() throws IOException {
+				Files.delete(manifest);
+		}
+
+		@Benchmark
+		public ManifestLoadReport load() {
+				return loader.load(manifest, ManifestFormat.CSV);
+		}
+}
@@ -0,0 +1,62 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Latency of creating full Missions summary for growing number of Missions, with and without sharding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class MissionsSummaryBenchmark {
+
+		@Param({"1000", "100000", "1000000"})
+		int missions;
+
+		@Param({"EMPTY", "UNIFORM", "SKEWED"})
+		RocketDistribution distribution;
+
+		@Param({"1", "8"})
+		int shards;
+
+		Fleet fleet;
+		int nextRocket;
+
+		@Setup
+		public void setUp() {
+				fleet = Fleet.build(missions, distribution, RepositoryOptions.builder().shards(shards).build());
+		}
+
+		@Benchmark
+		public List<MissionSummary> getMissionsSummary() {
+				return fleet.repository.getMissionsSummary();
+		}
+
+		/**
+		 * Summary after a single Rocket changed status, so one Mission summary has to be rebuilt.
+		 */
+		@Benchmark
+		public List<MissionSummary> getMissionsSummaryAfterChange() {
+				var rocketId = fleet.rocketIds[nextRocket++ % fleet.rocketIds.length];
+				fleet.repository.setRocketStatus(rocketId, RocketStatus.IN_SPACE);
+				return fleet.repository.getMissionsSummary();
+		}
+}
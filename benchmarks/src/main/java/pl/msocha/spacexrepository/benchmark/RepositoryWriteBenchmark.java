@@ -0,0 +1,47 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of creating Rockets and Missions in a repository already holding a fleet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RepositoryWriteBenchmark {
+
+		@Param({"EMPTY", "UNIFORM", "SKEWED"})
+		RocketDistribution distribution;
+
+		Fleet fleet;
+
+		@Setup(Level.Iteration)
+		public void setUp() {
+				fleet = Fleet.build(10_000, distribution);
+		}
+
+		@Benchmark
+		public String addRocket() {
+				return fleet.repository.addRocket("Dragon");
+		}
+
+		@Benchmark
+		public String addMission() {
+				return fleet.repository.addMission("Mission");
+		}
+}
@@ -0,0 +1,62 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.Random;
+
+/**
+ * Distribution of Rockets among Missions used to shape benchmark fleets.
+ */
+public enum RocketDistribution {
+
+		/**
+		 * Missions have no Rockets, assignments are spread uniformly
+		 */
+		EMPTY {
+				@Override
+				int rocketsFor(Random random) {
+						return 0;
+				}
+
+				@Override
+				int pickMission(Random random, int missionCount) {
+						return random.nextInt(missionCount);
+				}
+		},
+		/**
+		 * Each Mission has the same number of Rockets, assignments are spread uniformly
+		 */
+		UNIFORM {
+				@Override
+				int rocketsFor(Random random) {
+						return 4;
+				}
+
+				@Override
+				int pickMission(Random random, int missionCount) {
+						return random.nextInt(missionCount);
+				}
+		},
+		/**
+		 * Most Missions have few Rockets and few Missions have many, assignments go mostly to the largest Missions
+		 */
+		SKEWED {
+				@Override
+				int rocketsFor(Random random) {
+						return (int) (Math.pow(random.nextDouble(), 6) * 128);
+				}
+
+				@Override
+				int pickMission(Random random, int missionCount) {
+						return (int) (Math.pow(random.nextDouble(), 6) * missionCount);
+				}
+		};
+
+		/**
+		 * @return Number of Rockets assigned to a Mission when fleet is built
+		 */
+		abstract int rocketsFor(Random random);
+
+		/**
+		 * @return Index of a Mission to assign next Rocket to
+		 */
+		abstract int pickMission(Random random, int missionCount);
+}
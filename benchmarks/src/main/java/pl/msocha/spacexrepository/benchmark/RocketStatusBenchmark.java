@@ -0,0 +1,51 @@
+package pl.msocha.spacexrepository.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Throughput of Rocket status changes. Each operation sends a Rocket to repair, which moves its Mission to PENDING,
+ * and brings it back to space. With EMPTY distribution Rockets are not assigned, so there is no Mission cascade.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class RocketStatusBenchmark {
+
+		@Param({"EMPTY", "UNIFORM", "SKEWED"})
+		RocketDistribution distribution;
+
+		Fleet fleet;
+
+		@Setup
+		public void setUp() {
+				fleet = Fleet.build(10_000, distribution);
+		}
+
+		@State(Scope.Thread)
+		public static class ThreadRandom {
+				final Random random = new Random();
+		}
+
+		@Benchmark
+		public void setRocketStatusWithRepairCascade(ThreadRandom threadRandom) {
+				var rocketId = fleet.rocketIds[threadRandom.random.nextInt(fleet.rocketIds.length)];
+				fleet.repository.setRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+				fleet.repository.setRocketStatus(rocketId, RocketStatus.IN_SPACE);
+		}
+}
@@ -0,0 +1,97 @@
+package pl.msocha.spacexrepository;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import pl.msocha.spacexrepository.history.MissionTransition;
+import pl.msocha.spacexrepository.history.RocketTransition;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.MissionSummaryPage;
+import pl.msocha.spacexrepository.model.RejectedAssignment;
+import pl.msocha.spacexrepository.model.RejectedMissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Asynchronous API of {@link SpaceXRepository}. Each operation has the same semantics as its synchronous counterpart.
+ * Rejected operation completes its future exceptionally with the exception its synchronous counterpart throws, which is passed
+ * as is to {@link CompletableFuture#exceptionally} and {@link CompletableFuture#handle} of the returned future.
+ * As with every {@link CompletableFuture}, {@link CompletableFuture#join()} throws it wrapped in
+ * {@link java.util.concurrent.CompletionException} and {@link CompletableFuture#get()} wrapped in
+ * {@link java.util.concurrent.ExecutionException}, and dependent stages see it wrapped in CompletionException.
+ */
+public interface AsyncSpaceXRepository {
+
+		/**
+		 * Runs operations of repository on executor. Repository waits only on reentrant locks and never blocks while holding
+		 * a monitor, so a virtual thread waiting for a Mission or status lock unmounts from its carrier and executor creating
+		 * virtual thread per task is a good fit for many concurrent callers. File I/O of journal and snapshots still
+		 * occupies a carrier while it lasts.
+		 * @param repository Repository to run operations on
+		 * @param executor Executor running operations
+		 * @return Asynchronous API of repository
+		 */
+		static AsyncSpaceXRepository of(SpaceXRepository repository, Executor executor) {
+				return new ExecutorAsyncSpaceXRepository(repository, executor);
+		}
+
+		CompletableFuture<String> addRocket(String rocketName);
+
+		CompletableFuture<List<String>> addRockets(Collection<String> rocketNames);
+
+		CompletableFuture<String> addMission(String missionName);
+
+		CompletableFuture<List<String>> addMissions(Collection<String> missionNames);
+
+		CompletableFuture<Void> assignRocketToMission(String rocketId, String missionId);
+
+		CompletableFuture<Void> assignRocketsToMission(String missionId, Collection<String> rocketIds);
+
+		CompletableFuture<List<RejectedAssignment>> assignRocketsToMissions(Map<String, ? extends Collection<String>> rocketIdsByMissionId);
+
+		CompletableFuture<Void> setRocketStatus(String rocketId, RocketStatus newStatus);
+
+		CompletableFuture<Void> setRocketStatuses(Map<String, RocketStatus> newStatuses);
+
+		CompletableFuture<Void> setMissionStatus(String missionId, MissionStatus newStatus);
+
+		CompletableFuture<List<RejectedMissionStatus>> setMissionStatuses(Map<String, MissionStatus> newStatuses);
+
+		CompletableFuture<List<MissionSummary>> getMissionsSummary();
+
+		CompletableFuture<MissionSummaryPage> getMissionsSummary(String cursor, int limit);
+
+		CompletableFuture<List<MissionSummary>> topMissions(int count);
+
+		CompletableFuture<Set<String>> findRocketsByStatus(RocketStatus status);
+
+		CompletableFuture<Integer> countRocketsByStatus(RocketStatus status);
+
+		CompletableFuture<Integer> countMissionRocketsByStatus(String missionId, RocketStatus status);
+
+		CompletableFuture<Set<String>> findMissionsByStatus(MissionStatus status);
+
+		CompletableFuture<Integer> countMissionsByStatus(MissionStatus status);
+
+		/**
+		 * Visitor is called on the thread running the operation, the future completes after the last Mission is visited.
+		 * @param visitor Visitor of Missions and their Rockets
+		 * @return Future completed when whole summary is visited
+		 */
+		CompletableFuture<Void> forEachMissionSummary(MissionSummaryVisitor visitor);
+
+		CompletableFuture<List<MissionSummary>> getMissionsSummaryAsOf(Instant time);
+
+		CompletableFuture<List<RocketTransition>> getRocketTimeline(String rocketId);
+
+		CompletableFuture<List<MissionTransition>> getMissionTimeline(String missionId);
+
+		CompletableFuture<SpaceXRepositorySnapshot> snapshot();
+
+		CompletableFuture<Void> writeSnapshot(Path snapshotPath);
+}
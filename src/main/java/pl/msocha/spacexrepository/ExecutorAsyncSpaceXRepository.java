@@ -0,0 +1,178 @@
+package pl.msocha.spacexrepository;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import pl.msocha.spacexrepository.history.MissionTransition;
+import pl.msocha.spacexrepository.history.RocketTransition;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.MissionSummaryPage;
+import pl.msocha.spacexrepository.model.RejectedAssignment;
+import pl.msocha.spacexrepository.model.RejectedMissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Runs each operation of repository as a separate task of executor.
+ * Future of a rejected operation is completed with the thrown exception itself, not wrapped in {@link java.util.concurrent.CompletionException}.
+ */
+class ExecutorAsyncSpaceXRepository implements AsyncSpaceXRepository {
+
+		private final SpaceXRepository repository;
+		private final Executor executor;
+
+		ExecutorAsyncSpaceXRepository(SpaceXRepository repository, Executor executor) {
+				this.repository = repository;
+				this.executor = executor;
+		}
+
+		@Override
+		public CompletableFuture<String> addRocket(String rocketName) {
+				return supply(() -> repository.addRocket(rocketName));
+		}
+
+		@Override
+		public CompletableFuture<List<String>> addRockets(Collection<String> rocketNames) {
+				return supply(() -> repository.addRockets(rocketNames));
+		}
+
+		@Override
+		public CompletableFuture<String> addMission(String missionName) {
+				return supply(() -> repository.addMission(missionName));
+		}
+
+		@Override
+		public CompletableFuture<List<String>> addMissions(Collection<String> missionNames) {
+				return supply(() -> repository.addMissions(missionNames));
+		}
+
+		@Override
+		public CompletableFuture<Void> assignRocketToMission(String rocketId, String missionId) {
+				return run(() -> repository.assignRocketToMission(rocketId, missionId));
+		}
+
+		@Override
+		public CompletableFuture<Void> assignRocketsToMission(String missionId, Collection<String> rocketIds) {
+				return run(() -> repository.assignRocketsToMission(missionId, rocketIds));
+		}
+
+		@Override
+		public CompletableFuture<List<RejectedAssignment>> assignRocketsToMissions(Map<String, ? extends Collection<String>> rocketIdsByMissionId) {
+				return supply(() -> repository.assignRocketsToMissions(rocketIdsByMissionId));
+		}
+
+		@Override
+		public CompletableFuture<Void> setRocketStatus(String rocketId, RocketStatus newStatus) {
+				return run(() -> repository.setRocketStatus(rocketId, newStatus));
+		}
+
+		@Override
+		public CompletableFuture<Void> setRocketStatuses(Map<String, RocketStatus> newStatuses) {
+				return run(() -> repository.setRocketStatuses(newStatuses));
+		}
+
+		@Override
+		public CompletableFuture<Void> setMissionStatus(String missionId, MissionStatus newStatus) {
+				return run(() -> repository.setMissionStatus(missionId, newStatus));
+		}
+
+		@Override
+		public CompletableFuture<List<RejectedMissionStatus>> setMissionStatuses(Map<String, MissionStatus> newStatuses) {
+				return supply(() -> repository.setMissionStatuses(newStatuses));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> getMissionsSummary() {
+				return supply(repository::getMissionsSummary);
+		}
+
+		@Override
+		public CompletableFuture<MissionSummaryPage> getMissionsSummary(String cursor, int limit) {
+				return supply(() -> repository.getMissionsSummary(cursor, limit));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> topMissions(int count) {
+				return supply(() -> repository.topMissions(count));
+		}
+
+		@Override
+		public CompletableFuture<Set<String>> findRocketsByStatus(RocketStatus status) {
+				return supply(() -> repository.findRocketsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countRocketsByStatus(RocketStatus status) {
+				return supply(() -> repository.countRocketsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countMissionRocketsByStatus(String missionId, RocketStatus status) {
+				return supply(() -> repository.countMissionRocketsByStatus(missionId, status));
+		}
+
+		@Override
+		public CompletableFuture<Set<String>> findMissionsByStatus(MissionStatus status) {
+				return supply(() -> repository.findMissionsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countMissionsByStatus(MissionStatus status) {
+				return supply(() -> repository.countMissionsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Void> forEachMissionSummary(MissionSummaryVisitor visitor) {
+				return run(() -> repository.forEachMissionSummary(visitor));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> getMissionsSummaryAsOf(Instant time) {
+				return supply(() -> repository.getMissionsSummaryAsOf(time));
+		}
+
+		@Override
+		public CompletableFuture<List<RocketTransition>> getRocketTimeline(String rocketId) {
+				return supply(() -> repository.getRocketTimeline(rocketId));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionTransition>> getMissionTimeline(String missionId) {
+				return supply(() -> repository.getMissionTimeline(missionId));
+		}
+
+		@Override
+		public CompletableFuture<SpaceXRepositorySnapshot> snapshot() {
+				return supply(repository::snapshot);
+		}
+
+		@Override
+		public CompletableFuture<Void> writeSnapshot(Path snapshotPath) {
+				return run(() -> repository.writeSnapshot(snapshotPath));
+		}
+
+		private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+				var result = new CompletableFuture<T>();
+				executor.execute(() -> {
+						try {
+								result.complete(operation.get());
+						} catch (Throwable e) {
+								result.completeExceptionally(e);
+						}
+				});
+				return result;
+		}
+
+		private CompletableFuture<Void> run(Runnable operation) {
+				return supply(() -> {
+						operation.run();
+						return null;
+				});
+		}
+}
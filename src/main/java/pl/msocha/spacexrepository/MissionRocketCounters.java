@@ -0,0 +1,97 @@
+package pl.msocha.spacexrepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Number of Rockets assigned to each Mission by Rocket status.
+ * Counters of a Mission are created empty for Missions added to repository and counted from its Rockets for Missions
+ * found in storage, the first time they are needed. Afterwards every assignment and every status change of assigned
+ * Rocket has to be applied to {@link Counts} while changes of that Rocket are serialized.
+ */
+class MissionRocketCounters {
+
+		private static final RocketStatus[] STATUSES = RocketStatus.values();
+		/**
+		 * Slot of Rockets without status
+		 */
+		private static final int NO_STATUS = STATUSES.length;
+
+		private final ConcurrentMap<String, Counts> countsByMissionId = new ConcurrentHashMap<>();
+		private final Map<String, Rocket> rockets;
+
+		MissionRocketCounters(Map<String, Rocket> rockets) {
+				this.rockets = rockets;
+		}
+
+		/**
+		 * Creates empty counters of a Mission without Rockets.
+		 */
+		void register(String missionId) {
+				countsByMissionId.putIfAbsent(missionId, new Counts());
+		}
+
+		/**
+		 * @return Counters of a Mission, counted from its current Rockets when used for the first time
+		 */
+		Counts of(Mission mission) {
+				return countsByMissionId.computeIfAbsent(mission.getId(), missionId -> count(mission));
+		}
+
+		private Counts count(Mission mission) {
+				var counts = new Counts();
+				for (var rocketId : mission.getRocketIds()) {
+						var rocket = rockets.get(rocketId);
+						if (rocket != null) {
+								counts.add(rocket.getStatus());
+						}
+				}
+				return counts;
+		}
+
+		/**
+		 * Rocket counters of a single Mission.
+		 */
+		static class Counts {
+
+				private final AtomicIntegerArray byStatus = new AtomicIntegerArray(NO_STATUS + 1);
+
+				/**
+				 * Counts Rocket newly assigned to Mission.
+				 */
+				void add(RocketStatus status) {
+						byStatus.incrementAndGet(slot(status));
+				}
+
+				/**
+				 * Moves assigned Rocket between statuses.
+				 */
+				void move(RocketStatus previousStatus, RocketStatus newStatus) {
+						if (previousStatus != newStatus) {
+								byStatus.decrementAndGet(slot(previousStatus));
+								byStatus.incrementAndGet(slot(newStatus));
+						}
+				}
+
+				int count(RocketStatus status) {
+						return byStatus.get(slot(status));
+				}
+
+				int total() {
+						var total = 0;
+						for (int slot = 0; slot <= NO_STATUS; slot++) {
+								total += byStatus.get(slot);
+						}
+						return total;
+				}
+
+				private static int slot(RocketStatus status) {
+						return status == null ? NO_STATUS : status.ordinal();
+				}
+		}
+}
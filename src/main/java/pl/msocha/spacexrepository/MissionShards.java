@@ -0,0 +1,314 @@
+package pl.msocha.spacexrepository;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import pl.msocha.spacexrepository.MissionSummaryIndex.Key;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.Rocket;
+
+/**
+ * Missions partitioned into shards by identifier. Every shard has its own summary index, Mission locks, memoized
+ * summaries, Rocket counters and Mission status index, so changes of Missions in different shards share no lock
+ * and no map. Every shard has as many Mission locks as a repository without shards, so more shards mean less contention.
+ * Rockets are not sharded: they stay in a single storage and status index, whichever Mission they are assigned to,
+ * and all changes are journaled to a single journal, which keeps their order.
+ * Summary order across shards is restored by k-way merge of per shard runs, which are already in summary order.
+ */
+class MissionShards {
+
+		private static final int LOCKS = 1024;
+
+		private final MissionSummaryIndex[] summaryIndexes;
+		private final StripedLocks[] locks;
+		private final MissionSummaryCache[] summaryCaches;
+		private final MissionRocketCounters[] rocketCounters;
+		private final List<StatusIndex<MissionStatus>> statusIndexes;
+
+		/**
+		 * @param count Number of shards
+		 * @param rockets Rockets storage, Rocket counters of Missions found in storage are counted from it
+		 */
+		MissionShards(int count, Map<String, Rocket> rockets) {
+				if (count <= 0) {
+						throw new IllegalArgumentException("Number of shards must be positive");
+				}
+				summaryIndexes = new MissionSummaryIndex[count];
+				locks = new StripedLocks[count];
+				summaryCaches = new MissionSummaryCache[count];
+				rocketCounters = new MissionRocketCounters[count];
+				statusIndexes = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+						summaryIndexes[i] = new MissionSummaryIndex();
+						locks[i] = new StripedLocks(LOCKS);
+						summaryCaches[i] = new MissionSummaryCache();
+						rocketCounters[i] = new MissionRocketCounters(rockets);
+						statusIndexes.add(new StatusIndex<>(MissionStatus.class, Identifiers::missionNumber, Identifiers::missionId));
+				}
+		}
+
+		int count() {
+				return summaryIndexes.length;
+		}
+
+		/**
+		 * Adds Mission to summary index of its shard, see {@link MissionSummaryIndex#add(Mission)}
+		 */
+		void add(Mission mission) {
+				summaryIndexes[shardOf(mission.getId())].add(mission);
+		}
+
+		/**
+		 * Moves Mission in summary index of its shard, see {@link MissionSummaryIndex#reindex(Mission, int)}
+		 */
+		void reindex(Mission mission, int previousRocketCount) {
+				summaryIndexes[shardOf(mission.getId())].reindex(mission, previousRocketCount);
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @return Lock of a Mission, taken from locks of its shard
+		 */
+		ReentrantLock lockFor(String missionId) {
+				return locks[shardOf(missionId)].lockFor(missionId);
+		}
+
+		/**
+		 * @return Status index of Missions of a shard of given Mission
+		 */
+		StatusIndex<MissionStatus> statusIndex(String missionId) {
+				return statusIndexes.get(shardOf(missionId));
+		}
+
+		/**
+		 * @param status Status to find Missions with
+		 * @return Read-only view of identifiers of Missions with given status in all shards, weakly consistent with concurrent changes
+		 */
+		Set<String> findByStatus(MissionStatus status) {
+				if (statusIndexes.size() == 1) {
+						return statusIndexes.get(0).find(status);
+				}
+				return new AbstractSet<>() {
+						@Override
+						public Iterator<String> iterator() {
+								return statusIndexes.stream().flatMap(statusIndex -> statusIndex.find(status).stream()).iterator();
+						}
+
+						@Override
+						public boolean contains(Object o) {
+								return o instanceof String missionId && statusIndex(missionId).find(status).contains(missionId);
+						}
+
+						@Override
+						public int size() {
+								return countByStatus(status);
+						}
+				};
+		}
+
+		int countByStatus(MissionStatus status) {
+				var count = 0;
+				for (var statusIndex : statusIndexes) {
+						count += statusIndex.count(status);
+				}
+				return count;
+		}
+
+		/**
+		 * Creates empty Rocket counters of a new Mission, see {@link MissionRocketCounters#register(String)}
+		 */
+		void registerRocketCounts(String missionId) {
+				rocketCounters[shardOf(missionId)].register(missionId);
+		}
+
+		/**
+		 * @return Rocket counters of a Mission, see {@link MissionRocketCounters#of(Mission)}
+		 */
+		MissionRocketCounters.Counts rocketCounts(Mission mission) {
+				return rocketCounters[shardOf(mission.getId())].of(mission);
+		}
+
+		/**
+		 * @return Memoized summary of a Mission, see {@link MissionSummaryCache#get(Mission, Function)}
+		 */
+		MissionSummary summarize(Mission mission, Function<Mission, MissionSummary> summaryFactory) {
+				return summaryCaches[shardOf(mission.getId())].get(mission, summaryFactory);
+		}
+
+		/**
+		 * Marks summary of a Mission as dirty, see {@link MissionSummaryCache#invalidate(String)}
+		 * @param missionId Identifier of changed Mission, null is ignored
+		 */
+		void invalidateSummary(String missionId) {
+				if (missionId != null) {
+						summaryCaches[shardOf(missionId)].invalidate(missionId);
+				}
+		}
+
+		/**
+		 * Locks Missions shard by shard, in order of shards and of their stripes, so threads locking many Missions at once
+		 * never deadlock each other.
+		 * @param missionIds Identifiers of Missions to lock
+		 * @return Locked stripes of every shard, to pass to {@link #unlockAll(int[][])}
+		 */
+		int[][] lockAll(Collection<String> missionIds) {
+				var missionIdsByShard = new ArrayList<List<String>>(locks.length);
+				for (int i = 0; i < locks.length; i++) {
+						missionIdsByShard.add(new ArrayList<>());
+				}
+				missionIds.forEach(missionId -> missionIdsByShard.get(shardOf(missionId)).add(missionId));
+				var locked = new int[locks.length][];
+				for (int i = 0; i < locks.length; i++) {
+						locked[i] = locks[i].lockAll(missionIdsByShard.get(i));
+				}
+				return locked;
+		}
+
+		void unlockAll(int[][] locked) {
+				for (int i = locked.length - 1; i >= 0; i--) {
+						locks[i].unlockAll(locked[i]);
+				}
+		}
+
+		int size() {
+				var size = 0;
+				for (var summaryIndex : summaryIndexes) {
+						size += summaryIndex.size();
+				}
+				return size;
+		}
+
+		/**
+		 * @param key Key to start after, null to start from the first Mission
+		 * @return Indexed entries of all shards following given key in summary order, weakly consistent with concurrent updates
+		 */
+		Iterator<Map.Entry<Key, Mission>> entriesAfter(Key key) {
+				if (summaryIndexes.length == 1) {
+						return summaryIndexes[0].entriesAfter(key);
+				}
+				var runs = new ArrayList<Iterator<Map.Entry<Key, Mission>>>(summaryIndexes.length);
+				for (var summaryIndex : summaryIndexes) {
+						runs.add(summaryIndex.entriesAfter(key));
+				}
+				return merge(runs);
+		}
+
+		/**
+		 * Visits all Missions in summary order. Single shard is visited without allocating anything per Mission,
+		 * runs of many shards are merged, which allocates an entry per Mission.
+		 * @param action Action called for every Mission, weakly consistent with concurrent updates
+		 */
+		void forEachInSummaryOrder(Consumer<Mission> action) {
+				if (summaryIndexes.length == 1) {
+						summaryIndexes[0].forEach(action);
+						return;
+				}
+				entriesAfter(null).forEachRemaining(entry -> action.accept(entry.getValue()));
+		}
+
+		/**
+		 * Maps all Missions in summary order. Every shard is mapped to a run, then runs are merged.
+		 * Runs of many shards are always mapped by separate tasks, in given pool or in the common pool without one.
+		 * Missions of a single shard are mapped by a parallel stream running in given pool, or by calling thread without one.
+		 * @param mapper Mapping of a Mission
+		 * @param pool Pool Missions are mapped in, null to map single shard sequentially, result order does not depend on it
+		 * @return Mapped Missions in summary order, weakly consistent with concurrent updates
+		 */
+		<V> List<V> mapInSummaryOrder(Function<Mission, V> mapper, ForkJoinPool pool) {
+				if (summaryIndexes.length == 1) {
+						var missions = summaryIndexes[0].missions();
+						if (pool == null) {
+								return missions.stream().map(mapper).toList();
+						}
+						// Parallel stream started by a task of a pool splits its work in that pool
+						return pool.submit(() -> missions.parallelStream().map(mapper).toList()).join();
+				}
+				var runPool = pool == null ? ForkJoinPool.commonPool() : pool;
+				var tasks = new ArrayList<ForkJoinTask<List<Map.Entry<Key, V>>>>(summaryIndexes.length);
+				for (var summaryIndex : summaryIndexes) {
+						tasks.add(runPool.submit(() -> mapRun(summaryIndex, mapper)));
+				}
+				var runs = new ArrayList<List<Map.Entry<Key, V>>>(summaryIndexes.length);
+				for (var task : tasks) {
+						runs.add(task.join());
+				}
+				var merged = merge(runs.stream().map(List::iterator).toList());
+				var result = new ArrayList<V>(runs.stream().mapToInt(List::size).sum());
+				merged.forEachRemaining(entry -> result.add(entry.getValue()));
+				return result;
+		}
+
+		private int shardOf(String missionId) {
+				var hash = missionId.hashCode();
+				// Spread differs from the ones of StripedLocks and StatusIndex, so Missions of a shard still use all their stripes
+				hash *= 0x9E3779B9;
+				return Math.floorMod(hash ^ (hash >>> 16), summaryIndexes.length);
+		}
+
+		private static <V> List<Map.Entry<Key, V>> mapRun(MissionSummaryIndex summaryIndex, Function<Mission, V> mapper) {
+				var run = new ArrayList<Map.Entry<Key, V>>(summaryIndex.size());
+				summaryIndex.entriesAfter(null).forEachRemaining(entry ->
+					run.add(new SimpleImmutableEntry<>(entry.getKey(), mapper.apply(entry.getValue()))));
+				return run;
+		}
+
+		/**
+		 * @param runs Iterators over entries in summary order
+		 * @return Iterator over entries of all runs in summary order
+		 */
+		static <V> Iterator<Map.Entry<Key, V>> merge(List<Iterator<Map.Entry<Key, V>>> runs) {
+				var heads = new PriorityQueue<Head<V>>(Math.max(1, runs.size()), Comparator.comparing(head -> head.entry.getKey()));
+				for (var run : runs) {
+						if (run.hasNext()) {
+								heads.add(new Head<>(run.next(), run));
+						}
+				}
+				return new Iterator<>() {
+						@Override
+						public boolean hasNext() {
+								return !heads.isEmpty();
+						}
+
+						@Override
+						public Map.Entry<Key, V> next() {
+								var head = heads.poll();
+								if (head == null) {
+										throw new NoSuchElementException();
+								}
+								var entry = head.entry;
+								if (head.run.hasNext()) {
+										head.entry = head.run.next();
+										heads.add(head);
+								}
+								return entry;
+						}
+				};
+		}
+
+		private static final class Head<V> {
+
+				private Map.Entry<Key, V> entry;
+				private final Iterator<Map.Entry<Key, V>> run;
+
+				Head(Map.Entry<Key, V> entry, Iterator<Map.Entry<Key, V>> run) {
+						this.entry = entry;
+						this.run = run;
+				}
+		}
+}
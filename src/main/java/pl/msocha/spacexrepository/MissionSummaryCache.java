@@ -0,0 +1,52 @@
+package pl.msocha.spacexrepository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionSummary;
+
+/**
+ * Memoizes MissionSummary of each Mission until Mission is marked dirty.
+ * Every invalidation bumps a stamp, so summary built from state older than invalidation is never stored.
+ */
+class MissionSummaryCache {
+
+		private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+		/**
+		 * Returns cached summary of a Mission, building it when Mission is dirty.
+		 * @param mission Mission to summarize
+		 * @param summaryFactory Creates summary from current Mission state
+		 * @return MissionSummary
+		 */
+		MissionSummary get(Mission mission, Function<Mission, MissionSummary> summaryFactory) {
+				var entry = entries.get(mission.getId());
+				if (entry != null && entry.summary != null) {
+						return entry.summary;
+				}
+
+				var stamp = entry == null ? 0L : entry.stamp;
+				var summary = summaryFactory.apply(mission);
+				entries.compute(mission.getId(), (id, current) -> {
+						var currentStamp = current == null ? 0L : current.stamp;
+						var isDirty = current == null || current.summary == null;
+						return isDirty && currentStamp == stamp ? new Entry(stamp, summary) : current;
+				});
+				return summary;
+		}
+
+		/**
+		 * Marks Mission summary as dirty. Has to be called after state of a Mission has changed.
+		 * @param missionId Identifier of changed Mission
+		 */
+		void invalidate(String missionId) {
+				if (missionId == null) {
+						return;
+				}
+				entries.compute(missionId, (id, current) -> new Entry(current == null ? 1L : current.stamp + 1, null));
+		}
+
+		private record Entry(long stamp, MissionSummary summary) {
+		}
+}
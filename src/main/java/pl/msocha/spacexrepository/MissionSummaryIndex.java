@@ -0,0 +1,225 @@
+package pl.msocha.spacexrepository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import pl.msocha.spacexrepository.model.Mission;
+
+/**
+ * Ordering index of Missions used to serve summaries without sorting.
+ * Missions are ordered by Rocket count descending, then by name descending.
+ * Index have to be updated every time Rocket count of indexed Mission changes.
+ * While Mission moves, it is briefly indexed at both its previous and its new position, iterations skip
+ * the position they reach second, so every Mission is visited at most once per iteration. As any weakly consistent
+ * iteration, one that is already past the new position of a moving Mission misses it once the previous one is removed.
+ */
+class MissionSummaryIndex {
+
+		private final ConcurrentSkipListMap<Key, Position> index = new ConcurrentSkipListMap<>();
+		private final AtomicLong moves = new AtomicLong();
+
+		/**
+		 * Adds Mission to index using its current Rocket count.
+		 * @param mission Mission to index
+		 */
+		void add(Mission mission) {
+				var position = new Position(Key.of(mission), mission, new Slot());
+				position.slot().current = position;
+				index.put(position.key(), position);
+		}
+
+		/**
+		 * Moves Mission to position matching its current Rocket count.
+		 * Calls for the same Mission must not run concurrently.
+		 * @param mission Mission which Rocket count has changed
+		 * @param previousRocketCount Rocket count Mission was indexed with
+		 */
+		void reindex(Mission mission, int previousRocketCount) {
+				var previousKey = new Key(previousRocketCount, mission.getName(), mission.getId());
+				var currentKey = Key.of(mission);
+				var previous = index.get(previousKey);
+				if (previous == null) {
+						add(mission);
+						return;
+				}
+				if (previousKey.equals(currentKey)) {
+						return;
+				}
+				var slot = previous.slot();
+				var current = new Position(currentKey, mission, slot);
+				// New position is published first, so iterations that have not passed it yet still reach Mission,
+				// sequences of a move tell them that they may reach Mission at both positions
+				slot.moveStarted = moves.incrementAndGet();
+				slot.current = current;
+				index.put(currentKey, current);
+				index.remove(previousKey);
+				slot.moveSettled = moves.incrementAndGet();
+		}
+
+		/**
+		 * @return Indexed Missions in summary order, weakly consistent with concurrent updates
+		 */
+		List<Mission> missions() {
+				var missions = new ArrayList<Mission>(index.size());
+				forEach(missions::add);
+				return missions;
+		}
+
+		/**
+		 * Visits indexed Missions in summary order, allocating nothing per Mission unless it moves during iteration
+		 * @param action Action called for every Mission, weakly consistent with concurrent updates
+		 */
+		void forEach(Consumer<Mission> action) {
+				var visit = new Visit();
+				for (var position : index.values()) {
+						if (visit.accept(position)) {
+								action.accept(position.mission());
+						}
+				}
+		}
+
+		/**
+		 * @param key Key to start after, null to start from the first Mission
+		 * @return Indexed entries following given key in summary order, weakly consistent with concurrent updates
+		 */
+		Iterator<Map.Entry<Key, Mission>> entriesAfter(Key key) {
+				var visit = new Visit();
+				var positions = (key == null ? index : index.tailMap(key, false)).values().iterator();
+				return new Iterator<>() {
+						private Position next;
+
+						@Override
+						public boolean hasNext() {
+								while (next == null && positions.hasNext()) {
+										var position = positions.next();
+										if (visit.accept(position)) {
+												next = position;
+										}
+								}
+								return next != null;
+						}
+
+						@Override
+						public Map.Entry<Key, Mission> next() {
+								if (!hasNext()) {
+										throw new NoSuchElementException();
+								}
+								var position = next;
+								next = null;
+								return Map.entry(position.key(), position.mission());
+						}
+				};
+		}
+
+		int size() {
+				return index.size();
+		}
+
+		/**
+		 * Mission indexed at a key. Positions are told apart by identity, as slot refers to the current one.
+		 */
+		private record Position(Key key, Mission mission, Slot slot) {
+		}
+
+		/**
+		 * State shared by all positions of a Mission.
+		 * Move is in flight while it has started later than the previous one settled.
+		 */
+		private static final class Slot {
+
+				private volatile Position current;
+				private volatile long moveStarted;
+				private volatile long moveSettled;
+		}
+
+		/**
+		 * Single iteration over index. Missions visited while they could also be reached at another position
+		 * are remembered, so the other position is skipped.
+		 */
+		private final class Visit {
+
+				// Read before iteration starts, moves settled up to it can't leave a stale position for this iteration
+				private final long started = moves.get();
+				private Set<Slot> moving;
+
+				/**
+				 * @return Whether Mission at position is visited, false when it was already visited at another one
+				 */
+				boolean accept(Position position) {
+						var slot = position.slot();
+						if (moving != null && moving.contains(slot)) {
+								return false;
+						}
+						var moveStarted = slot.moveStarted;
+						var moveSettled = slot.moveSettled;
+						if (position != slot.current || moveSettled < moveStarted || moveSettled > started) {
+								if (moving == null) {
+										moving = Collections.newSetFromMap(new IdentityHashMap<>());
+								}
+								moving.add(slot);
+						}
+						return true;
+				}
+		}
+
+		record Key(int rocketCount, String name, String id) implements Comparable<Key> {
+
+				static Key of(Mission mission) {
+						return new Key(mission.getRocketIds().size(), mission.getName(), mission.getId());
+				}
+
+				/**
+				 * @param cursor Cursor created with {@link #toCursor()}
+				 * @return Key encoded in cursor
+				 */
+				static Key fromCursor(String cursor) {
+						try {
+								var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+								var countEnd = value.indexOf(':');
+								var idLengthEnd = value.indexOf(':', countEnd + 1);
+								var idStart = idLengthEnd + 1;
+								var idEnd = idStart + Integer.parseInt(value.substring(countEnd + 1, idLengthEnd));
+								if (countEnd < 0 || idEnd < idStart || idEnd >= value.length() || value.charAt(idEnd) != ':') {
+										throw new IllegalArgumentException("Malformed cursor");
+								}
+								return new Key(Integer.parseInt(value.substring(0, countEnd)), value.substring(idEnd + 1), value.substring(idStart, idEnd));
+						} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+								throw new IllegalArgumentException("Invalid cursor [%s]".formatted(cursor));
+						}
+				}
+
+				/**
+				 * Identifier is prefixed with its length and name is put last, so both may contain any character.
+				 * @return Opaque cursor pointing at this key
+				 */
+				String toCursor() {
+						var value = rocketCount + ":" + id.length() + ":" + id + ":" + name;
+						return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+				}
+
+				@Override
+				public int compareTo(Key other) {
+						int rocketCountCompare = Integer.compare(other.rocketCount, rocketCount);
+						if (rocketCountCompare != 0) {
+								return rocketCountCompare;
+						}
+						// For same rocket count, sort by name in descending alphabetical order
+						int nameCompare = other.name.compareTo(name);
+						if (nameCompare != 0) {
+								return nameCompare;
+						}
+						// Identifier only separates Missions with the same name, so none of them is lost
+						return id.compareTo(other.id);
+				}
+		}
+}
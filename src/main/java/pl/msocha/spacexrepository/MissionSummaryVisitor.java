@@ -0,0 +1,18 @@
+package pl.msocha.spacexrepository;
+
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Receives Missions summary element by element, see {@link SpaceXRepository#forEachMissionSummary(MissionSummaryVisitor)}.
+ * Every Mission is visited with {@link #missionStart}, then {@link #rocket} for each of its Rockets and {@link #missionEnd()}.
+ */
+public interface MissionSummaryVisitor {
+
+		void missionStart(String missionName, MissionStatus missionStatus);
+
+		void rocket(String rocketName, RocketStatus rocketStatus);
+
+		default void missionEnd() {
+		}
+}
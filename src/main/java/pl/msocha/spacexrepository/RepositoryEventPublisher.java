@@ -0,0 +1,77 @@
+package pl.msocha.spacexrepository;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.LongAdder;
+import pl.msocha.spacexrepository.event.RepositoryEvent;
+
+/**
+ * Publishes repository events to subscribers.
+ * Each subscriber has its own bounded buffer and receives events only as it requests them.
+ * Publishing never blocks: event that does not fit into buffer of a slow subscriber is dropped for that subscriber
+ * and counted, so a slow subscriber can't stall repository writers.
+ * Only repository publishes events, while changed Rocket or Mission is locked, so events of every Rocket and Mission
+ * are buffered in order their changes were applied.
+ */
+public class RepositoryEventPublisher implements Flow.Publisher<RepositoryEvent>, AutoCloseable {
+
+		private final SubmissionPublisher<RepositoryEvent> publisher;
+		private final LongAdder droppedEvents = new LongAdder();
+
+		public RepositoryEventPublisher() {
+				this(ForkJoinPool.commonPool(), Flow.defaultBufferSize());
+		}
+
+		/**
+		 * @param executor Executor delivering events to subscribers, it must not run delivery in the calling thread,
+		 *                 as that would run subscribers while repository holds its locks
+		 * @param bufferCapacity Maximum number of events buffered per subscriber, rounded up to power of two
+		 */
+		public RepositoryEventPublisher(Executor executor, int bufferCapacity) {
+				this.publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+		}
+
+		@Override
+		public void subscribe(Flow.Subscriber<? super RepositoryEvent> subscriber) {
+				publisher.subscribe(subscriber);
+		}
+
+		/**
+		 * Publishes event to all current subscribers. Does nothing when there are no subscribers.
+		 * @param event Event to publish
+		 */
+		void publish(RepositoryEvent event) {
+				if (publisher.hasSubscribers()) {
+						publisher.offer(event, this::onDrop);
+				}
+		}
+
+		/**
+		 * @return Whether there is at least one subscriber
+		 */
+		public boolean hasSubscribers() {
+				return publisher.hasSubscribers();
+		}
+
+		/**
+		 * @return Number of events dropped because buffer of a subscriber was full
+		 */
+		public long getDroppedEvents() {
+				return droppedEvents.sum();
+		}
+
+		/**
+		 * Completes all subscriptions after buffered events are delivered.
+		 */
+		@Override
+		public void close() {
+				publisher.close();
+		}
+
+		private boolean onDrop(Flow.Subscriber<? super RepositoryEvent> subscriber, RepositoryEvent event) {
+				droppedEvents.increment();
+				return false;
+		}
+}
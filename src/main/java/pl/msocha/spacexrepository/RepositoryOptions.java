@@ -0,0 +1,63 @@
+package pl.msocha.spacexrepository;
+
+import java.time.Clock;
+import java.util.concurrent.ForkJoinPool;
+import lombok.Builder;
+import lombok.Getter;
+import pl.msocha.spacexrepository.history.HistoryRetention;
+import pl.msocha.spacexrepository.journal.RepositoryJournal;
+
+/**
+ * Optional features of {@link SpaceXRepository}, all of them are disabled by default and repository has a single shard.
+ */
+@Getter
+@Builder
+public class RepositoryOptions {
+
+		/**
+		 * Journal of repository mutations, null when state does not survive restarts
+		 */
+		private final RepositoryJournal journal;
+		/**
+		 * Whether latency of operations, Mission lock wait time and validation failures are recorded
+		 */
+		private final boolean metricsEnabled;
+		/**
+		 * Number of shards Missions are partitioned into, each with its own summary index, Mission locks, summaries,
+		 * Rocket counters and Mission status index. Summary runs of many shards are always created in parallel.
+		 */
+		@Builder.Default
+		private final int shards = 1;
+		/**
+		 * Whether point-in-time snapshots can be opened and written to files, changes save previous versions only while a snapshot is open
+		 */
+		private final boolean snapshotsEnabled;
+		/**
+		 * Limits of recorded history of Rocket and Mission transitions, null when history is not recorded
+		 */
+		private final HistoryRetention historyRetention;
+		/**
+		 * Clock of recorded transition times
+		 */
+		@Builder.Default
+		private final Clock clock = Clock.systemUTC();
+		/**
+		 * Pool Missions summary is created in, null to create summary of a single shard by calling thread and summary runs
+		 * of many shards in the common pool
+		 */
+		private final ForkJoinPool summaryPool;
+		/**
+		 * Number of Missions below which summary of a single shard is created sequentially, even when summary pool is set
+		 */
+		@Builder.Default
+		private final int parallelSummaryThreshold = 10_000;
+		/**
+		 * Publisher of repository events, delivering them in the common pool by default
+		 */
+		@Builder.Default
+		private final RepositoryEventPublisher eventPublisher = new RepositoryEventPublisher();
+
+		public static RepositoryOptions defaults() {
+				return builder().build();
+		}
+}
@@ -0,0 +1,243 @@
+package pl.msocha.spacexrepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketIdSet;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Previous versions of Rockets and Missions kept for open snapshots.
+ * Every snapshot starts a new epoch. Before the first change of a Rocket or Mission in an epoch, its state from
+ * the start of the epoch is saved. Snapshot reads the oldest version saved in its epoch or later,
+ * or state from storage when there is none, as Rocket or Mission did not change since snapshot was opened.
+ * Changes run concurrently with each other and with snapshot reads, only opening of a snapshot waits for running changes.
+ * Versions are saved only while any snapshot is open and dropped once no open snapshot can read them.
+ */
+class RepositoryVersions {
+
+		private final boolean enabled;
+		private final ReentrantReadWriteLock epochLock = new ReentrantReadWriteLock();
+		private final ConcurrentSkipListMap<Long, Integer> openEpochs = new ConcurrentSkipListMap<>();
+		private final ConcurrentMap<String, List<Version<RocketState>>> rocketVersions = new ConcurrentHashMap<>();
+		private final ConcurrentMap<String, List<Version<MissionState>>> missionVersions = new ConcurrentHashMap<>();
+		private volatile long epoch;
+
+		/**
+		 * @param enabled Whether snapshots can be opened, changes are not tracked at all otherwise
+		 */
+		RepositoryVersions(boolean enabled) {
+				this.enabled = enabled;
+		}
+
+		boolean isEnabled() {
+				return enabled;
+		}
+
+		/**
+		 * Starts change of repository state, snapshot is not opened until change ends.
+		 * Every change has to save Rockets and Missions before changing them.
+		 */
+		void beginChange() {
+				if (enabled) {
+						epochLock.readLock().lock();
+				}
+		}
+
+		void endChange() {
+				if (enabled) {
+						epochLock.readLock().unlock();
+				}
+		}
+
+		/**
+		 * Saves state of a Rocket before it is changed
+		 */
+		void saveRocket(Rocket rocket) {
+				if (isTracking()) {
+						save(rocketVersions, rocket.getId(), () -> RocketState.of(rocket));
+				}
+		}
+
+		/**
+		 * Saves state of a Mission before it is changed
+		 */
+		void saveMission(Mission mission) {
+				if (isTracking()) {
+						save(missionVersions, mission.getId(), () -> MissionState.of(mission));
+				}
+		}
+
+		/**
+		 * Saves absence of a Rocket before it is added
+		 */
+		void saveRocketAbsence(String rocketId) {
+				if (isTracking()) {
+						save(rocketVersions, rocketId, () -> null);
+				}
+		}
+
+		/**
+		 * Saves absence of a Mission before it is added
+		 */
+		void saveMissionAbsence(String missionId) {
+				if (isTracking()) {
+						save(missionVersions, missionId, () -> null);
+				}
+		}
+
+		/**
+		 * Opens snapshot of a state after all running changes.
+		 * @return Epoch of opened snapshot
+		 */
+		long open() {
+				return open(() -> {});
+		}
+
+		/**
+		 * Opens snapshot of a state after all running changes.
+		 * @param atOpen Action run while no change is running, to read state that has to match the snapshot
+		 * @return Epoch of opened snapshot
+		 */
+		long open(Runnable atOpen) {
+				if (!enabled) {
+						throw new IllegalStateException("Snapshots are not enabled");
+				}
+				var lock = epochLock.writeLock();
+				lock.lock();
+				try {
+						atOpen.run();
+						var openedEpoch = epoch + 1;
+						openEpochs.merge(openedEpoch, 1, Integer::sum);
+						epoch = openedEpoch;
+						return openedEpoch;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * Closes snapshot and drops versions no open snapshot can read anymore
+		 * @param closedEpoch Epoch of closed snapshot
+		 */
+		void close(long closedEpoch) {
+				openEpochs.computeIfPresent(closedEpoch, (key, count) -> count == 1 ? null : count - 1);
+				// Snapshots opened from now on read only versions of later epochs
+				var oldestReadable = epoch + 1;
+				var oldestOpen = openEpochs.isEmpty() ? oldestReadable : Math.min(openEpochs.firstKey(), oldestReadable);
+				prune(rocketVersions, oldestOpen);
+				prune(missionVersions, oldestOpen);
+		}
+
+		/**
+		 * @param snapshotEpoch Epoch of a snapshot
+		 * @param rocketId Identifier of a Rocket
+		 * @param rocket Rocket in storage, null if there is none
+		 * @return State of a Rocket in snapshot, null if Rocket was not in repository yet
+		 */
+		RocketState rocketAt(long snapshotEpoch, String rocketId, Rocket rocket) {
+				var version = versionAt(rocketVersions.get(rocketId), snapshotEpoch);
+				if (version != null || rocket == null) {
+						return version == null ? null : version.state();
+				}
+				var current = RocketState.of(rocket);
+				// Rocket changed while it was read, so its state from storage may be torn or too recent
+				version = versionAt(rocketVersions.get(rocketId), snapshotEpoch);
+				return version == null ? current : version.state();
+		}
+
+		/**
+		 * @param snapshotEpoch Epoch of a snapshot
+		 * @param missionId Identifier of a Mission
+		 * @param mission Mission in storage, null if there is none
+		 * @return State of a Mission in snapshot, null if Mission was not in repository yet
+		 */
+		MissionState missionAt(long snapshotEpoch, String missionId, Mission mission) {
+				var version = versionAt(missionVersions.get(missionId), snapshotEpoch);
+				if (version != null || mission == null) {
+						return version == null ? null : version.state();
+				}
+				var current = MissionState.of(mission);
+				version = versionAt(missionVersions.get(missionId), snapshotEpoch);
+				return version == null ? current : version.state();
+		}
+
+		/**
+		 * @return Number of Rockets and Missions with saved versions
+		 */
+		int versionedCount() {
+				return rocketVersions.size() + missionVersions.size();
+		}
+
+		private boolean isTracking() {
+				// Called within change, so no snapshot can be opened concurrently
+				return enabled && !openEpochs.isEmpty();
+		}
+
+		private <S> void save(ConcurrentMap<String, List<Version<S>>> versions, String id, Supplier<S> state) {
+				var currentEpoch = epoch;
+				versions.compute(id, (key, saved) -> {
+						if (saved != null && saved.get(saved.size() - 1).epoch() == currentEpoch) {
+								return saved;
+						}
+						var updated = new ArrayList<Version<S>>(saved == null ? 1 : saved.size() + 1);
+						if (saved != null) {
+								updated.addAll(saved);
+						}
+						updated.add(new Version<>(currentEpoch, state.get()));
+						return List.copyOf(updated);
+				});
+		}
+
+		private static <S> Version<S> versionAt(List<Version<S>> saved, long snapshotEpoch) {
+				if (saved == null) {
+						return null;
+				}
+				for (var version : saved) {
+						if (version.epoch() >= snapshotEpoch) {
+								return version;
+						}
+				}
+				return null;
+		}
+
+		private static <S> void prune(ConcurrentMap<String, List<Version<S>>> versions, long oldestOpen) {
+				for (var id : versions.keySet()) {
+						versions.computeIfPresent(id, (key, saved) -> {
+								var kept = saved.stream().filter(version -> version.epoch() >= oldestOpen).toList();
+								return kept.isEmpty() ? null : kept;
+						});
+				}
+		}
+
+		/**
+		 * State saved in given epoch, null state marks absence
+		 */
+		private record Version<S>(long epoch, S state) {
+		}
+
+		record RocketState(String name, RocketStatus status, String missionId) {
+
+				static RocketState of(Rocket rocket) {
+						return new RocketState(rocket.getName(), rocket.getStatus(), rocket.getMissionId());
+				}
+		}
+
+		record MissionState(String name, MissionStatus status, Set<String> rocketIds) {
+
+				static MissionState of(Mission mission) {
+						var rocketIds = mission.getRocketIds() instanceof RocketIdSet rocketIdSet
+							? rocketIdSet.snapshot()
+							: Set.copyOf(mission.getRocketIds());
+						return new MissionState(mission.getName(), mission.getStatus(), rocketIds);
+				}
+		}
+}
@@ -1,25 +1,279 @@
 package pl.msocha.spacexrepository;
 
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import pl.msocha.spacexrepository.event.RepositoryEvent;
+import pl.msocha.spacexrepository.history.MissionTransition;
+import pl.msocha.spacexrepository.history.RepositoryHistory;
+import pl.msocha.spacexrepository.history.RocketTransition;
+import pl.msocha.spacexrepository.jfr.AddMissionEvent;
+import pl.msocha.spacexrepository.jfr.AddMissionsEvent;
+import pl.msocha.spacexrepository.jfr.AddRocketEvent;
+import pl.msocha.spacexrepository.jfr.AddRocketsEvent;
+import pl.msocha.spacexrepository.jfr.AssignRocketEvent;
+import pl.msocha.spacexrepository.jfr.AssignRocketsEvent;
+import pl.msocha.spacexrepository.jfr.AssignRocketsToMissionsEvent;
+import pl.msocha.spacexrepository.jfr.CountMissionRocketsByStatusEvent;
+import pl.msocha.spacexrepository.jfr.CountMissionsByStatusEvent;
+import pl.msocha.spacexrepository.jfr.CountRocketsByStatusEvent;
+import pl.msocha.spacexrepository.jfr.FindMissionsByStatusEvent;
+import pl.msocha.spacexrepository.jfr.FindRocketsByStatusEvent;
+import pl.msocha.spacexrepository.jfr.MissionTimelineEvent;
+import pl.msocha.spacexrepository.jfr.MissionsSummaryAsOfEvent;
+import pl.msocha.spacexrepository.jfr.MissionsSummaryEvent;
+import pl.msocha.spacexrepository.jfr.MissionsSummaryPageEvent;
+import pl.msocha.spacexrepository.jfr.OpenSnapshotEvent;
+import pl.msocha.spacexrepository.jfr.RepositoryOperationEvent;
+import pl.msocha.spacexrepository.jfr.RocketTimelineEvent;
+import pl.msocha.spacexrepository.jfr.SetMissionStatusEvent;
+import pl.msocha.spacexrepository.jfr.SetMissionStatusesEvent;
+import pl.msocha.spacexrepository.jfr.SetRocketStatusEvent;
+import pl.msocha.spacexrepository.jfr.SetRocketStatusesEvent;
+import pl.msocha.spacexrepository.jfr.TopMissionsEvent;
+import pl.msocha.spacexrepository.jfr.VisitMissionsSummaryEvent;
+import pl.msocha.spacexrepository.jfr.WriteSnapshotEvent;
+import pl.msocha.spacexrepository.journal.JournalRecord;
+import pl.msocha.spacexrepository.journal.JournalRecord.MissionAdded;
+import pl.msocha.spacexrepository.journal.JournalRecord.MissionStatusChanged;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketAdded;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketAssigned;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketStatusChanged;
+import pl.msocha.spacexrepository.journal.RepositoryJournal;
+import pl.msocha.spacexrepository.journal.RepositorySnapshot;
+import pl.msocha.spacexrepository.metrics.Operation;
+import pl.msocha.spacexrepository.metrics.RepositoryMetrics;
+import pl.msocha.spacexrepository.metrics.ValidationFailure;
+import pl.msocha.spacexrepository.model.Identifiers;
 import pl.msocha.spacexrepository.model.Mission;
 import pl.msocha.spacexrepository.model.MissionStatus;
 import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.MissionSummaryPage;
+import pl.msocha.spacexrepository.model.RejectedAssignment;
+import pl.msocha.spacexrepository.model.RejectedMissionStatus;
 import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketIdSet;
 import pl.msocha.spacexrepository.model.RocketStatus;
 import pl.msocha.spacexrepository.model.RocketSummary;
+import pl.msocha.spacexrepository.storage.RocketsByNumber;
 
-@RequiredArgsConstructor
 public class SpaceXRepository {
 
 		private final ConcurrentMap<String, Rocket> rockets;
 		private final ConcurrentMap<String, Mission> missions;
 		private final AtomicInteger rocketIdGenerator = new AtomicInteger(1);
 		private final AtomicInteger missionIdGenerator = new AtomicInteger(1);
+		private final StatusIndex<RocketStatus> rocketStatusIndex = new StatusIndex<>(RocketStatus.class,
+			Identifiers::rocketNumber, Identifiers::rocketId);
+		private final MissionShards shards;
+		private final RepositoryVersions versions;
+		private final RepositoryHistory history;
+		private final RepositoryJournal journal;
+		private final RepositoryEventPublisher events;
+		private final RepositoryMetrics metrics;
+		private final ForkJoinPool summaryPool;
+		private final int parallelSummaryThreshold;
+		private final ThreadLocal<Boolean> batching = ThreadLocal.withInitial(() -> false);
+		private boolean replaying;
+
+		/**
+		 * Creates repository over storages, which may already hold Rockets and Missions.
+		 * Summary and status indexes are built from storages once, at creation. Afterwards storages have to be changed
+		 * only through repository, Rockets and Missions put to them directly are not indexed and are missing
+		 * from summaries and status counts.
+		 * @param rockets Rockets storage
+		 * @param missions Missions storage
+		 */
+		public SpaceXRepository(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions) {
+				this(rockets, missions, RepositoryOptions.defaults());
+		}
+
+		/**
+		 * Creates repository, which state survives restarts.
+		 * Records stored in journal are replayed on creation and every following mutation is appended to it.
+		 * Mutation returns only after its record is durable. Rockets and Missions put to storage directly, with identifiers
+		 * not generated by repository, can't be journaled and are rejected by mutations.
+		 * When journal write fails, mutation throws {@link java.io.UncheckedIOException} although its change is already visible
+		 * and may not survive restart. Every later mutation is rejected before changing anything, repository has to be restored
+		 * from journal then.
+		 * @param rockets Rockets storage
+		 * @param missions Missions storage
+		 * @param journal Journal of repository mutations
+		 */
+		public SpaceXRepository(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions, RepositoryJournal journal) {
+				this(rockets, missions, RepositoryOptions.builder().journal(journal).build());
+		}
+
+		/**
+		 * Creates repository with optional features. Storages have to be changed only through repository once it is
+		 * created, see {@link #SpaceXRepository(ConcurrentMap, ConcurrentMap)}.
+		 * @param rockets Rockets storage
+		 * @param missions Missions storage
+		 * @param options Optional features of repository
+		 */
+		public SpaceXRepository(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions, RepositoryOptions options) {
+				this(rockets, missions, options, RepositorySnapshot.JournalPosition.NONE);
+		}
+
+		/**
+		 * @param snapshotPosition Position of journal restored snapshot was written at, only later records are replayed
+		 */
+		private SpaceXRepository(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions, RepositoryOptions options,
+			RepositorySnapshot.JournalPosition snapshotPosition) {
+				this.rockets = rockets;
+				this.missions = missions;
+				this.shards = new MissionShards(options.getShards(), rockets);
+				this.versions = new RepositoryVersions(options.isSnapshotsEnabled());
+				this.history = new RepositoryHistory(options.getHistoryRetention(), options.getClock());
+				this.journal = options.getJournal();
+				this.events = options.getEventPublisher();
+				this.metrics = new RepositoryMetrics(options.isMetricsEnabled());
+				this.summaryPool = options.getSummaryPool();
+				this.parallelSummaryThreshold = options.getParallelSummaryThreshold();
+				missions.values().forEach(mission -> {
+						shards.add(mission);
+						shards.statusIndex(mission.getId()).transition(mission.getId(), mission.getStatus(), () -> {});
+				});
+				rockets.values().forEach(rocket -> rocketStatusIndex.transition(rocket.getId(), rocket.getStatus(), () -> {}));
+				if (journal != null) {
+						replaying = true;
+						journal.replayAfter(snapshotPosition, this::replay);
+						replaying = false;
+				}
+		}
+
+		/**
+		 * Restores repository from snapshot.
+		 * @param snapshotPath Path of a snapshot written with {@link #writeSnapshot(Path)}
+		 * @param rockets Rockets storage to restore Rockets to
+		 * @param missions Missions storage to restore Missions to
+		 * @return Repository with restored state
+		 */
+		public static SpaceXRepository restore(Path snapshotPath, ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions) {
+				return restore(snapshotPath, rockets, missions, RepositoryOptions.defaults());
+		}
+
+		/**
+		 * Restores repository from snapshot and replays journal of mutations made after snapshot was written.
+		 * When snapshot was written by repository using the same journal, only records after snapshot are replayed,
+		 * otherwise the whole journal is.
+		 * @param snapshotPath Path of a snapshot written with {@link #writeSnapshot(Path)}
+		 * @param rockets Rockets storage to restore Rockets to
+		 * @param missions Missions storage to restore Missions to
+		 * @param journal Journal snapshot was written with, or journal started after snapshot was written
+		 * @return Repository with restored state
+		 */
+		public static SpaceXRepository restore(Path snapshotPath, ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions,
+			RepositoryJournal journal) {
+				return restore(snapshotPath, rockets, missions, RepositoryOptions.builder().journal(journal).build());
+		}
+
+		/**
+		 * Restores repository with optional features from snapshot. Journal from options is replayed after snapshot.
+		 * @param snapshotPath Path of a snapshot written with {@link #writeSnapshot(Path)}
+		 * @param rockets Rockets storage to restore Rockets to
+		 * @param missions Missions storage to restore Missions to
+		 * @param options Optional features of repository
+		 * @return Repository with restored state
+		 */
+		public static SpaceXRepository restore(Path snapshotPath, ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions,
+			RepositoryOptions options) {
+				var header = RepositorySnapshot.read(snapshotPath, rockets, missions);
+				var repository = new SpaceXRepository(rockets, missions, options, header.journalPosition());
+				repository.rocketIdGenerator.accumulateAndGet(header.generators().nextRocketNumber(), Math::max);
+				repository.missionIdGenerator.accumulateAndGet(header.generators().nextMissionNumber(), Math::max);
+				return repository;
+		}
+
+		/**
+		 * Writes state of all Rockets and Missions to snapshot file, as it was at a single point of time.
+		 * State is read from point-in-time snapshot, so writing does not block changes. Journal position at that time
+		 * is stored too, so restoring with the same journal replays only later records.
+		 * Snapshots have to be enabled with {@code RepositoryOptions.snapshotsEnabled} when repository is created,
+		 * as only then changes save versions of Rockets and Missions a snapshot opened during them has to read.
+		 * @param snapshotPath Path of a snapshot file, existing snapshot is replaced
+		 * @throws IllegalStateException when snapshots are not enabled in repository options, nothing is written then
+		 */
+		public void writeSnapshot(Path snapshotPath) {
+				var event = new WriteSnapshotEvent();
+				instrumented(Operation.WRITE_SNAPSHOT, event, () -> {
+						event.path = String.valueOf(snapshotPath);
+						var header = new AtomicReference<RepositorySnapshot.Header>();
+						try (var snapshot = new SpaceXRepositorySnapshot(rockets, missions, versions, () -> header.set(snapshotHeader()))) {
+								var rocketsToWrite = snapshot.copyRockets();
+								var missionsToWrite = snapshot.copyMissions();
+								// Records included in snapshot have to outlive a crash, so later records are never skipped on restore
+								awaitJournalDurable();
+								RepositorySnapshot.write(snapshotPath, rocketsToWrite, missionsToWrite, header.get());
+						}
+				});
+		}
+
+		/**
+		 * Reads state matching snapshot opened at the same time. Identifiers are generated before changes start,
+		 * so generators may be ahead of state in snapshot, but never behind it.
+		 */
+		private RepositorySnapshot.Header snapshotHeader() {
+				var generators = new RepositorySnapshot.Generators(rocketIdGenerator.get(), missionIdGenerator.get());
+				return new RepositorySnapshot.Header(generators, journal == null ? RepositorySnapshot.JournalPosition.NONE : journal.position());
+		}
+
+		/**
+		 * Publisher of Rocket and Mission state transitions, including Mission going PENDING when its Rocket is IN_REPAIR.
+		 * Events are published together with state change, so events of every Rocket and Mission are in order of changes.
+		 * Changes replayed from journal are not published. Slow subscribers lose events instead of blocking repository.
+		 * @return Publisher of repository events
+		 */
+		public RepositoryEventPublisher events() {
+				return events;
+		}
+
+		/**
+		 * Latency of operations, Mission lock wait time and validation failures.
+		 * Nothing is recorded unless metrics are enabled in {@link RepositoryOptions}.
+		 * @return Repository metrics, which can also be registered as MBean
+		 */
+		public RepositoryMetrics metrics() {
+				return metrics;
+		}
+
+		/**
+		 * Runs operations of a batch, waiting for their journal records to be durable once, after all of them are applied,
+		 * instead of once per operation. Operations called within a batch return before their records are durable,
+		 * so their results must not be acknowledged before batch returns. Operations and locks are not affected otherwise.
+		 * Batch started within a batch is a part of it.
+		 * @param batch Operations to run, on calling thread
+		 */
+		public void applyBatch(Runnable batch) {
+				if (batching.get()) {
+						batch.run();
+						return;
+				}
+				batching.set(true);
+				try {
+						batch.run();
+				} finally {
+						batching.set(false);
+				}
+				awaitJournalDurable();
+		}
 
 		/**
 		 * Creates and adds Rocket to repository.
@@ -27,14 +281,71 @@ public class SpaceXRepository {
 		 * @return Identifier of a created Rocket
 		 */
 		public String addRocket(String rocketName) {
+				var event = new AddRocketEvent();
+				return instrumented(Operation.ADD_ROCKET, event, () -> {
+						if (isNullOrEmpty(rocketName)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Rocket name must not be empty");
+						}
 
-				if (isNullOrEmpty(rocketName)) {
-						throw new IllegalArgumentException("Rocket name must not be empty");
-				}
+						var rocketId = Identifiers.rocketId(rocketIdGenerator.getAndIncrement());
+						versions.beginChange();
+						try {
+								journal(List.of(new RocketAdded(rocketId, rocketName)));
+								storeRocket(rocketId, rocketName);
+						} finally {
+								versions.endChange();
+						}
+						awaitJournal();
+						event.rocketId = rocketId;
+						return rocketId;
+				});
+		}
+
+		/**
+		 * Creates and adds Rockets to repository.
+		 * All names are validated before any Rocket is created, so either all Rockets are added or none.
+		 * @param rocketNames New Rockets names
+		 * @return Identifiers of created Rockets, in order of given names
+		 */
+		public List<String> addRockets(Collection<String> rocketNames) {
+				var event = new AddRocketsEvent();
+				return instrumented(Operation.ADD_ROCKETS, event, () -> {
+						if (rocketNames == null || rocketNames.stream().anyMatch(SpaceXRepository::isNullOrEmpty)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Rocket name must not be empty");
+						}
 
-				var rocket = new Rocket("rocket" + rocketIdGenerator.getAndIncrement(), rocketName);
-				rockets.put(rocket.getId(), rocket);
-				return rocket.getId();
+						var rocketIds = new ArrayList<String>(rocketNames.size());
+						var records = new ArrayList<RocketAdded>(rocketNames.size());
+						for (var rocketName : rocketNames) {
+								var rocketId = Identifiers.rocketId(rocketIdGenerator.getAndIncrement());
+								rocketIds.add(rocketId);
+								records.add(new RocketAdded(rocketId, rocketName));
+						}
+						versions.beginChange();
+						try {
+								// Nothing can refer to Rockets before they are stored, so records of all of them are written ahead together
+								journal(records);
+								records.forEach(record -> storeRocket(record.rocketId(), record.rocketName()));
+						} finally {
+								versions.endChange();
+						}
+						awaitJournal();
+						event.rocketCount = rocketIds.size();
+						return rocketIds;
+				});
+		}
+
+		/**
+		 * Stores new Rocket within a change, after its record is written to journal.
+		 */
+		private void storeRocket(String rocketId, String rocketName) {
+				var rocket = new Rocket(rocketId, rocketName);
+				versions.saveRocketAbsence(rocketId);
+				rocketStatusIndex.transition(rocketId, rocket.getStatus(), () -> {
+						rockets.put(rocketId, rocket);
+						history.rocketStatusChanged(rocketId, rocket.getStatus());
+						publish(new RepositoryEvent.RocketAdded(rocketId, rocketName));
+				});
 		}
 
 		/**
@@ -43,14 +354,74 @@ public class SpaceXRepository {
 		 * @return Identifier of a created Mission
 		 */
 		public String addMission(String missionName) {
+				var event = new AddMissionEvent();
+				return instrumented(Operation.ADD_MISSION, event, () -> {
+						if (isNullOrEmpty(missionName)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Mission name must not be empty");
+						}
 
-				if (isNullOrEmpty(missionName)) {
-						throw new IllegalArgumentException("Mission name must not be empty");
-				}
+						var missionId = Identifiers.missionId(missionIdGenerator.getAndIncrement());
+						versions.beginChange();
+						try {
+								journal(List.of(new MissionAdded(missionId, missionName)));
+								storeMission(missionId, missionName);
+						} finally {
+								versions.endChange();
+						}
+						awaitJournal();
+						event.missionId = missionId;
+						return missionId;
+				});
+		}
 
-				var mission = new Mission("mission" + missionIdGenerator.getAndIncrement(), missionName);
-				missions.put(mission.getId(), mission);
-				return mission.getId();
+		/**
+		 * Creates and adds Missions to repository.
+		 * All names are validated before any Mission is created, so either all Missions are added or none.
+		 * @param missionNames New Missions names
+		 * @return Identifiers of created Missions, in order of given names
+		 */
+		public List<String> addMissions(Collection<String> missionNames) {
+				var event = new AddMissionsEvent();
+				return instrumented(Operation.ADD_MISSIONS, event, () -> {
+						if (missionNames == null || missionNames.stream().anyMatch(SpaceXRepository::isNullOrEmpty)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Mission name must not be empty");
+						}
+
+						var missionIds = new ArrayList<String>(missionNames.size());
+						var records = new ArrayList<MissionAdded>(missionNames.size());
+						for (var missionName : missionNames) {
+								var missionId = Identifiers.missionId(missionIdGenerator.getAndIncrement());
+								missionIds.add(missionId);
+								records.add(new MissionAdded(missionId, missionName));
+						}
+						versions.beginChange();
+						try {
+								// Nothing can refer to Missions before they are stored, so records of all of them are written ahead together
+								journal(records);
+								records.forEach(record -> storeMission(record.missionId(), record.missionName()));
+						} finally {
+								versions.endChange();
+						}
+						awaitJournal();
+						event.missionCount = missionIds.size();
+						return missionIds;
+				});
+		}
+
+		/**
+		 * Stores new Mission within a change, after its record is written to journal.
+		 */
+		private void storeMission(String missionId, String missionName) {
+				var mission = new Mission(missionId, missionName);
+				shards.registerRocketCounts(missionId);
+				versions.saveMissionAbsence(missionId);
+				shards.statusIndex(missionId).transition(missionId, mission.getStatus(), () -> {
+						missions.put(missionId, mission);
+						history.missionStatusChanged(missionId, mission.getStatus());
+						publish(new RepositoryEvent.MissionAdded(missionId, missionName));
+				});
+				// Storage may keep its own copy of a Mission, so index has to refer to the stored one
+				shards.add(missions.get(missionId));
 		}
 
 		/**
@@ -60,36 +431,272 @@ public class SpaceXRepository {
 		 * @param missionId Identifier of a Mission to assign Rocket to
 		 */
 		public void assignRocketToMission(String rocketId, String missionId) {
+				var event = new AssignRocketEvent();
+				instrumented(Operation.ASSIGN_ROCKET_TO_MISSION, event, () -> {
+						event.rocketId = rocketId;
+						event.missionId = missionId;
+						if (isNullOrEmpty(rocketId) || isNullOrEmpty(missionId)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid rocketId or missionId");
+						}
 
-				if (isNullOrEmpty(rocketId) || isNullOrEmpty(missionId)) {
-						throw new IllegalArgumentException("Invalid rocketId or missionId");
-				}
+						var rocket = rockets.get(rocketId);
+						var mission = missions.get(missionId);
+
+						if (rocket == null) {
+								throw invalidArgument(ValidationFailure.ROCKET_NOT_FOUND, "Rocket with id [%s] does not exists".formatted(rocketId));
+						}
+						if (mission == null) {
+								throw invalidArgument(ValidationFailure.MISSION_NOT_FOUND, "Mission with id [%s] does not exists".formatted(missionId));
+						}
 
-				var rocket = rockets.get(rocketId);
-				var mission = missions.get(missionId);
+						requireJournaled(rocket);
+						requireJournaled(mission);
+						assignRockets(List.of(rocket), mission);
+						awaitJournal();
+				});
+		}
 
-				if (rocket == null) {
-						throw new IllegalArgumentException("Rocket with id [%s] does not exists".formatted(rocketId));
-				}
-				if (mission == null) {
-						throw new IllegalArgumentException("Mission with id [%s] does not exists".formatted(missionId));
+		/**
+		 * Assigns Rockets to a Mission.
+		 * Rockets statuses will change to IN_SPACE.
+		 * Either all Rockets are assigned or none, when any of them does not exist or is already assigned.
+		 * @param missionId Identifier of a Mission to assign Rockets to
+		 * @param rocketIds Identifiers of Rockets to assign
+		 */
+		public void assignRocketsToMission(String missionId, Collection<String> rocketIds) {
+				var event = new AssignRocketsEvent();
+				instrumented(Operation.ASSIGN_ROCKETS_TO_MISSION, event, () -> {
+						event.missionId = missionId;
+						if (isNullOrEmpty(missionId) || rocketIds == null || rocketIds.stream().anyMatch(SpaceXRepository::isNullOrEmpty)) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid rocketId or missionId");
+						}
+
+						var mission = missions.get(missionId);
+						if (mission == null) {
+								throw invalidArgument(ValidationFailure.MISSION_NOT_FOUND, "Mission with id [%s] does not exists".formatted(missionId));
+						}
+						requireJournaled(mission);
+
+						var rocketsToAssign = new ArrayList<Rocket>(rocketIds.size());
+						for (var rocketId : new LinkedHashSet<>(rocketIds)) {
+								var rocket = rockets.get(rocketId);
+								if (rocket == null) {
+										throw invalidArgument(ValidationFailure.ROCKET_NOT_FOUND, "Rocket with id [%s] does not exists".formatted(rocketId));
+								}
+								rocketsToAssign.add(requireJournaled(rocket));
+						}
+
+						event.rocketCount = rocketsToAssign.size();
+						assignRockets(rocketsToAssign, mission);
+						awaitJournal();
+				});
+		}
+
+		/**
+		 * Assigns Rockets to many Missions at once, meant for bulk loads.
+		 * All assignments are validated before any of them is applied, then Rockets of every Mission are added to it
+		 * with a single change, so Rocket identifiers of a Mission are copied once however many Rockets it gets.
+		 * Unlike {@link #assignRocketsToMission(String, Collection)}, rejected assignments do not prevent the others,
+		 * they are returned instead. The same Rocket given twice for the same Mission is assigned once.
+		 * @param rocketIdsByMissionId Identifiers of Rockets to assign by identifier of a Mission to assign them to
+		 * @return Rejected assignments, empty when all Rockets were assigned
+		 */
+		public List<RejectedAssignment> assignRocketsToMissions(Map<String, ? extends Collection<String>> rocketIdsByMissionId) {
+				var event = new AssignRocketsToMissionsEvent();
+				return instrumented(Operation.ASSIGN_ROCKETS_TO_MISSIONS, event, () -> {
+						if (rocketIdsByMissionId == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Assignments must not be null");
+						}
+
+						var rejected = new ArrayList<RejectedAssignment>();
+						var validated = validateAssignments(rocketIdsByMissionId, rejected);
+						var assigned = 0;
+						for (var assignment : validated.entrySet()) {
+								assigned += assignValidatedRockets(assignment.getKey(), assignment.getValue(), rejected);
+						}
+						awaitJournal();
+
+						event.missionCount = validated.size();
+						event.rocketCount = assigned;
+						event.rejectedCount = rejected.size();
+						return rejected;
+				});
+		}
+
+		/**
+		 * @return Valid Rockets to assign by Mission, each Rocket given for a single Mission
+		 */
+		private Map<Mission, List<Rocket>> validateAssignments(Map<String, ? extends Collection<String>> rocketIdsByMissionId,
+			List<RejectedAssignment> rejected) {
+				var validated = new LinkedHashMap<Mission, List<Rocket>>();
+				var claimedRocketIds = new HashSet<String>();
+				rocketIdsByMissionId.forEach((missionId, rocketIds) -> {
+						if (rocketIds == null) {
+								reject(rejected, ValidationFailure.INVALID_ARGUMENT, missionId, null, "Invalid rocketId or missionId");
+								return;
+						}
+						var mission = isNullOrEmpty(missionId) ? null : missions.get(missionId);
+						ValidationFailure missionFailure = null;
+						String missionRejection = null;
+						if (isNullOrEmpty(missionId)) {
+								missionFailure = ValidationFailure.INVALID_ARGUMENT;
+								missionRejection = "Invalid rocketId or missionId";
+						} else if (mission == null) {
+								missionFailure = ValidationFailure.MISSION_NOT_FOUND;
+								missionRejection = "Mission with id [%s] does not exists".formatted(missionId);
+						} else if (journal != null && !RepositoryJournal.canStoreMissionId(missionId)) {
+								missionFailure = ValidationFailure.INVALID_ARGUMENT;
+								missionRejection = "Mission with id [%s] can't be stored in journal".formatted(missionId);
+						} else if (MissionStatus.ENDED == mission.getStatus()) {
+								missionFailure = ValidationFailure.MISSION_ENDED;
+								missionRejection = "Mission is already ended";
+						}
+						if (missionRejection != null) {
+								for (var rocketId : rocketIds) {
+										reject(rejected, missionFailure, missionId, rocketId, missionRejection);
+								}
+								return;
+						}
+
+						var rocketsToAssign = validated.computeIfAbsent(mission, key -> new ArrayList<>(rocketIds.size()));
+						for (var rocketId : new LinkedHashSet<>(rocketIds)) {
+								var rocket = isNullOrEmpty(rocketId) ? null : rockets.get(rocketId);
+								if (isNullOrEmpty(rocketId)) {
+										reject(rejected, ValidationFailure.INVALID_ARGUMENT, missionId, rocketId, "Invalid rocketId or missionId");
+								} else if (rocket == null) {
+										reject(rejected, ValidationFailure.ROCKET_NOT_FOUND, missionId, rocketId,
+											"Rocket with id [%s] does not exists".formatted(rocketId));
+								} else if (journal != null && !RepositoryJournal.canStoreRocketId(rocketId)) {
+										reject(rejected, ValidationFailure.INVALID_ARGUMENT, missionId, rocketId,
+											"Rocket with id [%s] can't be stored in journal".formatted(rocketId));
+								} else if (rocket.getMissionId() != null || !claimedRocketIds.add(rocketId)) {
+										reject(rejected, ValidationFailure.ROCKET_ALREADY_ASSIGNED, missionId, rocketId, "Rocket is already assigned to mission");
+								} else {
+										rocketsToAssign.add(rocket);
+								}
+						}
+				});
+				validated.values().removeIf(List::isEmpty);
+				return validated;
+		}
+
+		/**
+		 * Claims validated Rockets and adds claimed ones to a Mission with a single change.
+		 * Rockets assigned or Mission ended concurrently since validation are rejected.
+		 * @return Number of assigned Rockets
+		 */
+		private int assignValidatedRockets(Mission mission, List<Rocket> rocketsToAssign, List<RejectedAssignment> rejected) {
+				var claimedRockets = new ArrayList<Rocket>(rocketsToAssign.size());
+				versions.beginChange();
+				try {
+						for (var rocket : rocketsToAssign) {
+								versions.saveRocket(rocket);
+								if (rocket.assignMission(mission.getId())) {
+										claimedRockets.add(rocket);
+								} else {
+										reject(rejected, ValidationFailure.ROCKET_ALREADY_ASSIGNED, mission.getId(), rocket.getId(),
+											"Rocket is already assigned to mission");
+								}
+						}
+						if (!claimedRockets.isEmpty()) {
+								addRocketsIfMissionNotEnded(claimedRockets, mission);
+						}
+				} catch (IllegalStateException e) {
+						claimedRockets.forEach(rocket -> rejected.add(new RejectedAssignment(mission.getId(), rocket.getId(), e.getMessage())));
+						return 0;
+				} finally {
+						versions.endChange();
 				}
 
+				shards.invalidateSummary(mission.getId());
+				return claimedRockets.size();
+		}
+
+		private void reject(List<RejectedAssignment> rejected, ValidationFailure failure, String missionId, String rocketId, String reason) {
+				metrics.recordValidationFailure(failure);
+				rejected.add(new RejectedAssignment(missionId, rocketId, reason));
+		}
+
+		private void assignRockets(List<Rocket> rocketsToAssign, Mission mission) {
+
 				if (MissionStatus.ENDED == mission.getStatus()) {
-						throw new IllegalStateException("Mission is already ended");
+						throw invalidState(ValidationFailure.MISSION_ENDED, "Mission is already ended");
 				}
 
-				addRocketIfMissionExists(rocket, mission);
+				versions.beginChange();
+				try {
+						for (int i = 0; i < rocketsToAssign.size(); i++) {
+								var rocket = rocketsToAssign.get(i);
+								versions.saveRocket(rocket);
+								if (!rocket.assignMission(mission.getId())) {
+										releaseRockets(rocketsToAssign.subList(0, i), mission);
+										throw invalidState(ValidationFailure.ROCKET_ALREADY_ASSIGNED, "Rocket is already assigned to mission");
+								}
+						}
+						addRocketsIfMissionNotEnded(rocketsToAssign, mission);
+				} finally {
+						versions.endChange();
+				}
 
-				rocket.setMissionId(mission.getId());
-				rocket.setStatus(RocketStatus.IN_SPACE);
+				shards.invalidateSummary(mission.getId());
 		}
 
-		private synchronized void addRocketIfMissionExists(Rocket rocket, Mission mission) {
-				if (rocket.getMissionId() != null) {
-						throw new IllegalStateException("Rocket is already assigned to mission");
+		/**
+		 * Adds claimed Rockets to a Mission and sends them to space. Only assignments to Missions sharing a lock are serialized.
+		 * Rocket claims are released when Mission has ended in the meantime.
+		 */
+		private void addRocketsIfMissionNotEnded(List<Rocket> claimedRockets, Mission mission) {
+				var lock = lockMission(mission);
+				try {
+						if (MissionStatus.ENDED == mission.getStatus()) {
+								releaseRockets(claimedRockets, mission);
+								throw invalidState(ValidationFailure.MISSION_ENDED, "Mission is already ended");
+						}
+						addClaimedRockets(claimedRockets, mission);
+				} finally {
+						lock.unlock();
 				}
-				mission.addRocket(rocket.getId());
+		}
+
+		/**
+		 * Adds claimed Rockets to locked Mission. Assignment is journaled together with Rocket status change,
+		 * so it is ordered with other changes of the Rockets and of the Mission.
+		 * All Rockets are added to Mission with a single change, while all of them are locked.
+		 */
+		private void addClaimedRockets(List<Rocket> claimedRockets, Mission mission) {
+				var previousRocketCount = mission.getRocketIds().size();
+				var counts = shards.rocketCounts(mission);
+				var rocketIds = claimedRockets.stream().map(Rocket::getId).toList();
+				versions.saveMission(mission);
+				// Rockets join Mission counters together with their status change, so concurrent change of their status is counted once
+				rocketStatusIndex.transitionAll(rocketIds, RocketStatus.IN_SPACE, () -> {
+						journal(rocketIds.stream().map(rocketId -> new RocketAssigned(rocketId, mission.getId())).toList());
+						mission.addRockets(rocketIds);
+						for (var rocket : claimedRockets) {
+								rocket.setStatus(RocketStatus.IN_SPACE);
+								counts.add(RocketStatus.IN_SPACE);
+								history.rocketAssigned(rocket.getId(), mission.getId());
+								history.rocketStatusChanged(rocket.getId(), RocketStatus.IN_SPACE);
+								publish(new RepositoryEvent.RocketAssigned(rocket.getId(), mission.getId()));
+						}
+				});
+				shards.reindex(mission, previousRocketCount);
+		}
+
+		/**
+		 * Locks Mission for changes of its Rockets and status. Mission locks are never nested.
+		 * @return Acquired lock to unlock when change is done
+		 */
+		private Lock lockMission(Mission mission) {
+				var lock = shards.lockFor(mission.getId());
+				var lockRequested = metrics.start();
+				lock.lock();
+				metrics.recordLockWait(lockRequested);
+				return lock;
+		}
+
+		private static void releaseRockets(List<Rocket> claimedRockets, Mission mission) {
+				claimedRockets.forEach(rocket -> rocket.releaseMission(mission.getId()));
 		}
 
 		/**
@@ -99,25 +706,90 @@ public class SpaceXRepository {
 		 * @param newStatus New status of a Rocket
 		 */
 		public void setRocketStatus(String rocketId, RocketStatus newStatus) {
-				if (isNullOrEmpty(rocketId) || newStatus == null) {
-						throw new IllegalArgumentException("Invalid rocketId or newStatus");
-				}
+				var event = new SetRocketStatusEvent();
+				instrumented(Operation.SET_ROCKET_STATUS, event, () -> {
+						event.rocketId = rocketId;
+						event.status = String.valueOf(newStatus);
+						if (isNullOrEmpty(rocketId) || newStatus == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid rocketId or newStatus");
+						}
 
-				var rocket = rockets.get(rocketId);
+						var rocket = rockets.get(rocketId);
 
-				if (rocket == null) {
-						throw new IllegalStateException("Rocket to change status is not in repository");
-				}
+						if (rocket == null) {
+								throw invalidState(ValidationFailure.ROCKET_NOT_FOUND, "Rocket to change status is not in repository");
+						}
 
-				rocket.setStatus(newStatus);
+						changeRocketStatuses(List.of(new RocketStatusChange(requireJournaled(rocket), newStatus)));
+						awaitJournal();
+				});
+		}
 
-				if (newStatus == RocketStatus.IN_REPAIR) {
-						var mission = missions.get(rocket.getMissionId());
-						if (mission != null) {
-							mission.setStatus(MissionStatus.PENDING);
+		/**
+		 * Changes statuses of Rockets.
+		 * All changes are validated before any status is changed, so either all statuses are changed or none.
+		 * Each affected Mission is updated once, regardless of number of its Rockets in the batch.
+		 * @param newStatuses New statuses by Rocket identifier
+		 */
+		public void setRocketStatuses(Map<String, RocketStatus> newStatuses) {
+				var event = new SetRocketStatusesEvent();
+				instrumented(Operation.SET_ROCKET_STATUSES, event, () -> {
+						if (newStatuses == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid rocketId or newStatus");
 						}
-				}
 
+						var changes = new ArrayList<RocketStatusChange>(newStatuses.size());
+						for (var newStatus : newStatuses.entrySet()) {
+								if (isNullOrEmpty(newStatus.getKey()) || newStatus.getValue() == null) {
+										throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid rocketId or newStatus");
+								}
+								var rocket = rockets.get(newStatus.getKey());
+								if (rocket == null) {
+										throw invalidState(ValidationFailure.ROCKET_NOT_FOUND, "Rocket to change status is not in repository");
+								}
+								changes.add(new RocketStatusChange(requireJournaled(rocket), newStatus.getValue()));
+						}
+
+						event.rocketCount = changes.size();
+						changeRocketStatuses(changes);
+						awaitJournal();
+				});
+		}
+
+		private void changeRocketStatuses(List<RocketStatusChange> changes) {
+				var affectedMissionIds = new HashSet<String>();
+				var rocketsInRepairByMissionId = new HashMap<String, String>();
+
+				versions.beginChange();
+				try {
+						for (var change : changes) {
+								var rocket = change.rocket();
+								changeRocketStatus(rocket, change.newStatus());
+
+								var missionId = rocket.getMissionId();
+								if (missionId != null) {
+										affectedMissionIds.add(missionId);
+										if (change.newStatus() == RocketStatus.IN_REPAIR) {
+												rocketsInRepairByMissionId.putIfAbsent(missionId, rocket.getId());
+										}
+								}
+						}
+
+						rocketsInRepairByMissionId.forEach((missionId, rocketId) -> {
+								var mission = missions.get(missionId);
+								if (mission != null) {
+										var lock = lockMission(mission);
+										try {
+												applyMissionStatus(mission, MissionStatus.PENDING, rocketId);
+										} finally {
+												lock.unlock();
+										}
+								}
+						});
+				} finally {
+						versions.endChange();
+				}
+				affectedMissionIds.forEach(shards::invalidateSummary);
 		}
 
 		/**
@@ -126,76 +798,624 @@ public class SpaceXRepository {
 		 * @param newStatus New status of a Mission
 		 */
 		public void setMissionStatus(String missionId, MissionStatus newStatus) {
-				if (isNullOrEmpty(missionId) || newStatus == null) {
-						throw new IllegalArgumentException("Invalid missionId or newStatus");
+				var event = new SetMissionStatusEvent();
+				instrumented(Operation.SET_MISSION_STATUS, event, () -> {
+						event.missionId = missionId;
+						event.status = String.valueOf(newStatus);
+						if (isNullOrEmpty(missionId) || newStatus == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid missionId or newStatus");
+						}
+
+						var mission = missions.get(missionId);
+
+						if (mission == null) {
+								throw invalidState(ValidationFailure.MISSION_NOT_FOUND, "Mission to change status is not in repository");
+						}
+
+						changeMissionStatus(requireJournaled(mission), newStatus);
+						awaitJournal();
+				});
+		}
+
+		/**
+		 * Changes statuses of many Missions at once, meant for bulk loads.
+		 * All Missions are locked together and every change is validated before any of them is applied, then records
+		 * of all valid changes are journaled with a single write.
+		 * Unlike {@link #setMissionStatus(String, MissionStatus)}, rejected changes do not prevent the others,
+		 * they are returned instead.
+		 * @param newStatuses New statuses by Mission identifier
+		 * @return Rejected status changes, empty when all statuses were changed
+		 */
+		public List<RejectedMissionStatus> setMissionStatuses(Map<String, MissionStatus> newStatuses) {
+				var event = new SetMissionStatusesEvent();
+				return instrumented(Operation.SET_MISSION_STATUSES, event, () -> {
+						if (newStatuses == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Invalid missionId or newStatus");
+						}
+
+						var rejected = new ArrayList<RejectedMissionStatus>();
+						var changes = new LinkedHashMap<Mission, MissionStatus>();
+						newStatuses.forEach((missionId, newStatus) -> {
+								var mission = isNullOrEmpty(missionId) ? null : missions.get(missionId);
+								if (isNullOrEmpty(missionId) || newStatus == null) {
+										rejectStatus(rejected, ValidationFailure.INVALID_ARGUMENT, missionId, newStatus, "Invalid missionId or newStatus");
+								} else if (mission == null) {
+										rejectStatus(rejected, ValidationFailure.MISSION_NOT_FOUND, missionId, newStatus,
+											"Mission to change status is not in repository");
+								} else if (journal != null && !RepositoryJournal.canStoreMissionId(missionId)) {
+										rejectStatus(rejected, ValidationFailure.INVALID_ARGUMENT, missionId, newStatus,
+											"Mission with id [%s] can't be stored in journal".formatted(missionId));
+								} else {
+										changes.put(mission, newStatus);
+								}
+						});
+						var changed = changeMissionStatuses(changes, rejected);
+						awaitJournal();
+
+						event.missionCount = changed;
+						event.rejectedCount = rejected.size();
+						return rejected;
+				});
+		}
+
+		/**
+		 * @return Number of changed Missions
+		 */
+		private int changeMissionStatuses(Map<Mission, MissionStatus> changes, List<RejectedMissionStatus> rejected) {
+				var validChanges = new LinkedHashMap<Mission, MissionStatus>(changes.size());
+				versions.beginChange();
+				var lockRequested = metrics.start();
+				var locked = shards.lockAll(changes.keySet().stream().map(Mission::getId).toList());
+				metrics.recordLockWait(lockRequested);
+				try {
+						changes.forEach((mission, newStatus) -> {
+								try {
+										switch (newStatus) {
+												case IN_PROGRESS -> validateInProgress(mission);
+												case ENDED -> validateEnded(mission);
+										}
+										validChanges.put(mission, newStatus);
+								} catch (IllegalStateException e) {
+										rejected.add(new RejectedMissionStatus(mission.getId(), newStatus, e.getMessage()));
+								}
+						});
+						journal(validChanges.entrySet().stream()
+							.map(change -> new MissionStatusChanged(change.getKey().getId(), change.getValue()))
+							.toList());
+						validChanges.forEach((mission, newStatus) -> storeMissionStatus(mission, newStatus, null));
+				} finally {
+						shards.unlockAll(locked);
+						versions.endChange();
 				}
+				validChanges.keySet().forEach(mission -> shards.invalidateSummary(mission.getId()));
+				return validChanges.size();
+		}
+
+		private void rejectStatus(List<RejectedMissionStatus> rejected, ValidationFailure failure, String missionId, MissionStatus newStatus,
+			String reason) {
+				metrics.recordValidationFailure(failure);
+				rejected.add(new RejectedMissionStatus(missionId, newStatus, reason));
+		}
 
-				var mission = missions.get(missionId);
+		private void changeRocketStatus(Rocket rocket, RocketStatus newStatus) {
+				rocketStatusIndex.transition(rocket.getId(), newStatus, () -> {
+						journal(List.of(new RocketStatusChanged(rocket.getId(), newStatus)));
+						versions.saveRocket(rocket);
+						var counts = assignedRocketCounts(rocket);
+						var previousStatus = rocket.getStatus();
+						rocket.setStatus(newStatus);
+						if (counts != null) {
+								counts.move(previousStatus, newStatus);
+						}
+						history.rocketStatusChanged(rocket.getId(), newStatus);
+						publish(new RepositoryEvent.RocketStatusChanged(rocket.getId(), newStatus));
+				});
+		}
 
-				if (mission == null) {
-						throw new IllegalStateException("Mission to change status is not in repository");
+		/**
+		 * @return Counters of Mission that counts Rocket, null when Rocket is not assigned or not added to Mission yet
+		 */
+		private MissionRocketCounters.Counts assignedRocketCounts(Rocket rocket) {
+				var missionId = rocket.getMissionId();
+				var mission = missionId == null ? null : missions.get(missionId);
+				if (mission == null || !mission.getRocketIds().contains(rocket.getId())) {
+						return null;
 				}
+				return shards.rocketCounts(mission);
+		}
+
+		private void changeMissionStatus(Mission mission, MissionStatus newStatus) {
+				versions.beginChange();
+				var lock = lockMission(mission);
+				try {
+						switch (newStatus) {
+								case IN_PROGRESS -> validateInProgress(mission);
+								case ENDED -> validateEnded(mission);
+						}
 
-				switch (newStatus) {
-						case IN_PROGRESS -> validateInProgress(mission);
-						case ENDED -> validateEnded(mission);
+						applyMissionStatus(mission, newStatus, null);
+				} finally {
+						lock.unlock();
+						versions.endChange();
 				}
+				shards.invalidateSummary(mission.getId());
+		}
+
+		/**
+		 * Changes status of locked Mission, without validation.
+		 * @param causedByRocketId Identifier of a Rocket which status change implied Mission status change, null when it is explicit
+		 */
+		private void applyMissionStatus(Mission mission, MissionStatus newStatus, String causedByRocketId) {
+				journal(List.of(new MissionStatusChanged(mission.getId(), newStatus)));
+				storeMissionStatus(mission, newStatus, causedByRocketId);
+		}
 
-				mission.setStatus(newStatus);
+		/**
+		 * Changes status of locked Mission within a change, after its record is written to journal.
+		 */
+		private void storeMissionStatus(Mission mission, MissionStatus newStatus, String causedByRocketId) {
+				versions.saveMission(mission);
+				shards.statusIndex(mission.getId()).transition(mission.getId(), newStatus, () -> {
+						mission.setStatus(newStatus);
+						history.missionStatusChanged(mission.getId(), newStatus);
+						publish(new RepositoryEvent.MissionStatusChanged(mission.getId(), newStatus, causedByRocketId));
+				});
 		}
 
 		/**
 		 * Creates summary of a Missions, that includes Mission name, status and names and statuses of Rockets assigned to Mission.
+		 * Missions are ordered by Rocket count descending, then by name descending.
+		 * Order is served from index maintained on writes, so no sorting is done here.
+		 * With more than one shard, Missions of every shard are summarized in parallel, in summary pool or in the common pool
+		 * without one, and merged in order. With a single shard and summary pool set, Missions are summarized in that pool
+		 * once there are enough of them, in the same order.
+		 * Summaries of Missions that did not change since previous call are reused.
 		 * @return MissionSummary
 		 */
 		public List<MissionSummary> getMissionsSummary() {
-				return missions.values().stream()
-					.sorted(this::compareMissionsForSummary)
-					.map(this::createMissionSummary)
-					.toList();
+				var event = new MissionsSummaryEvent();
+				return instrumented(Operation.GET_MISSIONS_SUMMARY, event, () -> {
+						var missionSummaries = summarizeAll();
+						if (event.isEnabled()) {
+								event.missionCount = missionSummaries.size();
+								event.rocketCount = countRockets(missionSummaries);
+						}
+						return missionSummaries;
+				});
+		}
+
+		/**
+		 * Pushes Missions summary to visitor, in the same order as {@link #getMissionsSummary()}.
+		 * Names and statuses are read directly from repository state, so no summary, collection or Rocket summary is created.
+		 * Rockets are visited by their numbers, so storage reading Rockets by number (see {@link RocketsByNumber}) creates
+		 * nothing per Rocket, except a decoded name of off-heap storage which is not among recently decoded names.
+		 * Other storages create identifier of each Rocket to look it up. Nothing is created per Mission, whatever the number
+		 * of shards, unless it moves in summary order while visited.
+		 * @param visitor Visitor of Missions and their Rockets
+		 */
+		public void forEachMissionSummary(MissionSummaryVisitor visitor) {
+				var event = new VisitMissionsSummaryEvent();
+				instrumented(Operation.VISIT_MISSIONS_SUMMARY, event, () -> {
+						if (visitor == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Visitor must not be null");
+						}
+						Consumer<String> rocketVisit = rocketId -> {
+								var rocket = rockets.get(rocketId);
+								visitor.rocket(rocket.getName(), rocket.getStatus());
+						};
+						IntConsumer numberedRocketVisit = rockets instanceof RocketsByNumber byNumber
+							? number -> visitor.rocket(byNumber.rocketName(number), byNumber.rocketStatus(number))
+							: number -> rocketVisit.accept(Identifiers.rocketId(number));
+						shards.forEachInSummaryOrder(mission -> {
+								visitor.missionStart(mission.getName(), mission.getStatus());
+								if (mission.getRocketIds() instanceof RocketIdSet rocketIds) {
+										rocketIds.forEachNumber(numberedRocketVisit, rocketVisit);
+								} else {
+										mission.getRocketIds().forEach(rocketVisit);
+								}
+								visitor.missionEnd();
+						});
+				});
+		}
+
+		private List<MissionSummary> summarizeAll() {
+				// Runs of many shards are always mapped in parallel, threshold only decides whether a single shard is split
+				var pool = shards.count() == 1 && shards.size() < parallelSummaryThreshold ? null : summaryPool;
+				return shards.mapInSummaryOrder(this::summarize, pool);
+		}
+
+		/**
+		 * Creates a page of Missions summary, in the same order as {@link #getMissionsSummary()}.
+		 * Only Missions on the page are summarized. Cursor points at position in the order, so Mission which Rocket count
+		 * changes between pages may be skipped or repeated.
+		 * @param cursor Cursor returned with previous page, null for the first page
+		 * @param limit Maximum number of Missions on a page
+		 * @return Page of Missions summary with cursor of the next page
+		 */
+		public MissionSummaryPage getMissionsSummary(String cursor, int limit) {
+				var event = new MissionsSummaryPageEvent();
+				return instrumented(Operation.GET_MISSIONS_SUMMARY_PAGE, event, () -> {
+						event.limit = limit;
+						var page = summaryPage(cursor, limit);
+						if (event.isEnabled()) {
+								event.missionCount = page.getMissionSummaries().size();
+								event.rocketCount = countRockets(page.getMissionSummaries());
+						}
+						return page;
+				});
+		}
+
+		private MissionSummaryPage summaryPage(String cursor, int limit) {
+				if (limit <= 0) {
+						throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Limit must be positive");
+				}
+
+				var entries = shards.entriesAfter(cursor == null ? null : MissionSummaryIndex.Key.fromCursor(cursor));
+				var missionSummaries = new ArrayList<MissionSummary>(Math.min(limit, shards.size()));
+				MissionSummaryIndex.Key lastKey = null;
+				while (missionSummaries.size() < limit && entries.hasNext()) {
+						var entry = entries.next();
+						missionSummaries.add(summarize(entry.getValue()));
+						lastKey = entry.getKey();
+				}
+
+				var nextCursor = entries.hasNext() ? lastKey.toCursor() : null;
+				return new MissionSummaryPage(missionSummaries, nextCursor);
+		}
+
+		/**
+		 * Creates summary of Missions with the most Rockets, in the same order as {@link #getMissionsSummary()}.
+		 * @param count Maximum number of Missions to summarize
+		 * @return MissionSummary of top Missions
+		 */
+		public List<MissionSummary> topMissions(int count) {
+				var event = new TopMissionsEvent();
+				return instrumented(Operation.TOP_MISSIONS, event, () -> {
+						if (count < 0) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Count must not be negative");
+						}
+						var missionSummaries = count == 0 ? List.<MissionSummary>of() : summaryPage(null, count).getMissionSummaries();
+						if (event.isEnabled()) {
+								event.missionCount = missionSummaries.size();
+								event.rocketCount = countRockets(missionSummaries);
+						}
+						return missionSummaries;
+				});
+		}
+
+		/**
+		 * Creates summary of Missions as it was at given time, from recorded history, in the same order as {@link #getMissionsSummary()}.
+		 * History has to be enabled in repository options. Missions and Rockets appear from their oldest kept transition.
+		 * @param time Time to create summary at
+		 * @return MissionSummary
+		 */
+		public List<MissionSummary> getMissionsSummaryAsOf(Instant time) {
+				var event = new MissionsSummaryAsOfEvent();
+				return instrumented(Operation.GET_MISSIONS_SUMMARY_AS_OF, event, () -> {
+						if (time == null) {
+								throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Time must not be null");
+						}
+						event.time = time.toEpochMilli();
+						var rocketsByMissionId = new HashMap<String, Set<RocketSummary>>();
+						history.rocketsAt(time).forEach((rocketId, rocket) -> {
+								if (rocket.missionId() != null) {
+										rocketsByMissionId.computeIfAbsent(rocket.missionId(), key -> new HashSet<>())
+											.add(new RocketSummary(rockets.get(rocketId).getName(), rocket.status()));
+								}
+						});
+						var missionSummaries = new ArrayList<Map.Entry<MissionSummaryIndex.Key, MissionSummary>>();
+						history.missionsAt(time).forEach((missionId, mission) -> {
+								var missionName = missions.get(missionId).getName();
+								var missionRockets = Set.copyOf(rocketsByMissionId.getOrDefault(missionId, Set.of()));
+								missionSummaries.add(Map.entry(new MissionSummaryIndex.Key(missionRockets.size(), missionName, missionId),
+									new MissionSummary(missionName, missionRockets, mission.status())));
+						});
+						missionSummaries.sort(Map.Entry.comparingByKey());
+						var summaries = missionSummaries.stream().map(Map.Entry::getValue).toList();
+						if (event.isEnabled()) {
+								event.missionCount = summaries.size();
+								event.rocketCount = countRockets(summaries);
+						}
+						return summaries;
+				});
+		}
+
+		/**
+		 * @param rocketId Identifier of a Rocket
+		 * @return Recorded transitions of a Rocket from the oldest kept one, history has to be enabled in repository options
+		 */
+		public List<RocketTransition> getRocketTimeline(String rocketId) {
+				var event = new RocketTimelineEvent();
+				return instrumented(Operation.GET_ROCKET_TIMELINE, event, () -> {
+						event.rocketId = rocketId;
+						if (isNullOrEmpty(rocketId) || !rockets.containsKey(rocketId)) {
+								throw invalidArgument(ValidationFailure.ROCKET_NOT_FOUND, "Rocket with id [%s] does not exists".formatted(rocketId));
+						}
+						var timeline = history.rocketTimeline(rocketId);
+						event.transitionCount = timeline.size();
+						return timeline;
+				});
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @return Recorded transitions of a Mission from the oldest kept one, history has to be enabled in repository options
+		 */
+		public List<MissionTransition> getMissionTimeline(String missionId) {
+				var event = new MissionTimelineEvent();
+				return instrumented(Operation.GET_MISSION_TIMELINE, event, () -> {
+						event.missionId = missionId;
+						if (isNullOrEmpty(missionId) || !missions.containsKey(missionId)) {
+								throw invalidArgument(ValidationFailure.MISSION_NOT_FOUND, "Mission with id [%s] does not exists".formatted(missionId));
+						}
+						var timeline = history.missionTimeline(missionId);
+						event.transitionCount = timeline.size();
+						return timeline;
+				});
+		}
+
+		/**
+		 * Opens read-only snapshot of current state, consistent with every change made before and not affected by later ones.
+		 * Reading snapshot does not block changes. Snapshot should be closed, so versions kept for it can be dropped.
+		 * @return Opened snapshot
+		 * @throws IllegalStateException when snapshots are not enabled in repository options
+		 */
+		public SpaceXRepositorySnapshot snapshot() {
+				var event = new OpenSnapshotEvent();
+				return instrumented(Operation.OPEN_SNAPSHOT, event, () -> new SpaceXRepositorySnapshot(rockets, missions, versions));
+		}
+
+		/**
+		 * Finds Rockets with given status using status index.
+		 * @param status Status of Rockets to find
+		 * @return Read-only view of identifiers of Rockets with given status, weakly consistent with concurrent changes
+		 */
+		public Set<String> findRocketsByStatus(RocketStatus status) {
+				var event = new FindRocketsByStatusEvent();
+				return instrumented(Operation.FIND_ROCKETS_BY_STATUS, event, () -> {
+						event.status = String.valueOf(status);
+						var rocketIds = rocketStatusIndex.find(requireStatus(status));
+						if (event.isEnabled()) {
+								event.rocketCount = rocketIds.size();
+						}
+						return rocketIds;
+				});
+		}
+
+		/**
+		 * @param status Status of Rockets to count
+		 * @return Number of Rockets with given status
+		 */
+		public int countRocketsByStatus(RocketStatus status) {
+				var event = new CountRocketsByStatusEvent();
+				return instrumented(Operation.COUNT_ROCKETS_BY_STATUS, event, () -> {
+						event.status = String.valueOf(status);
+						var count = rocketStatusIndex.count(requireStatus(status));
+						event.rocketCount = count;
+						return count;
+				});
+		}
+
+		/**
+		 * Counts Rockets assigned to a Mission using per Mission counters, without visiting the Rockets.
+		 * @param missionId Identifier of a Mission
+		 * @param status Status of Rockets to count
+		 * @return Number of Rockets assigned to Mission with given status
+		 */
+		public int countMissionRocketsByStatus(String missionId, RocketStatus status) {
+				var event = new CountMissionRocketsByStatusEvent();
+				return instrumented(Operation.COUNT_MISSION_ROCKETS_BY_STATUS, event, () -> {
+						event.missionId = missionId;
+						event.status = String.valueOf(status);
+						requireStatus(status);
+						var mission = isNullOrEmpty(missionId) ? null : missions.get(missionId);
+						if (mission == null) {
+								throw invalidArgument(ValidationFailure.MISSION_NOT_FOUND, "Mission with id [%s] does not exists".formatted(missionId));
+						}
+						var count = shards.rocketCounts(mission).count(status);
+						event.rocketCount = count;
+						return count;
+				});
+		}
+
+		/**
+		 * Finds Missions with given status using status index.
+		 * @param status Status of Missions to find
+		 * @return Read-only view of identifiers of Missions with given status, weakly consistent with concurrent changes
+		 */
+		public Set<String> findMissionsByStatus(MissionStatus status) {
+				var event = new FindMissionsByStatusEvent();
+				return instrumented(Operation.FIND_MISSIONS_BY_STATUS, event, () -> {
+						event.status = String.valueOf(status);
+						var missionIds = shards.findByStatus(requireStatus(status));
+						if (event.isEnabled()) {
+								event.missionCount = missionIds.size();
+						}
+						return missionIds;
+				});
+		}
+
+		/**
+		 * @param status Status of Missions to count
+		 * @return Number of Missions with given status
+		 */
+		public int countMissionsByStatus(MissionStatus status) {
+				var event = new CountMissionsByStatusEvent();
+				return instrumented(Operation.COUNT_MISSIONS_BY_STATUS, event, () -> {
+						event.status = String.valueOf(status);
+						var count = shards.countByStatus(requireStatus(status));
+						event.missionCount = count;
+						return count;
+				});
+		}
+
+		private MissionSummary summarize(Mission mission) {
+				return shards.summarize(mission, this::createMissionSummary);
+		}
+
+		private static int countRockets(List<MissionSummary> missionSummaries) {
+				return missionSummaries.stream()
+					.mapToInt(missionSummary -> missionSummary.getRockets().size())
+					.sum();
 		}
 
 		private void validateEnded(Mission mission) {
 				if (!mission.getRocketIds().isEmpty()) {
-						throw new IllegalStateException("Mission still has assigned rockets");
+						throw invalidState(ValidationFailure.MISSION_HAS_ROCKETS, "Mission still has assigned rockets");
 				}
 		}
 
 		private void validateInProgress(Mission mission) {
 				if (mission.getRocketIds().isEmpty()) {
-						throw new IllegalStateException("Mission does not have any Rockets assigned");
+						throw invalidState(ValidationFailure.MISSION_WITHOUT_ROCKETS, "Mission does not have any Rockets assigned");
 				} else if (hasRocketsInRepair(mission)) {
-						throw new IllegalStateException("In progress Mission can't have rockets wit IN_REPAIR status");
+						throw invalidState(ValidationFailure.ROCKETS_IN_REPAIR, "In progress Mission can't have rockets wit IN_REPAIR status");
 				}
 		}
 
 		private boolean hasRocketsInRepair(Mission mission) {
-				return mission.getRocketIds()
-					.stream()
-					.map(rockets::get)
-					.filter(Objects::nonNull)
-					.map(Rocket::getStatus)
-					.anyMatch(RocketStatus.IN_REPAIR::equals);
+				return shards.rocketCounts(mission).count(RocketStatus.IN_REPAIR) > 0;
 		}
 
-		private static boolean isNullOrEmpty(String identifier) {
-				return identifier == null || identifier.isEmpty();
+		/**
+		 * Rejects Rocket put to storage directly, which journal can't store, before anything is changed.
+		 */
+		private Rocket requireJournaled(Rocket rocket) {
+				var missionId = rocket.getMissionId();
+				if (journal != null && (!RepositoryJournal.canStoreRocketId(rocket.getId())
+					|| missionId != null && !RepositoryJournal.canStoreMissionId(missionId))) {
+						throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Rocket with id [%s] can't be stored in journal".formatted(rocket.getId()));
+				}
+				return rocket;
+		}
+
+		/**
+		 * Rejects Mission put to storage directly, which journal can't store, before anything is changed.
+		 */
+		private Mission requireJournaled(Mission mission) {
+				if (journal != null && !RepositoryJournal.canStoreMissionId(mission.getId())) {
+						throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Mission with id [%s] can't be stored in journal".formatted(mission.getId()));
+				}
+				return mission;
+		}
+
+		/**
+		 * Writes records of a change while its Rocket or Mission is locked, so records of every Rocket and Mission are
+		 * journaled in order their changes were applied. Records are made durable by {@link #awaitJournal()}.
+		 */
+		private void journal(List<? extends JournalRecord> records) {
+				if (journal != null && !replaying) {
+						journal.write(records);
+				}
+		}
+
+		/**
+		 * Publishes event of a change while its Rocket or Mission is locked, so events of every Rocket and Mission are
+		 * published in order their changes were applied.
+		 */
+		private void publish(RepositoryEvent event) {
+				if (!replaying) {
+						events.publish(event);
+				}
+		}
+
+		/**
+		 * Waits until records of an operation are durable, once all locks are released, so fsync does not block other changes.
+		 * Within a batch, waiting is left to the end of batch.
+		 */
+		private void awaitJournal() {
+				if (!batching.get()) {
+						awaitJournalDurable();
+				}
+		}
+
+		private void awaitJournalDurable() {
+				if (journal != null) {
+						journal.awaitDurable();
+				}
 		}
 
-		private int compareMissionsForSummary(Mission m1, Mission m2) {
-				int rocketCountCompare = Integer.compare(m2.getRocketIds().size(), m1.getRocketIds().size());
-				if (rocketCountCompare != 0) {
-						return rocketCountCompare;
+		/**
+		 * Applies journaled change without validating and journaling it again, as it was valid when it was applied.
+		 * Identifier generators are moved past replayed identifiers, so new identifiers do not collide with them.
+		 */
+		private void replay(JournalRecord record) {
+				if (record instanceof RocketAdded rocketAdded) {
+						storeRocket(rocketAdded.rocketId(), rocketAdded.rocketName());
+						rocketIdGenerator.accumulateAndGet(Identifiers.rocketNumber(rocketAdded.rocketId()) + 1, Math::max);
+				} else if (record instanceof MissionAdded missionAdded) {
+						storeMission(missionAdded.missionId(), missionAdded.missionName());
+						missionIdGenerator.accumulateAndGet(Identifiers.missionNumber(missionAdded.missionId()) + 1, Math::max);
+				} else if (record instanceof RocketAssigned rocketAssigned) {
+						var rocket = rockets.get(rocketAssigned.rocketId());
+						var mission = missions.get(rocketAssigned.missionId());
+						rocket.assignMission(mission.getId());
+						addClaimedRockets(List.of(rocket), mission);
+				} else if (record instanceof RocketStatusChanged statusChanged) {
+						changeRocketStatus(rockets.get(statusChanged.rocketId()), statusChanged.newStatus());
+				} else if (record instanceof MissionStatusChanged statusChanged) {
+						applyMissionStatus(missions.get(statusChanged.missionId()), statusChanged.newStatus(), null);
 				}
-				// For same rocket count, sort by name in descending alphabetical order
-				return m2.getName().compareTo(m1.getName());		}
+		}
+
+		/**
+		 * Runs public operation, recording its latency and Flight Recorder event, rejected calls included.
+		 * @param operation Operation which latency is recorded
+		 * @param event Event of an operation, not begun yet, action may fill its fields
+		 * @param action Body of an operation
+		 * @return Result of an action
+		 */
+		private <T> T instrumented(Operation operation, RepositoryOperationEvent event, Supplier<T> action) {
+				event.begin();
+				var started = metrics.start();
+				try {
+						return action.get();
+				} catch (RuntimeException e) {
+						event.failed(e);
+						throw e;
+				} finally {
+						metrics.recordOperation(operation, started);
+						event.commit();
+				}
+		}
+
+		private void instrumented(Operation operation, RepositoryOperationEvent event, Runnable action) {
+				instrumented(operation, event, () -> {
+						action.run();
+						return null;
+				});
+		}
+
+		private <S extends Enum<S>> S requireStatus(S status) {
+				if (status == null) {
+						throw invalidArgument(ValidationFailure.INVALID_ARGUMENT, "Status must not be null");
+				}
+				return status;
+		}
+
+		private IllegalArgumentException invalidArgument(ValidationFailure failure, String message) {
+				metrics.recordValidationFailure(failure);
+				return new IllegalArgumentException(message);
+		}
+
+		private IllegalStateException invalidState(ValidationFailure failure, String message) {
+				metrics.recordValidationFailure(failure);
+				return new IllegalStateException(message);
+		}
+
+		private static boolean isNullOrEmpty(String identifier) {
+				return identifier == null || identifier.isEmpty();
+		}
 
 		private MissionSummary createMissionSummary(Mission mission) {
 				var rocketsSummary = mission.getRocketIds().stream()
 					.map(rockets::get)
 					.map(rocket -> new RocketSummary(rocket.getName(), rocket.getStatus()))
-					.collect(Collectors.toSet());
+					.collect(Collectors.toUnmodifiableSet());
 
 				return new MissionSummary(mission.getName(), rocketsSummary, mission.getStatus());
 		}
+
+		private record RocketStatusChange(Rocket rocket, RocketStatus newStatus) {
+		}
 }
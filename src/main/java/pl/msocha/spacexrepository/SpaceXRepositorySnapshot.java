@@ -0,0 +1,173 @@
+package pl.msocha.spacexrepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import pl.msocha.spacexrepository.RepositoryVersions.MissionState;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+import pl.msocha.spacexrepository.model.RocketSummary;
+
+/**
+ * Read-only view of repository state at the moment snapshot was opened.
+ * Changes made after opening are not visible, and reading the snapshot never blocks them.
+ * Snapshot does not use indexes of repository, so every query visits all Rockets or Missions.
+ * Versions kept for snapshot are dropped once it is closed.
+ */
+public final class SpaceXRepositorySnapshot implements AutoCloseable {
+
+		private static final Comparator<Map.Entry<MissionSummaryIndex.Key, MissionSummary>> SUMMARY_ORDER = Map.Entry.comparingByKey();
+
+		private final ConcurrentMap<String, Rocket> rockets;
+		private final ConcurrentMap<String, Mission> missions;
+		private final RepositoryVersions versions;
+		private final long epoch;
+		private final AtomicBoolean closed = new AtomicBoolean();
+
+		SpaceXRepositorySnapshot(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions, RepositoryVersions versions) {
+				this(rockets, missions, versions, () -> {});
+		}
+
+		/**
+		 * @param atOpen Action run while no change is running, to read state that has to match the snapshot
+		 */
+		SpaceXRepositorySnapshot(ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions, RepositoryVersions versions,
+			Runnable atOpen) {
+				this.rockets = rockets;
+				this.missions = missions;
+				this.versions = versions;
+				this.epoch = versions.open(atOpen);
+		}
+
+		/**
+		 * Creates summary of Missions in the same order as {@link SpaceXRepository#getMissionsSummary()}.
+		 * @return MissionSummary
+		 */
+		public List<MissionSummary> getMissionsSummary() {
+				requireOpen();
+				var missionSummaries = new ArrayList<Map.Entry<MissionSummaryIndex.Key, MissionSummary>>(missions.size());
+				missions.forEach((missionId, mission) -> {
+						var state = versions.missionAt(epoch, missionId, mission);
+						if (state != null) {
+								var key = new MissionSummaryIndex.Key(state.rocketIds().size(), state.name(), missionId);
+								missionSummaries.add(Map.entry(key, summarize(state)));
+						}
+				});
+				missionSummaries.sort(SUMMARY_ORDER);
+				return missionSummaries.stream().map(Map.Entry::getValue).toList();
+		}
+
+		/**
+		 * @param status Status of Rockets to find
+		 * @return Identifiers of Rockets with given status
+		 */
+		public Set<String> findRocketsByStatus(RocketStatus status) {
+				requireOpen();
+				var rocketIds = new HashSet<String>();
+				rockets.forEach((rocketId, rocket) -> {
+						var state = versions.rocketAt(epoch, rocketId, rocket);
+						if (state != null && state.status() == status) {
+								rocketIds.add(rocketId);
+						}
+				});
+				return Set.copyOf(rocketIds);
+		}
+
+		/**
+		 * @param status Status of Rockets to count
+		 * @return Number of Rockets with given status
+		 */
+		public int countRocketsByStatus(RocketStatus status) {
+				return findRocketsByStatus(status).size();
+		}
+
+		/**
+		 * @param status Status of Missions to find
+		 * @return Identifiers of Missions with given status
+		 */
+		public Set<String> findMissionsByStatus(MissionStatus status) {
+				requireOpen();
+				var missionIds = new HashSet<String>();
+				missions.forEach((missionId, mission) -> {
+						var state = versions.missionAt(epoch, missionId, mission);
+						if (state != null && state.status() == status) {
+								missionIds.add(missionId);
+						}
+				});
+				return Set.copyOf(missionIds);
+		}
+
+		/**
+		 * @param status Status of Missions to count
+		 * @return Number of Missions with given status
+		 */
+		public int countMissionsByStatus(MissionStatus status) {
+				return findMissionsByStatus(status).size();
+		}
+
+		/**
+		 * @return Copies of Rockets in snapshot, detached from storage
+		 */
+		List<Rocket> copyRockets() {
+				requireOpen();
+				var copies = new ArrayList<Rocket>(rockets.size());
+				rockets.forEach((rocketId, rocket) -> {
+						var state = versions.rocketAt(epoch, rocketId, rocket);
+						if (state != null) {
+								var copy = new Rocket(rocketId, state.name());
+								copy.setStatus(state.status());
+								copy.setMissionId(state.missionId());
+								copies.add(copy);
+						}
+				});
+				return copies;
+		}
+
+		/**
+		 * @return Copies of Missions in snapshot, detached from storage
+		 */
+		List<Mission> copyMissions() {
+				requireOpen();
+				var copies = new ArrayList<Mission>(missions.size());
+				missions.forEach((missionId, mission) -> {
+						var state = versions.missionAt(epoch, missionId, mission);
+						if (state != null) {
+								var copy = new Mission(missionId, state.name());
+								copy.setStatus(state.status());
+								copy.addRockets(state.rocketIds());
+								copies.add(copy);
+						}
+				});
+				return copies;
+		}
+
+		@Override
+		public void close() {
+				if (closed.compareAndSet(false, true)) {
+						versions.close(epoch);
+				}
+		}
+
+		private MissionSummary summarize(MissionState mission) {
+				var rocketsSummary = mission.rocketIds().stream()
+					.map(rocketId -> versions.rocketAt(epoch, rocketId, rockets.get(rocketId)))
+					.map(rocket -> new RocketSummary(rocket.name(), rocket.status()))
+					.collect(Collectors.toUnmodifiableSet());
+				return new MissionSummary(mission.name(), rocketsSummary, mission.status());
+		}
+
+		private void requireOpen() {
+				if (closed.get()) {
+						throw new IllegalStateException("Snapshot is closed");
+				}
+		}
+}
@@ -0,0 +1,319 @@
+package pl.msocha.spacexrepository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Secondary index of identifiers by status.
+ * Status change and index update are done atomically per identifier, so index never disagrees with last applied change.
+ * Changes of the same identifier are serialized with striped locks, which are not monitors, so a change may block
+ * or take other locks without pinning virtual thread carrier or holding up changes of other identifiers in a map bin.
+ * Identifiers in generated format are indexed by their sequence number in chunks, so index holds no String or map node
+ * per identifier. A chunk keeps a status byte per identifier and a membership bitset per status, with a summary bit
+ * per non-empty word of a bitset, so finding identifiers with a status skips words and chunks without any of them.
+ * Other identifiers are kept in maps by status.
+ * @param <S> Type of status
+ */
+class StatusIndex<S extends Enum<S>> {
+
+		private static final int LOCKS = 1024;
+		private static final int CHUNK_BITS = 14;
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+		private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+		private static final int WORDS = CHUNK_SIZE >>> 6;
+		private static final byte ABSENT = 0;
+
+		private static final VarHandle BYTES = MethodHandles.arrayElementVarHandle(byte[].class);
+		private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+		private final S[] statuses;
+		private final ToIntFunction<String> numberOf;
+		private final IntFunction<String> idOf;
+		private final AtomicIntegerArray numberedCounts;
+		private final Map<S, Set<String>> otherIdsByStatus;
+		private final ConcurrentMap<String, S> statusByOtherId = new ConcurrentHashMap<>();
+		private final StripedLocks locks = new StripedLocks(LOCKS);
+		private final ReentrantLock growLock = new ReentrantLock();
+		private volatile Chunk[] chunks = new Chunk[0];
+
+		/**
+		 * @param statusType Type of status
+		 * @param numberOf Sequence number of identifier, negative when identifier is not in generated format
+		 * @param idOf Identifier of sequence number
+		 */
+		StatusIndex(Class<S> statusType, ToIntFunction<String> numberOf, IntFunction<String> idOf) {
+				this.statuses = statusType.getEnumConstants();
+				this.numberOf = numberOf;
+				this.idOf = idOf;
+				this.numberedCounts = new AtomicIntegerArray(statuses.length);
+				this.otherIdsByStatus = new EnumMap<>(statusType);
+				for (var status : statuses) {
+						otherIdsByStatus.put(status, ConcurrentHashMap.newKeySet());
+				}
+		}
+
+		/**
+		 * Applies status change and moves identifier to new status.
+		 * Changes of the same identifier are serialized, change runs while lock of an identifier is held.
+		 * @param id Identifier which status changes
+		 * @param newStatus New status, null removes identifier from index
+		 * @param change Change of a status in repository state
+		 */
+		void transition(String id, S newStatus, Runnable change) {
+				var lock = locks.lockFor(id);
+				lock.lock();
+				try {
+						change.run();
+						index(id, newStatus);
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * Applies status change of many identifiers at once and moves them to new status.
+		 * Change runs while locks of all identifiers are held, so it is atomic with changes of each of them.
+		 * @param ids Identifiers which status changes
+		 * @param newStatus New status
+		 * @param change Change of statuses in repository state
+		 */
+		void transitionAll(Collection<String> ids, S newStatus, Runnable change) {
+				var locked = locks.lockAll(ids);
+				try {
+						change.run();
+						ids.forEach(id -> index(id, newStatus));
+				} finally {
+						locks.unlockAll(locked);
+				}
+		}
+
+		private void index(String id, S newStatus) {
+				var number = numberOf.applyAsInt(id);
+				if (number < 0) {
+						indexOther(id, newStatus);
+						return;
+				}
+				if (newStatus != null) {
+						ensureCapacity(number);
+				} else if (number >= capacity()) {
+						return;
+				}
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var offset = number & CHUNK_MASK;
+				var encoded = newStatus == null ? ABSENT : (byte) (newStatus.ordinal() + 1);
+				var previous = (byte) BYTES.getAndSet(chunk.statuses, offset, encoded);
+				if (previous != encoded) {
+						if (previous != ABSENT) {
+								chunk.removeMember(previous - 1, offset);
+								numberedCounts.decrementAndGet(previous - 1);
+						}
+						if (encoded != ABSENT) {
+								chunk.addMember(encoded - 1, offset);
+								numberedCounts.incrementAndGet(encoded - 1);
+						}
+				}
+		}
+
+		private void indexOther(String id, S newStatus) {
+				var previousStatus = newStatus == null ? statusByOtherId.remove(id) : statusByOtherId.put(id, newStatus);
+				if (previousStatus != null && previousStatus != newStatus) {
+						otherIdsByStatus.get(previousStatus).remove(id);
+				}
+				if (newStatus != null) {
+						otherIdsByStatus.get(newStatus).add(id);
+				}
+		}
+
+		/**
+		 * Identifiers in generated format are found in membership bitsets of a status, identifiers are created while iterating.
+		 * Iteration visits only words holding identifiers with the status, so its cost follows number of found identifiers.
+		 * @param status Status to find identifiers with
+		 * @return Read-only view of identifiers with given status, weakly consistent with concurrent changes
+		 */
+		Set<String> find(S status) {
+				return new AbstractSet<>() {
+						@Override
+						public Iterator<String> iterator() {
+								return new StatusIterator(status);
+						}
+
+						@Override
+						public boolean contains(Object o) {
+								return o instanceof String id && status == statusOf(id);
+						}
+
+						@Override
+						public int size() {
+								return count(status);
+						}
+				};
+		}
+
+		int count(S status) {
+				return numberedCounts.get(status.ordinal()) + otherIdsByStatus.get(status).size();
+		}
+
+		private S statusOf(String id) {
+				var number = numberOf.applyAsInt(id);
+				if (number < 0) {
+						return statusByOtherId.get(id);
+				}
+				var encoded = number < capacity() ? statusByte(number) : ABSENT;
+				return encoded == ABSENT ? null : statuses[encoded - 1];
+		}
+
+		private byte statusByte(int number) {
+				return (byte) BYTES.getAcquire(chunks[number >>> CHUNK_BITS].statuses, number & CHUNK_MASK);
+		}
+
+		private int capacity() {
+				return chunks.length << CHUNK_BITS;
+		}
+
+		private void ensureCapacity(int number) {
+				var chunkIndex = number >>> CHUNK_BITS;
+				if (chunkIndex < chunks.length) {
+						return;
+				}
+				growLock.lock();
+				try {
+						var current = chunks;
+						if (chunkIndex < current.length) {
+								return;
+						}
+						var grown = Arrays.copyOf(current, chunkIndex + 1);
+						for (int i = current.length; i < grown.length; i++) {
+								grown[i] = new Chunk(statuses.length);
+						}
+						chunks = grown;
+				} finally {
+						growLock.unlock();
+				}
+		}
+
+		/**
+		 * Status bytes of identifiers of a chunk and membership bitsets of every status.
+		 * Summary bit of a word is set whenever the word has a member. It may stay set for a moment after the word became
+		 * empty, which only costs reading the word again.
+		 */
+		private static final class Chunk {
+
+				private final byte[] statuses = new byte[CHUNK_SIZE];
+				private final long[][] members;
+				private final long[][] nonEmptyWords;
+
+				Chunk(int statusCount) {
+						members = new long[statusCount][WORDS];
+						nonEmptyWords = new long[statusCount][WORDS >>> 6];
+				}
+
+				void addMember(int ordinal, int offset) {
+						var word = offset >>> 6;
+						var previous = (long) LONGS.getAndBitwiseOr(members[ordinal], word, 1L << offset);
+						if (previous == 0) {
+								LONGS.getAndBitwiseOr(nonEmptyWords[ordinal], word >>> 6, 1L << word);
+						}
+				}
+
+				void removeMember(int ordinal, int offset) {
+						var word = offset >>> 6;
+						var words = members[ordinal];
+						var remaining = (long) LONGS.getAndBitwiseAnd(words, word, ~(1L << offset)) & ~(1L << offset);
+						if (remaining == 0) {
+								var summary = nonEmptyWords[ordinal];
+								LONGS.getAndBitwiseAnd(summary, word >>> 6, ~(1L << word));
+								// Member added concurrently after the word became empty may have set its summary bit before it was cleared
+								if ((long) LONGS.getVolatile(words, word) != 0) {
+										LONGS.getAndBitwiseOr(summary, word >>> 6, 1L << word);
+								}
+						}
+				}
+
+				/**
+				 * @return Offset of first member with given status at or after given offset, -1 when there is none
+				 */
+				int nextMember(int ordinal, int offset) {
+						var words = members[ordinal];
+						var word = offset >>> 6;
+						var bits = (long) LONGS.getAcquire(words, word) & (-1L << offset);
+						while (bits == 0) {
+								word = nextNonEmptyWord(ordinal, word + 1);
+								if (word < 0) {
+										return -1;
+								}
+								bits = (long) LONGS.getAcquire(words, word);
+						}
+						return (word << 6) | Long.numberOfTrailingZeros(bits);
+				}
+
+				private int nextNonEmptyWord(int ordinal, int from) {
+						if (from >= WORDS) {
+								return -1;
+						}
+						var summary = nonEmptyWords[ordinal];
+						var index = from >>> 6;
+						var bits = (long) LONGS.getAcquire(summary, index) & (-1L << from);
+						while (bits == 0) {
+								if (++index == summary.length) {
+										return -1;
+								}
+								bits = (long) LONGS.getAcquire(summary, index);
+						}
+						return (index << 6) | Long.numberOfTrailingZeros(bits);
+				}
+		}
+
+		private final class StatusIterator implements Iterator<String> {
+
+				private final int ordinal;
+				private final Iterator<String> others;
+				private int nextNumber;
+
+				StatusIterator(S status) {
+						this.ordinal = status.ordinal();
+						this.others = otherIdsByStatus.get(status).iterator();
+						this.nextNumber = advance(0);
+				}
+
+				@Override
+				public boolean hasNext() {
+						return nextNumber >= 0 || others.hasNext();
+				}
+
+				@Override
+				public String next() {
+						if (nextNumber < 0) {
+								return others.next();
+						}
+						var id = idOf.apply(nextNumber);
+						nextNumber = advance(nextNumber + 1);
+						return id;
+				}
+
+				private int advance(int from) {
+						var current = chunks;
+						var offset = from & CHUNK_MASK;
+						for (int chunkIndex = from >>> CHUNK_BITS; chunkIndex < current.length; chunkIndex++) {
+								var member = current[chunkIndex].nextMember(ordinal, offset);
+								if (member >= 0) {
+										return (chunkIndex << CHUNK_BITS) | member;
+								}
+								offset = 0;
+						}
+						return -1;
+				}
+		}
+}
@@ -0,0 +1,73 @@
+package pl.msocha.spacexrepository;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed number of locks shared by keys with the same hash, so number of locks does not grow with number of keys.
+ * Locks are not monitors, so threads waiting for them do not pin virtual thread carriers.
+ */
+class StripedLocks {
+
+		private final ReentrantLock[] locks;
+		private final int mask;
+
+		/**
+		 * @param stripes Number of locks, power of two
+		 */
+		StripedLocks(int stripes) {
+				if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+						throw new IllegalArgumentException("Number of stripes must be a positive power of two");
+				}
+				locks = new ReentrantLock[stripes];
+				for (int i = 0; i < stripes; i++) {
+						locks[i] = new ReentrantLock();
+				}
+				mask = stripes - 1;
+		}
+
+		/**
+		 * @param key Key to lock
+		 * @return Lock of a key, the same for equal keys
+		 */
+		ReentrantLock lockFor(String key) {
+				return locks[stripe(key)];
+		}
+
+		/**
+		 * Locks stripes of all keys in order of stripes, so threads locking many keys at once never deadlock each other.
+		 * @param keys Keys to lock
+		 * @return Locked stripes, to pass to {@link #unlockAll(int[])}
+		 */
+		int[] lockAll(Collection<String> keys) {
+				var stripes = new boolean[locks.length];
+				var count = 0;
+				for (var key : keys) {
+						var stripe = stripe(key);
+						if (!stripes[stripe]) {
+								stripes[stripe] = true;
+								count++;
+						}
+				}
+				var locked = new int[count];
+				var index = 0;
+				for (int stripe = 0; stripe < stripes.length; stripe++) {
+						if (stripes[stripe]) {
+								locks[stripe].lock();
+								locked[index++] = stripe;
+						}
+				}
+				return locked;
+		}
+
+		void unlockAll(int[] locked) {
+				for (int i = locked.length - 1; i >= 0; i--) {
+						locks[locked[i]].unlock();
+				}
+		}
+
+		private int stripe(String key) {
+				var hash = key.hashCode();
+				return (hash ^ (hash >>> 16)) & mask;
+		}
+}
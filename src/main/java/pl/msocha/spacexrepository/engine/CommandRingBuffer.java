@@ -0,0 +1,158 @@
+package pl.msocha.spacexrepository.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer with many producers and a single consumer.
+ * Producers claim consecutive sequences with CAS and publish element to slot of claimed sequence.
+ * Consumer takes published elements in sequence order and frees their slots once per batch.
+ * Producer waits when buffer is full, consumer spins, yields and then parks when buffer is empty.
+ * @param <E> Type of elements
+ */
+final class CommandRingBuffer<E> {
+
+		/**
+		 * Bit of claimed sequence set once buffer is closed, so no sequence can be claimed after closing
+		 */
+		private static final long CLOSED = Long.MIN_VALUE;
+		private static final int SPINS = 128;
+		private static final int YIELDS = 16;
+		private static final long PARK_NANOS = 1_000_000;
+
+		private final Object[] slots;
+		private final AtomicLongArray publishedSequences;
+		private final int mask;
+		private final AtomicLong claimed = new AtomicLong();
+		private volatile long consumed;
+		private volatile Thread consumer;
+		private volatile boolean consumerParked;
+
+		/**
+		 * @param capacity Number of slots, power of two
+		 */
+		CommandRingBuffer(int capacity) {
+				if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+						throw new IllegalArgumentException("Capacity must be a positive power of two");
+				}
+				slots = new Object[capacity];
+				publishedSequences = new AtomicLongArray(capacity);
+				for (int i = 0; i < capacity; i++) {
+						publishedSequences.set(i, -1);
+				}
+				mask = capacity - 1;
+		}
+
+		/**
+		 * @param consumer The only thread taking elements from buffer
+		 */
+		void setConsumer(Thread consumer) {
+				this.consumer = consumer;
+		}
+
+		/**
+		 * Publishes element, waiting for a free slot when buffer is full.
+		 * @param element Element to publish
+		 * @return Whether element was published, false when buffer is closed
+		 */
+		boolean publish(E element) {
+				long sequence;
+				do {
+						sequence = claimed.get();
+						if ((sequence & CLOSED) != 0) {
+								return false;
+						}
+				} while (!claimed.compareAndSet(sequence, sequence + 1));
+
+				for (int attempt = 0; sequence - consumed >= slots.length; attempt++) {
+						backOff(attempt);
+				}
+				var index = (int) sequence & mask;
+				slots[index] = element;
+				publishedSequences.set(index, sequence);
+				if (consumerParked) {
+						LockSupport.unpark(consumer);
+				}
+				return true;
+		}
+
+		/**
+		 * Takes published elements in order of their sequences. Must be called by consumer thread only.
+		 * @param handler Handler of taken elements, must not throw
+		 * @param maxBatch Maximum number of elements to take
+		 * @return Number of taken elements
+		 */
+		@SuppressWarnings("unchecked")
+		int drain(Consumer<? super E> handler, int maxBatch) {
+				var next = consumed;
+				var count = 0;
+				while (count < maxBatch) {
+						var index = (int) next & mask;
+						if (publishedSequences.get(index) != next) {
+								break;
+						}
+						var element = (E) slots[index];
+						slots[index] = null;
+						handler.accept(element);
+						next++;
+						count++;
+				}
+				if (count > 0) {
+						consumed = next;
+				}
+				return count;
+		}
+
+		/**
+		 * Waits for elements after consumer found buffer empty {@code attempt} times in a row.
+		 */
+		void awaitElements(int attempt) {
+				if (attempt < SPINS + YIELDS) {
+						backOff(attempt);
+						return;
+				}
+				// Flag is written before checking for elements and producers read it after publishing, so wake up is not lost
+				consumerParked = true;
+				if (!hasPublished() && !isClosed()) {
+						LockSupport.parkNanos(this, PARK_NANOS);
+				}
+				consumerParked = false;
+		}
+
+		/**
+		 * Stops accepting elements. Elements published before are still taken by consumer.
+		 */
+		void close() {
+				claimed.getAndAccumulate(CLOSED, (sequence, closed) -> sequence | closed);
+				LockSupport.unpark(consumer);
+		}
+
+		boolean isClosed() {
+				return (claimed.get() & CLOSED) != 0;
+		}
+
+		/**
+		 * @return Whether buffer is closed and all elements published before have been taken
+		 */
+		boolean isClosedAndDrained() {
+				var sequence = claimed.get();
+				return (sequence & CLOSED) != 0 && consumed == (sequence & ~CLOSED);
+		}
+
+		private boolean hasPublished() {
+				var next = consumed;
+				return publishedSequences.get((int) next & mask) == next;
+		}
+
+		private static void backOff(int attempt) {
+				if (attempt < SPINS) {
+						Thread.onSpinWait();
+				} else if (attempt < SPINS + YIELDS) {
+						Thread.yield();
+				} else {
+						LockSupport.parkNanos(1_000);
+				}
+		}
+}
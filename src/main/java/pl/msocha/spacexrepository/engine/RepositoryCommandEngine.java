@@ -0,0 +1,305 @@
+package pl.msocha.spacexrepository.engine;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import pl.msocha.spacexrepository.AsyncSpaceXRepository;
+import pl.msocha.spacexrepository.MissionSummaryVisitor;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.SpaceXRepositorySnapshot;
+import pl.msocha.spacexrepository.history.MissionTransition;
+import pl.msocha.spacexrepository.history.RocketTransition;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.MissionSummaryPage;
+import pl.msocha.spacexrepository.model.RejectedAssignment;
+import pl.msocha.spacexrepository.model.RejectedMissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Applies repository commands on a single writer thread.
+ * Commands are published to a bounded ring buffer by any number of callers and applied in publication order,
+ * in batches of all commands published since previous batch. Writer is the only thread mutating repository state,
+ * so locks it takes are never contended by other mutations, though they are still taken.
+ * Commands of a batch are applied as a repository batch, so with a journal their records are made durable once per batch.
+ * Futures of a batch are completed after that, on writer thread, so dependent actions should be short or use async variants.
+ * Command submitted by such dependent action is applied immediately, as writer can't wait for space in its own buffer.
+ * Command failing with any throwable, including an error, completes its future exceptionally and writer moves on.
+ * Reads don't change repository state, so they are not queued and run directly on the caller thread.
+ * A read sees every command which future completed before it, commands still pending may or may not be seen.
+ * Repository should not be mutated directly while engine is running.
+ */
+public class RepositoryCommandEngine implements AsyncSpaceXRepository, AutoCloseable {
+
+		private static final int DEFAULT_CAPACITY = 1 << 16;
+		private static final int MAX_BATCH = 1024;
+
+		private final SpaceXRepository repository;
+		private final CommandRingBuffer<Command<?>> commands;
+		private final Thread writer;
+
+		public RepositoryCommandEngine(SpaceXRepository repository) {
+				this(repository, DEFAULT_CAPACITY);
+		}
+
+		/**
+		 * @param repository Repository to apply commands to
+		 * @param capacity Maximum number of pending commands, power of two. Callers wait when it is reached.
+		 */
+		public RepositoryCommandEngine(SpaceXRepository repository, int capacity) {
+				this.repository = repository;
+				this.commands = new CommandRingBuffer<>(capacity);
+				this.writer = new Thread(this::applyCommands, "spacex-repository-writer");
+				writer.setDaemon(true);
+				commands.setConsumer(writer);
+				writer.start();
+		}
+
+		@Override
+		public CompletableFuture<String> addRocket(String rocketName) {
+				return submit(repository -> repository.addRocket(rocketName));
+		}
+
+		@Override
+		public CompletableFuture<List<String>> addRockets(Collection<String> rocketNames) {
+				return submit(repository -> repository.addRockets(rocketNames));
+		}
+
+		@Override
+		public CompletableFuture<String> addMission(String missionName) {
+				return submit(repository -> repository.addMission(missionName));
+		}
+
+		@Override
+		public CompletableFuture<List<String>> addMissions(Collection<String> missionNames) {
+				return submit(repository -> repository.addMissions(missionNames));
+		}
+
+		@Override
+		public CompletableFuture<Void> assignRocketToMission(String rocketId, String missionId) {
+				return execute(repository -> repository.assignRocketToMission(rocketId, missionId));
+		}
+
+		@Override
+		public CompletableFuture<Void> assignRocketsToMission(String missionId, Collection<String> rocketIds) {
+				return execute(repository -> repository.assignRocketsToMission(missionId, rocketIds));
+		}
+
+		@Override
+		public CompletableFuture<List<RejectedAssignment>> assignRocketsToMissions(Map<String, ? extends Collection<String>> rocketIdsByMissionId) {
+				return submit(repository -> repository.assignRocketsToMissions(rocketIdsByMissionId));
+		}
+
+		@Override
+		public CompletableFuture<Void> setRocketStatus(String rocketId, RocketStatus newStatus) {
+				return execute(repository -> repository.setRocketStatus(rocketId, newStatus));
+		}
+
+		@Override
+		public CompletableFuture<Void> setRocketStatuses(Map<String, RocketStatus> newStatuses) {
+				return execute(repository -> repository.setRocketStatuses(newStatuses));
+		}
+
+		@Override
+		public CompletableFuture<Void> setMissionStatus(String missionId, MissionStatus newStatus) {
+				return execute(repository -> repository.setMissionStatus(missionId, newStatus));
+		}
+
+		@Override
+		public CompletableFuture<List<RejectedMissionStatus>> setMissionStatuses(Map<String, MissionStatus> newStatuses) {
+				return submit(repository -> repository.setMissionStatuses(newStatuses));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> getMissionsSummary() {
+				return read(SpaceXRepository::getMissionsSummary);
+		}
+
+		@Override
+		public CompletableFuture<MissionSummaryPage> getMissionsSummary(String cursor, int limit) {
+				return read(repository -> repository.getMissionsSummary(cursor, limit));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> topMissions(int count) {
+				return read(repository -> repository.topMissions(count));
+		}
+
+		@Override
+		public CompletableFuture<Set<String>> findRocketsByStatus(RocketStatus status) {
+				return read(repository -> repository.findRocketsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countRocketsByStatus(RocketStatus status) {
+				return read(repository -> repository.countRocketsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countMissionRocketsByStatus(String missionId, RocketStatus status) {
+				return read(repository -> repository.countMissionRocketsByStatus(missionId, status));
+		}
+
+		@Override
+		public CompletableFuture<Set<String>> findMissionsByStatus(MissionStatus status) {
+				return read(repository -> repository.findMissionsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Integer> countMissionsByStatus(MissionStatus status) {
+				return read(repository -> repository.countMissionsByStatus(status));
+		}
+
+		@Override
+		public CompletableFuture<Void> forEachMissionSummary(MissionSummaryVisitor visitor) {
+				return read(repository -> {
+						repository.forEachMissionSummary(visitor);
+						return null;
+				});
+		}
+
+		@Override
+		public CompletableFuture<List<MissionSummary>> getMissionsSummaryAsOf(Instant time) {
+				return read(repository -> repository.getMissionsSummaryAsOf(time));
+		}
+
+		@Override
+		public CompletableFuture<List<RocketTransition>> getRocketTimeline(String rocketId) {
+				return read(repository -> repository.getRocketTimeline(rocketId));
+		}
+
+		@Override
+		public CompletableFuture<List<MissionTransition>> getMissionTimeline(String missionId) {
+				return read(repository -> repository.getMissionTimeline(missionId));
+		}
+
+		@Override
+		public CompletableFuture<SpaceXRepositorySnapshot> snapshot() {
+				return read(SpaceXRepository::snapshot);
+		}
+
+		@Override
+		public CompletableFuture<Void> writeSnapshot(Path snapshotPath) {
+				return execute(repository -> repository.writeSnapshot(snapshotPath));
+		}
+
+		/**
+		 * Stops accepting commands and waits until all commands submitted before are applied.
+		 * Called from a dependent action running on writer thread, it returns at once and writer applies remaining commands
+		 * after the action, as writer can't wait for itself.
+		 */
+		@Override
+		public void close() {
+				commands.close();
+				if (Thread.currentThread() == writer) {
+						return;
+				}
+				try {
+						writer.join();
+				} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+				}
+		}
+
+		private CompletableFuture<Void> execute(Consumer<SpaceXRepository> operation) {
+				return submit(repository -> {
+						operation.accept(repository);
+						return null;
+				});
+		}
+
+		private <T> CompletableFuture<T> read(Function<SpaceXRepository, T> operation) {
+				try {
+						return CompletableFuture.completedFuture(operation.apply(repository));
+				} catch (RuntimeException e) {
+						return CompletableFuture.failedFuture(e);
+				}
+		}
+
+		private <T> CompletableFuture<T> submit(Function<SpaceXRepository, T> operation) {
+				var command = new Command<>(operation, new CompletableFuture<>());
+				if (Thread.currentThread() == writer) {
+						command.apply(repository);
+						command.complete();
+				} else if (!commands.publish(command)) {
+						return CompletableFuture.failedFuture(new IllegalStateException("Command engine is closed"));
+				}
+				return command.result();
+		}
+
+		private void applyCommands() {
+				var batch = new ArrayList<Command<?>>(MAX_BATCH);
+				var idleAttempts = 0;
+				while (!commands.isClosedAndDrained()) {
+						if (commands.drain(batch::add, MAX_BATCH) > 0) {
+								applyBatch(batch);
+								batch.clear();
+								idleAttempts = 0;
+						} else {
+								commands.awaitElements(idleAttempts++);
+						}
+				}
+		}
+
+		/**
+		 * Applies commands and completes their futures only once their journal records are durable.
+		 * When records can't be made durable, every command that was applied fails with the journal failure.
+		 */
+		private void applyBatch(List<Command<?>> batch) {
+				try {
+						repository.applyBatch(() -> batch.forEach(command -> command.apply(repository)));
+				} catch (Throwable e) {
+						batch.forEach(command -> command.fail(e));
+						return;
+				}
+				batch.forEach(Command::complete);
+		}
+
+		private static final class Command<T> {
+
+				private final Function<SpaceXRepository, T> operation;
+				private final CompletableFuture<T> result;
+				private T value;
+				private Throwable failure;
+
+				Command(Function<SpaceXRepository, T> operation, CompletableFuture<T> result) {
+						this.operation = operation;
+						this.result = result;
+				}
+
+				CompletableFuture<T> result() {
+						return result;
+				}
+
+				void apply(SpaceXRepository repository) {
+						try {
+								value = operation.apply(repository);
+						} catch (Throwable e) {
+								// Writer has to outlive a failed command, otherwise every pending and following command would hang
+								failure = e;
+						}
+				}
+
+				void complete() {
+						if (failure == null) {
+								result.complete(value);
+						} else {
+								result.completeExceptionally(failure);
+						}
+				}
+
+				/**
+				 * Fails command with failure of its batch, unless command failed on its own.
+				 */
+				void fail(Throwable batchFailure) {
+						result.completeExceptionally(failure == null ? batchFailure : failure);
+				}
+		}
+}
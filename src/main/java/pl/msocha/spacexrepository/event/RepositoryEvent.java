@@ -0,0 +1,31 @@
+package pl.msocha.spacexrepository.event;
+
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * State transition of a Rocket or a Mission published by repository.
+ */
+public sealed interface RepositoryEvent {
+
+		record RocketAdded(String rocketId, String rocketName) implements RepositoryEvent {
+		}
+
+		record MissionAdded(String missionId, String missionName) implements RepositoryEvent {
+		}
+
+		record RocketAssigned(String rocketId, String missionId) implements RepositoryEvent {
+		}
+
+		record RocketStatusChanged(String rocketId, RocketStatus newStatus) implements RepositoryEvent {
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @param newStatus New status of a Mission
+		 * @param causedByRocketId Identifier of a Rocket which status change implied Mission status change,
+		 *                         null when status was changed explicitly
+		 */
+		record MissionStatusChanged(String missionId, MissionStatus newStatus, String causedByRocketId) implements RepositoryEvent {
+		}
+}
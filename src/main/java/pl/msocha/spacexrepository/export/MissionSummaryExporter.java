@@ -0,0 +1,182 @@
+package pl.msocha.spacexrepository.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import pl.msocha.spacexrepository.MissionSummaryVisitor;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Streams Missions summary to a channel in compact binary format, straight from repository state.
+ * Export layout (version 1, big endian):
+ * <pre>
+ * header:  magic, version
+ * mission: MISSION tag, status, name
+ * rocket:  ROCKET tag, status, name (belongs to the last preceding Mission)
+ * end:     END tag, Mission count
+ * </pre>
+ * Names are stored as varint byte length followed by UTF-8 bytes, statuses as ordinals, -1 stands for no status.
+ * Exporter owns a single direct buffer reused by every export, so it must not be used by many threads at once.
+ */
+public final class MissionSummaryExporter {
+
+		static final int MAGIC = 0x53584d31;
+		static final int VERSION = 1;
+		static final byte MISSION = 1;
+		static final byte ROCKET = 2;
+		static final byte END = 3;
+
+		private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+		// Tag, status and the longest varint
+		private static final int RECORD_PREFIX_SIZE = 2 + 5;
+		private static final int MAX_CHAR_SIZE = 4;
+
+		private final ByteBuffer buffer;
+		private final Visitor visitor = new Visitor();
+		private WritableByteChannel channel;
+		private int missionCount;
+
+		public MissionSummaryExporter() {
+				this(DEFAULT_BUFFER_SIZE);
+		}
+
+		/**
+		 * @param bufferSize Size of a direct buffer filled before every write to a channel
+		 */
+		public MissionSummaryExporter(int bufferSize) {
+				if (bufferSize < RECORD_PREFIX_SIZE + MAX_CHAR_SIZE) {
+						throw new IllegalArgumentException("Buffer size must be at least %d".formatted(RECORD_PREFIX_SIZE + MAX_CHAR_SIZE));
+				}
+				this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		}
+
+		/**
+		 * Writes Missions summary of repository to channel, in {@link SpaceXRepository#getMissionsSummary()} order.
+		 * Summary is weakly consistent with concurrent changes, like the one created with {@link SpaceXRepository#forEachMissionSummary}.
+		 * Channel is not closed.
+		 * @param repository Repository to export summary of
+		 * @param channel Channel to write export to
+		 * @return Number of exported Missions
+		 */
+		public int export(SpaceXRepository repository, WritableByteChannel channel) {
+				this.channel = channel;
+				this.missionCount = 0;
+				buffer.clear();
+				try {
+						buffer.putInt(MAGIC).putInt(VERSION);
+						repository.forEachMissionSummary(visitor);
+						ensureRemaining(1 + Integer.BYTES);
+						buffer.put(END).putInt(missionCount);
+						flush();
+						return missionCount;
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't export Missions summary", e);
+				} catch (UncheckedIOException e) {
+						throw new UncheckedIOException("Can't export Missions summary", e.getCause());
+				} finally {
+						this.channel = null;
+				}
+		}
+
+		private void putRecord(byte tag, Enum<?> status, String name) throws IOException {
+				var nameLength = utf8Length(name);
+				ensureRemaining(RECORD_PREFIX_SIZE);
+				buffer.put(tag).put(status == null ? -1 : (byte) status.ordinal());
+				putVarint(nameLength);
+				putUtf8(name);
+		}
+
+		private void putVarint(int value) {
+				while ((value & ~0x7f) != 0) {
+						buffer.put((byte) ((value & 0x7f) | 0x80));
+						value >>>= 7;
+				}
+				buffer.put((byte) value);
+		}
+
+		/**
+		 * Encodes name straight into buffer, so no byte array is created per name.
+		 */
+		private void putUtf8(String value) throws IOException {
+				for (int i = 0; i < value.length(); i++) {
+						ensureRemaining(MAX_CHAR_SIZE);
+						var c = value.charAt(i);
+						if (c < 0x80) {
+								buffer.put((byte) c);
+						} else if (c < 0x800) {
+								buffer.put((byte) (0xc0 | c >> 6)).put((byte) (0x80 | c & 0x3f));
+						} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+								var codePoint = Character.toCodePoint(c, value.charAt(++i));
+								buffer.put((byte) (0xf0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3f))
+									.put((byte) (0x80 | codePoint >> 6 & 0x3f)).put((byte) (0x80 | codePoint & 0x3f));
+						} else if (Character.isSurrogate(c)) {
+								// Unpaired surrogate is replaced the same way String.getBytes does
+								buffer.put((byte) '?');
+						} else {
+								buffer.put((byte) (0xe0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3f)).put((byte) (0x80 | c & 0x3f));
+						}
+				}
+		}
+
+		private static int utf8Length(String value) {
+				var length = 0;
+				for (int i = 0; i < value.length(); i++) {
+						var c = value.charAt(i);
+						if (c < 0x80) {
+								length++;
+						} else if (c < 0x800) {
+								length += 2;
+						} else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+								length += 4;
+								i++;
+						} else if (Character.isSurrogate(c)) {
+								length++;
+						} else {
+								length += 3;
+						}
+				}
+				return length;
+		}
+
+		private void flush() throws IOException {
+				buffer.flip();
+				while (buffer.hasRemaining()) {
+						channel.write(buffer);
+				}
+				buffer.clear();
+		}
+
+		private void ensureRemaining(int length) throws IOException {
+				if (buffer.remaining() < length) {
+						flush();
+				}
+		}
+
+		/**
+		 * Adapts checked channel failures to visitor callbacks, unwrapped again in {@link #export}.
+		 */
+		private final class Visitor implements MissionSummaryVisitor {
+
+				@Override
+				public void missionStart(String missionName, MissionStatus missionStatus) {
+						try {
+								putRecord(MISSION, missionStatus, missionName);
+								missionCount++;
+						} catch (IOException e) {
+								throw new UncheckedIOException(e);
+						}
+				}
+
+				@Override
+				public void rocket(String rocketName, RocketStatus rocketStatus) {
+						try {
+								putRecord(ROCKET, rocketStatus, rocketName);
+						} catch (IOException e) {
+								throw new UncheckedIOException(e);
+						}
+				}
+		}
+}
@@ -0,0 +1,193 @@
+package pl.msocha.spacexrepository.export;
+
+import static pl.msocha.spacexrepository.export.MissionSummaryExporter.END;
+import static pl.msocha.spacexrepository.export.MissionSummaryExporter.MAGIC;
+import static pl.msocha.spacexrepository.export.MissionSummaryExporter.MISSION;
+import static pl.msocha.spacexrepository.export.MissionSummaryExporter.ROCKET;
+import static pl.msocha.spacexrepository.export.MissionSummaryExporter.VERSION;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import pl.msocha.spacexrepository.MissionSummaryVisitor;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Cursor over Missions summary written by {@link MissionSummaryExporter}.
+ * Records are read in place from given buffer, names are exposed as views of it, so nothing is copied
+ * until {@link #name()} decodes a name to String. Reader is not thread-safe.
+ */
+public final class MissionSummaryReader {
+
+		/**
+		 * Type of a record reader is positioned at.
+		 */
+		public enum Record {
+				MISSION,
+				ROCKET,
+				END
+		}
+
+		private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+		private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+		private final ByteBuffer buffer;
+		private final ByteBuffer name;
+		private Record record;
+		private byte status;
+		private int missionCount;
+
+		private MissionSummaryReader(ByteBuffer buffer) {
+				this.buffer = buffer;
+				this.name = buffer.asReadOnlyBuffer();
+		}
+
+		/**
+		 * @param buffer Buffer positioned at the beginning of an export, read from its position on
+		 * @return Reader positioned before the first record
+		 */
+		public static MissionSummaryReader of(ByteBuffer buffer) {
+				var source = buffer.slice();
+				if (source.remaining() < 2 * Integer.BYTES || source.getInt() != MAGIC) {
+						throw new IllegalArgumentException("Buffer is not a Missions summary export");
+				}
+				var version = source.getInt();
+				if (version != VERSION) {
+						throw new IllegalArgumentException("Unsupported Missions summary export version " + version);
+				}
+				return new MissionSummaryReader(source);
+		}
+
+		/**
+		 * Memory maps export file, so records are read without copying file content to heap.
+		 * @param path Path of a file export was written to
+		 * @return Reader positioned before the first record
+		 */
+		public static MissionSummaryReader of(Path path) {
+				try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+						return of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't read Missions summary export " + path, e);
+				}
+		}
+
+		/**
+		 * Moves to next record.
+		 * @return Type of a record, {@link Record#END} once whole export is read
+		 */
+		public Record next() {
+				if (record == Record.END) {
+						return record;
+				}
+				try {
+						var tag = buffer.get();
+						if (tag == END) {
+								if (buffer.getInt() != missionCount) {
+										throw new IllegalArgumentException("Missions summary export is corrupted");
+								}
+								record = Record.END;
+								return record;
+						}
+						if (tag != MISSION && tag != ROCKET || tag == ROCKET && record == null) {
+								throw new IllegalArgumentException("Missions summary export is corrupted");
+						}
+						record = tag == MISSION ? Record.MISSION : Record.ROCKET;
+						missionCount += tag == MISSION ? 1 : 0;
+						status = buffer.get();
+						var nameLength = getVarint();
+						name.limit(buffer.position() + nameLength).position(buffer.position());
+						buffer.position(buffer.position() + nameLength);
+						return record;
+				} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+						throw new IllegalArgumentException("Missions summary export is truncated");
+				}
+		}
+
+		/**
+		 * @return Status of current Mission record
+		 */
+		public MissionStatus missionStatus() {
+				requireRecord(Record.MISSION);
+				return status < 0 ? null : MISSION_STATUSES[status];
+		}
+
+		/**
+		 * @return Status of current Rocket record
+		 */
+		public RocketStatus rocketStatus() {
+				requireRecord(Record.ROCKET);
+				return status < 0 ? null : ROCKET_STATUSES[status];
+		}
+
+		/**
+		 * @return Read-only view of UTF-8 name of current record, reused and valid until next record is read
+		 */
+		public ByteBuffer nameBytes() {
+				requireNamedRecord();
+				return name;
+		}
+
+		/**
+		 * @return Name of current record decoded to String
+		 */
+		public String name() {
+				requireNamedRecord();
+				return StandardCharsets.UTF_8.decode(name.duplicate()).toString();
+		}
+
+		/**
+		 * Reads all remaining records and passes them to visitor, decoding names to Strings.
+		 * @param visitor Visitor of Missions and their Rockets
+		 * @return Number of Missions read
+		 */
+		public int accept(MissionSummaryVisitor visitor) {
+				var visited = 0;
+				var inMission = record == Record.MISSION || record == Record.ROCKET;
+				while (next() != Record.END) {
+						if (record == Record.ROCKET) {
+								visitor.rocket(name(), rocketStatus());
+								continue;
+						}
+						if (inMission) {
+								visitor.missionEnd();
+						}
+						visitor.missionStart(name(), missionStatus());
+						inMission = true;
+						visited++;
+				}
+				if (inMission) {
+						visitor.missionEnd();
+				}
+				return visited;
+		}
+
+		private int getVarint() {
+				var value = 0;
+				for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+						var b = buffer.get();
+						value |= (b & 0x7f) << shift;
+						if (b >= 0) {
+								return value;
+						}
+				}
+				throw new IllegalArgumentException("Missions summary export is corrupted");
+		}
+
+		private void requireRecord(Record expected) {
+				if (record != expected) {
+						throw new IllegalStateException("Reader is not positioned at %s record".formatted(expected));
+				}
+		}
+
+		private void requireNamedRecord() {
+				if (record != Record.MISSION && record != Record.ROCKET) {
+						throw new IllegalStateException("Reader is not positioned at MISSION or ROCKET record");
+				}
+		}
+}
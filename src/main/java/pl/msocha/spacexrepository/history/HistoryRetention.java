@@ -0,0 +1,36 @@
+package pl.msocha.spacexrepository.history;
+
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Limits of history kept per Rocket and Mission.
+ * Transitions beyond limits are folded into a single state at the oldest kept time.
+ */
+@Getter
+@Builder
+public class HistoryRetention {
+
+		/**
+		 * Minimal age of transitions to fold, null to keep transitions regardless of their age
+		 */
+		private final Duration maxAge;
+		/**
+		 * Maximal number of transitions kept per Rocket or Mission, older half is folded when exceeded
+		 */
+		@Builder.Default
+		private final int maxTransitions = 1024;
+
+		HistoryRetention(Duration maxAge, int maxTransitions) {
+				if (maxTransitions < 1) {
+						throw new IllegalArgumentException("Maximal number of transitions must be positive");
+				}
+				this.maxAge = maxAge;
+				this.maxTransitions = maxTransitions;
+		}
+
+		public static HistoryRetention defaults() {
+				return builder().build();
+		}
+}
@@ -0,0 +1,12 @@
+package pl.msocha.spacexrepository.history;
+
+import java.time.Instant;
+import pl.msocha.spacexrepository.model.MissionStatus;
+
+/**
+ * State of a Mission after its transition
+ * @param time Time of transition
+ * @param status Status of a Mission
+ */
+public record MissionTransition(Instant time, MissionStatus status) {
+}
@@ -0,0 +1,146 @@
+package pl.msocha.spacexrepository.history;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * History of Rocket and Mission transitions, kept as compact per Rocket and per Mission logs instead of event objects.
+ * Rocket log holds its status changes and assignment, Mission log holds its status changes, including implicit PENDING.
+ * Logs are keyed by sequence numbers of identifiers, so only Rockets and Missions with identifiers in generated format
+ * (see {@link Identifiers}) have history.
+ * Changes of the same Rocket or Mission have to be recorded serially, in order they are applied.
+ * State before the oldest kept transition is not known, so Rocket or Mission is absent from history before it.
+ */
+public class RepositoryHistory {
+
+		private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+		private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+		private final HistoryRetention retention;
+		private final Clock clock;
+		private final TransitionLogs rocketLogs = new TransitionLogs();
+		private final TransitionLogs missionLogs = new TransitionLogs();
+
+		/**
+		 * @param retention Limits of kept history, null when history is not recorded
+		 * @param clock Clock of transition times
+		 */
+		public RepositoryHistory(HistoryRetention retention, Clock clock) {
+				this.retention = retention;
+				this.clock = clock;
+		}
+
+		public boolean isEnabled() {
+				return retention != null;
+		}
+
+		public void rocketStatusChanged(String rocketId, RocketStatus status) {
+				var rocketNumber = Identifiers.rocketNumber(rocketId);
+				if (isEnabled() && status != null && rocketNumber > 0) {
+						rocketLogs.append(rocketNumber, clock.millis(), (byte) status.ordinal(), 0, retention);
+				}
+		}
+
+		public void rocketAssigned(String rocketId, String missionId) {
+				var rocketNumber = Identifiers.rocketNumber(rocketId);
+				var missionNumber = Identifiers.missionNumber(missionId);
+				if (isEnabled() && rocketNumber > 0 && missionNumber > 0) {
+						rocketLogs.append(rocketNumber, clock.millis(), TransitionLogs.ASSIGNED, missionNumber, retention);
+				}
+		}
+
+		public void missionStatusChanged(String missionId, MissionStatus status) {
+				var missionNumber = Identifiers.missionNumber(missionId);
+				if (isEnabled() && status != null && missionNumber > 0) {
+						missionLogs.append(missionNumber, clock.millis(), (byte) status.ordinal(), 0, retention);
+				}
+		}
+
+		/**
+		 * @param rocketId Identifier of a Rocket
+		 * @return Kept transitions of a Rocket from the oldest one
+		 */
+		public List<RocketTransition> rocketTimeline(String rocketId) {
+				requireEnabled();
+				var timeline = new ArrayList<RocketTransition>();
+				var rocketNumber = Identifiers.rocketNumber(rocketId);
+				if (rocketNumber > 0) {
+						var state = new TransitionLogs.State();
+						rocketLogs.forEach(rocketNumber, (time, code, reference) -> {
+								state.apply(time, code, reference);
+								timeline.add(rocketTransition(state));
+						});
+				}
+				return timeline;
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @return Kept transitions of a Mission from the oldest one
+		 */
+		public List<MissionTransition> missionTimeline(String missionId) {
+				requireEnabled();
+				var timeline = new ArrayList<MissionTransition>();
+				var missionNumber = Identifiers.missionNumber(missionId);
+				if (missionNumber > 0) {
+						missionLogs.forEach(missionNumber, (time, code, reference) -> timeline.add(new MissionTransition(Instant.ofEpochMilli(time), MISSION_STATUSES[code])));
+				}
+				return timeline;
+		}
+
+		/**
+		 * State of every Rocket is decoded from the nearest checkpoint of its log before given time.
+		 * @param time Time to get states at
+		 * @return State of every Rocket known at given time by Rocket identifier
+		 */
+		public Map<String, RocketTransition> rocketsAt(Instant time) {
+				requireEnabled();
+				var millis = time.toEpochMilli();
+				var rockets = new HashMap<String, RocketTransition>();
+				rocketLogs.forEachNumber(rocketNumber -> {
+						var state = new TransitionLogs.State();
+						if (rocketLogs.stateAt(rocketNumber, millis, state)) {
+								rockets.put(Identifiers.rocketId(rocketNumber), rocketTransition(state));
+						}
+				});
+				return rockets;
+		}
+
+		/**
+		 * State of every Mission is decoded from the nearest checkpoint of its log before given time.
+		 * @param time Time to get states at
+		 * @return State of every Mission known at given time by Mission identifier
+		 */
+		public Map<String, MissionTransition> missionsAt(Instant time) {
+				requireEnabled();
+				var millis = time.toEpochMilli();
+				var missions = new HashMap<String, MissionTransition>();
+				missionLogs.forEachNumber(missionNumber -> {
+						var state = new TransitionLogs.State();
+						if (missionLogs.stateAt(missionNumber, millis, state)) {
+								missions.put(Identifiers.missionId(missionNumber),
+									new MissionTransition(Instant.ofEpochMilli(state.time()), MISSION_STATUSES[state.status()]));
+						}
+				});
+				return missions;
+		}
+
+		private void requireEnabled() {
+				if (!isEnabled()) {
+						throw new IllegalStateException("History is not enabled");
+				}
+		}
+
+		private static RocketTransition rocketTransition(TransitionLogs.State state) {
+				var status = state.status() == TransitionLogs.NONE ? null : ROCKET_STATUSES[state.status()];
+				var missionId = state.missionNumber() == 0 ? null : Identifiers.missionId(state.missionNumber());
+				return new RocketTransition(Instant.ofEpochMilli(state.time()), status, missionId);
+		}
+}
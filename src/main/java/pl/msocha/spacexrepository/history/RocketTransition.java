@@ -0,0 +1,13 @@
+package pl.msocha.spacexrepository.history;
+
+import java.time.Instant;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * State of a Rocket after its transition
+ * @param time Time of transition
+ * @param status Status of a Rocket
+ * @param missionId Identifier of Mission Rocket is assigned to, null if Rocket is not assigned
+ */
+public record RocketTransition(Instant time, RocketStatus status, String missionId) {
+}
@@ -0,0 +1,375 @@
+package pl.msocha.spacexrepository.history;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Transitions of Rockets or Missions kept in columns of bytes, in logs keyed by sequence number of their identifiers.
+ * Time column holds zig-zag varint differences in milliseconds to previous transition, code column holds one byte
+ * per transition and reference column holds varint Mission number for every assignment.
+ * Logs are held in fixed size chunks indexed by number, so no String key, map node nor log holder is kept per Rocket or Mission.
+ * Every {@value #CHECKPOINT_INTERVAL} transitions a checkpoint stores state reached so far and column positions, so state
+ * at given time is decoded from the nearest checkpoint, skipping segments of transitions made later, instead of from the oldest transition.
+ * Appends of the same log have to be serialized. Reads run concurrently with appends and see published transitions only.
+ */
+final class TransitionLogs {
+
+		static final byte ASSIGNED = Byte.MAX_VALUE;
+		static final byte NONE = -1;
+		static final int CHECKPOINT_INTERVAL = 64;
+
+		private static final int CHUNK_BITS = 12;
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+		private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+		// Checkpoint fields: column positions, time of the last transition before it, maximal time of transitions before it,
+		// minimal time of transitions in segment following it and state before it
+		private static final int POSITIONS = 0;
+		private static final int LAST_TIME = 1;
+		private static final int MAX_TIME = 2;
+		private static final int MIN_TIME = 3;
+		private static final int STATE = 4;
+		private static final int CHECKPOINT_FIELDS = 5;
+
+		private static final VarHandle LOGS = MethodHandles.arrayElementVarHandle(Log[].class);
+		private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+		private static final Log EMPTY = new Log(new byte[0], 0, new byte[0], 0, new byte[0], 0, 0, 0, Long.MIN_VALUE, NONE, 0, new long[0]);
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile Log[][] chunks = new Log[0][];
+
+		/**
+		 * @param number Sequence number of Rocket or Mission identifier
+		 * @param time Time of transition in milliseconds
+		 * @param code Status ordinal or {@link #ASSIGNED}
+		 * @param reference Mission number of assignment, ignored for other transitions
+		 * @param retention Limits of kept transitions
+		 */
+		void append(int number, long time, byte code, int reference, HistoryRetention retention) {
+				var current = log(number);
+				var log = write(current == null ? EMPTY : current, time, code, reference);
+				if (isBeyond(log, retention, time)) {
+						log = fold(log, retention, time);
+				}
+				ensureCapacity(number);
+				LOGS.setRelease(chunks[number >>> CHUNK_BITS], number & CHUNK_MASK, log);
+		}
+
+		/**
+		 * Visits published transitions of a number from the oldest one
+		 */
+		void forEach(int number, TransitionVisitor visitor) {
+				var log = log(number);
+				if (log != null) {
+						forEach(log, visitor);
+				}
+		}
+
+		/**
+		 * Visits numbers with published transitions, in ascending order
+		 */
+		void forEachNumber(IntConsumer action) {
+				var current = chunks;
+				for (int chunkIndex = 0; chunkIndex < current.length; chunkIndex++) {
+						for (int slot = 0; slot < CHUNK_SIZE; slot++) {
+								if (LOGS.getAcquire(current[chunkIndex], slot) != null) {
+										action.accept(chunkIndex << CHUNK_BITS | slot);
+								}
+						}
+				}
+		}
+
+		/**
+		 * Applies published transitions of a number made at given time or before to state, in order they were appended.
+		 * @return Whether any transition was made at given time or before
+		 */
+		boolean stateAt(int number, long time, State state) {
+				var log = log(number);
+				if (log == null || log.count == 0) {
+						return false;
+				}
+				var checkpoints = log.checkpoints;
+				var segments = (log.count + CHECKPOINT_INTERVAL - 1) / CHECKPOINT_INTERVAL;
+				// Maximal times before checkpoints never decrease, so the last checkpoint preceded by earlier transitions only is found by bisection
+				var low = 0;
+				var high = segments - 1;
+				while (low < high) {
+						var middle = (low + high + 1) >>> 1;
+						if (checkpoints[middle * CHECKPOINT_FIELDS + MAX_TIME] <= time) {
+								low = middle;
+						} else {
+								high = middle - 1;
+						}
+				}
+				if (low > 0) {
+						var offset = low * CHECKPOINT_FIELDS;
+						var checkpointState = checkpoints[offset + STATE];
+						state.restore(checkpoints[offset + LAST_TIME], (byte) (checkpointState >> 32), (int) checkpointState);
+				}
+				for (int segment = low; segment < segments; segment++) {
+						var offset = segment * CHECKPOINT_FIELDS;
+						if ((long) LONGS.getAcquire(checkpoints, offset + MIN_TIME) > time) {
+								continue;
+						}
+						var positions = checkpoints[offset + POSITIONS];
+						var timePosition = new int[]{(int) (positions >>> 32)};
+						var referencePosition = new int[]{(int) positions};
+						var transitionTime = checkpoints[offset + LAST_TIME];
+						var end = Math.min(log.count, (segment + 1) * CHECKPOINT_INTERVAL);
+						for (int i = segment * CHECKPOINT_INTERVAL; i < end; i++) {
+								transitionTime += unZigZag(readVarLong(log.times, timePosition));
+								var code = log.codes[i];
+								var reference = code == ASSIGNED ? (int) readVarLong(log.references, referencePosition) : 0;
+								if (transitionTime <= time) {
+										state.apply(transitionTime, code, reference);
+								}
+						}
+				}
+				return state.isKnown();
+		}
+
+		private Log log(int number) {
+				var current = chunks;
+				var chunkIndex = number >>> CHUNK_BITS;
+				return chunkIndex < current.length ? (Log) LOGS.getAcquire(current[chunkIndex], number & CHUNK_MASK) : null;
+		}
+
+		private void ensureCapacity(int number) {
+				var chunkIndex = number >>> CHUNK_BITS;
+				if (chunkIndex < chunks.length) {
+						return;
+				}
+				lock.lock();
+				try {
+						var current = chunks;
+						if (chunkIndex < current.length) {
+								return;
+						}
+						var grown = Arrays.copyOf(current, chunkIndex + 1);
+						for (int i = current.length; i < grown.length; i++) {
+								grown[i] = new Log[CHUNK_SIZE];
+						}
+						chunks = grown;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private static void forEach(Log log, TransitionVisitor visitor) {
+				var timePosition = new int[1];
+				var referencePosition = new int[1];
+				long time = 0;
+				for (int i = 0; i < log.count; i++) {
+						time += unZigZag(readVarLong(log.times, timePosition));
+						var code = log.codes[i];
+						var reference = code == ASSIGNED ? (int) readVarLong(log.references, referencePosition) : 0;
+						visitor.visit(time, code, reference);
+				}
+		}
+
+		/**
+		 * Writes transition past published lengths of a log, taking checkpoint first when transition starts a segment.
+		 * @return Log including the transition, to be published
+		 */
+		private static Log write(Log log, long time, byte code, int reference) {
+				var checkpoints = log.count % CHECKPOINT_INTERVAL == 0 ? checkpoint(log) : log.checkpoints;
+				var minTimeOffset = log.count / CHECKPOINT_INTERVAL * CHECKPOINT_FIELDS + MIN_TIME;
+				LONGS.setRelease(checkpoints, minTimeOffset, Math.min(checkpoints[minTimeOffset], time));
+
+				var times = ensureCapacity(log.times, log.timesLength + 10);
+				var timesLength = writeVarLong(times, log.timesLength, zigZag(time - log.lastTime));
+				var codes = ensureCapacity(log.codes, log.count + 1);
+				codes[log.count] = code;
+				var references = log.references;
+				var referencesLength = log.referencesLength;
+				var status = log.status;
+				var missionNumber = log.missionNumber;
+				if (code == ASSIGNED) {
+						references = ensureCapacity(references, referencesLength + 5);
+						referencesLength = writeVarLong(references, referencesLength, reference & 0xFFFFFFFFL);
+						missionNumber = reference;
+				} else {
+						status = code;
+				}
+				var firstTime = log.count == 0 ? time : log.firstTime;
+				return new Log(times, timesLength, codes, log.count + 1, references, referencesLength, firstTime, time,
+					Math.max(log.maxTime, time), status, missionNumber, checkpoints);
+		}
+
+		private static long[] checkpoint(Log log) {
+				var offset = log.count / CHECKPOINT_INTERVAL * CHECKPOINT_FIELDS;
+				var checkpoints = log.checkpoints;
+				if (checkpoints.length < offset + CHECKPOINT_FIELDS) {
+						checkpoints = Arrays.copyOf(checkpoints, Math.max(offset + CHECKPOINT_FIELDS, checkpoints.length * 2));
+				}
+				checkpoints[offset + POSITIONS] = (long) log.timesLength << 32 | log.referencesLength;
+				checkpoints[offset + LAST_TIME] = log.lastTime;
+				checkpoints[offset + MAX_TIME] = log.maxTime;
+				checkpoints[offset + MIN_TIME] = Long.MAX_VALUE;
+				checkpoints[offset + STATE] = (long) log.status << 32 | log.missionNumber & 0xFFFFFFFFL;
+				return checkpoints;
+		}
+
+		private static boolean isBeyond(Log log, HistoryRetention retention, long time) {
+				if (log.count > retention.getMaxTransitions()) {
+						return true;
+				}
+				// Slack of a quarter of age keeps folds rare, instead of folding on every append
+				var maxAge = retention.getMaxAge();
+				return maxAge != null && log.firstTime < time - maxAge.toMillis() - maxAge.toMillis() / 4;
+		}
+
+		/**
+		 * Folds the oldest transitions into state they result in, kept as transitions at time folded history ends.
+		 * Folded log is built aside and published at once, so readers never see it partially.
+		 */
+		private static Log fold(Log log, HistoryRetention retention, long time) {
+				var maxAge = retention.getMaxAge();
+				var horizon = maxAge == null ? Long.MIN_VALUE : time - maxAge.toMillis();
+				var kept = Math.max(1, retention.getMaxTransitions() / 2);
+				var count = log.count;
+				var entryTimes = new long[count];
+				var entryCodes = new byte[count];
+				var entryReferences = new int[count];
+				var index = new int[1];
+				forEach(log, (transitionTime, code, reference) -> {
+						entryTimes[index[0]] = transitionTime;
+						entryCodes[index[0]] = code;
+						entryReferences[index[0]++] = reference;
+				});
+
+				var folded = 0;
+				while (folded < count && (count - folded > kept || entryTimes[folded] < horizon)) {
+						folded++;
+				}
+				byte status = NONE;
+				var missionNumber = 0;
+				for (int i = 0; i < folded; i++) {
+						if (entryCodes[i] == ASSIGNED) {
+								missionNumber = entryReferences[i];
+						} else {
+								status = entryCodes[i];
+						}
+				}
+
+				var foldTime = Math.max(entryTimes[folded - 1], horizon);
+				var rebuilt = EMPTY;
+				if (status != NONE) {
+						rebuilt = write(rebuilt, foldTime, status, 0);
+				}
+				if (missionNumber != 0) {
+						rebuilt = write(rebuilt, foldTime, ASSIGNED, missionNumber);
+				}
+				for (int i = folded; i < count; i++) {
+						rebuilt = write(rebuilt, entryTimes[i], entryCodes[i], entryReferences[i]);
+				}
+				return rebuilt;
+		}
+
+		private static int writeVarLong(byte[] bytes, int position, long value) {
+				while ((value & ~0x7FL) != 0) {
+						bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+						value >>>= 7;
+				}
+				bytes[position++] = (byte) value;
+				return position;
+		}
+
+		private static long readVarLong(byte[] bytes, int[] position) {
+				long value = 0;
+				for (int shift = 0; ; shift += 7) {
+						var current = bytes[position[0]++];
+						value |= (long) (current & 0x7F) << shift;
+						if (current >= 0) {
+								return value;
+						}
+				}
+		}
+
+		private static byte[] ensureCapacity(byte[] bytes, int capacity) {
+				return capacity <= bytes.length ? bytes : Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+		}
+
+		private static long zigZag(long value) {
+				return (value << 1) ^ (value >> 63);
+		}
+
+		private static long unZigZag(long value) {
+				return (value >>> 1) ^ -(value & 1);
+		}
+
+		@FunctionalInterface
+		interface TransitionVisitor {
+
+				/**
+				 * @param time Time of transition in milliseconds
+				 * @param code Status ordinal or {@link #ASSIGNED}
+				 * @param reference Mission number of assignment, 0 for other transitions
+				 */
+				void visit(long time, byte code, int reference);
+		}
+
+		/**
+		 * State of a Rocket or Mission accumulated from its transitions
+		 */
+		static final class State {
+
+				private boolean known;
+				private long time;
+				private byte status = NONE;
+				private int missionNumber;
+
+				void apply(long time, byte code, int reference) {
+						if (code == ASSIGNED) {
+								missionNumber = reference;
+						} else {
+								status = code;
+						}
+						this.time = time;
+						known = true;
+				}
+
+				void restore(long time, byte status, int missionNumber) {
+						this.time = time;
+						this.status = status;
+						this.missionNumber = missionNumber;
+						known = true;
+				}
+
+				boolean isKnown() {
+						return known;
+				}
+
+				/**
+				 * @return Time of the last applied transition in milliseconds
+				 */
+				long time() {
+						return time;
+				}
+
+				/**
+				 * @return Status ordinal or {@link #NONE}
+				 */
+				byte status() {
+						return status;
+				}
+
+				/**
+				 * @return Mission number of the last assignment, 0 when not assigned
+				 */
+				int missionNumber() {
+						return missionNumber;
+				}
+		}
+
+		/**
+		 * Published log of a number, with state reached by all its transitions. Appends write past published lengths
+		 * and publish a new log, so readers never see partial transitions.
+		 */
+		private record Log(byte[] times, int timesLength, byte[] codes, int count, byte[] references, int referencesLength,
+			long firstTime, long lastTime, long maxTime, byte status, int missionNumber, long[] checkpoints) {
+		}
+}
@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AddMission")
+@Label("Add Mission")
+@Description("Mission created with addMission")
+public class AddMissionEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Id")
+		public String missionId;
+}
@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AddMissions")
+@Label("Add Missions")
+@Description("Missions created with addMissions")
+public class AddMissionsEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Count")
+		public int missionCount;
+}
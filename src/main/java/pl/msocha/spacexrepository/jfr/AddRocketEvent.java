@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AddRocket")
+@Label("Add Rocket")
+@Description("Rocket created with addRocket")
+public class AddRocketEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Id")
+		public String rocketId;
+}
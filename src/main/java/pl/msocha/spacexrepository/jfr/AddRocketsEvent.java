@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AddRockets")
+@Label("Add Rockets")
+@Description("Rockets created with addRockets")
+public class AddRocketsEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AssignRocket")
+@Label("Assign Rocket")
+@Description("Rocket assigned with assignRocketToMission")
+public class AssignRocketEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Id")
+		public String rocketId;
+
+		@Label("Mission Id")
+		public String missionId;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AssignRockets")
+@Label("Assign Rockets")
+@Description("Rockets assigned with assignRocketsToMission")
+public class AssignRocketsEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Id")
+		public String missionId;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
@@ -0,0 +1,20 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.AssignRocketsToMissions")
+@Label("Assign Rockets To Missions")
+@Description("Rockets assigned in bulk with assignRocketsToMissions")
+public class AssignRocketsToMissionsEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+
+		@Label("Rejected Count")
+		public int rejectedCount;
+}
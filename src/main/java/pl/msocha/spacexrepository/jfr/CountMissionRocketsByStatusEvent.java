@@ -0,0 +1,20 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.CountMissionRocketsByStatus")
+@Label("Count Mission Rockets By Status")
+@Description("Rockets of a Mission counted by status with countMissionRocketsByStatus")
+public class CountMissionRocketsByStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Id")
+		public String missionId;
+
+		@Label("Status")
+		public String status;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
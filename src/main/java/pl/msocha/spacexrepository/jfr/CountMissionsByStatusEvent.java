@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.CountMissionsByStatus")
+@Label("Count Missions By Status")
+@Description("Missions counted by status with countMissionsByStatus")
+public class CountMissionsByStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Status")
+		public String status;
+
+		@Label("Mission Count")
+		public int missionCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.CountRocketsByStatus")
+@Label("Count Rockets By Status")
+@Description("Rockets counted by status with countRocketsByStatus")
+public class CountRocketsByStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Status")
+		public String status;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
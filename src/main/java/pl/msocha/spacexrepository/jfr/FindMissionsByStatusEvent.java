@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.FindMissionsByStatus")
+@Label("Find Missions By Status")
+@Description("Missions found by status with findMissionsByStatus")
+public class FindMissionsByStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Status")
+		public String status;
+
+		@Label("Mission Count")
+		public int missionCount;
+}
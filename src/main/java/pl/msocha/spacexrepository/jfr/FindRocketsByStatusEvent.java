@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.FindRocketsByStatus")
+@Label("Find Rockets By Status")
+@Description("Rockets found by status with findRocketsByStatus")
+public class FindRocketsByStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Status")
+		public String status;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.MissionTimeline")
+@Label("Mission Timeline")
+@Description("Mission transitions read from history with getMissionTimeline")
+public class MissionTimelineEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Id")
+		public String missionId;
+
+		@Label("Transition Count")
+		public int transitionCount;
+}
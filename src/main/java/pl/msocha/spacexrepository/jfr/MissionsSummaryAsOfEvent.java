@@ -0,0 +1,22 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timestamp;
+
+@Name("pl.msocha.spacexrepository.MissionsSummaryAsOf")
+@Label("Missions Summary As Of")
+@Description("Summary created from history with getMissionsSummaryAsOf")
+public class MissionsSummaryAsOfEvent extends RepositoryOperationEvent {
+
+		@Label("Time")
+		@Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+		public long time;
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
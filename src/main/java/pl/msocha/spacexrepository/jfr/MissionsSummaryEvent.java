@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.MissionsSummary")
+@Label("Missions Summary")
+@Description("Summary created with getMissionsSummary")
+public class MissionsSummaryEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
@@ -0,0 +1,20 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.MissionsSummaryPage")
+@Label("Missions Summary Page")
+@Description("Summary page created with getMissionsSummary(cursor, limit)")
+public class MissionsSummaryPageEvent extends RepositoryOperationEvent {
+
+		@Label("Limit")
+		public int limit;
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
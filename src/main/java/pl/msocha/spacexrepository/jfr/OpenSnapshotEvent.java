@@ -0,0 +1,11 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.OpenSnapshot")
+@Label("Open Snapshot")
+@Description("Point-in-time snapshot opened with snapshot")
+public class OpenSnapshotEvent extends RepositoryOperationEvent {
+}
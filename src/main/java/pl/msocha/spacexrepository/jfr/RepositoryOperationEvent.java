@@ -0,0 +1,33 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of Flight Recorder events emitted for public repository operations.
+ * Event duration is the duration of the operation, including rejected calls.
+ */
+@Category({"SpaceX Repository", "Operations"})
+@StackTrace(false)
+public abstract class RepositoryOperationEvent extends jdk.jfr.Event {
+
+		@Label("Succeeded")
+		boolean succeeded = true;
+
+		@Label("Failure")
+		@Description("Exception rejecting the operation")
+		String failure;
+
+		/**
+		 * Marks operation as rejected. Failure is described only when event is enabled, so rejected calls do not build
+		 * its description while nothing is recording.
+		 */
+		public void failed(RuntimeException exception) {
+				if (isEnabled()) {
+						succeeded = false;
+						failure = exception.toString();
+				}
+		}
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.RocketTimeline")
+@Label("Rocket Timeline")
+@Description("Rocket transitions read from history with getRocketTimeline")
+public class RocketTimelineEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Id")
+		public String rocketId;
+
+		@Label("Transition Count")
+		public int transitionCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.SetMissionStatus")
+@Label("Set Mission Status")
+@Description("Mission status changed with setMissionStatus")
+public class SetMissionStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Id")
+		public String missionId;
+
+		@Label("Status")
+		public String status;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.SetMissionStatuses")
+@Label("Set Mission Statuses")
+@Description("Mission statuses changed in bulk with setMissionStatuses")
+public class SetMissionStatusesEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rejected Count")
+		public int rejectedCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.SetRocketStatus")
+@Label("Set Rocket Status")
+@Description("Rocket status changed with setRocketStatus")
+public class SetRocketStatusEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Id")
+		public String rocketId;
+
+		@Label("Status")
+		public String status;
+}
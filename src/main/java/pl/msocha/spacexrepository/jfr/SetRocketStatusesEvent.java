@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.SetRocketStatuses")
+@Label("Set Rocket Statuses")
+@Description("Rocket statuses changed with setRocketStatuses")
+public class SetRocketStatusesEvent extends RepositoryOperationEvent {
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
@@ -0,0 +1,17 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.TopMissions")
+@Label("Top Missions")
+@Description("Summary of top Missions created with topMissions")
+public class TopMissionsEvent extends RepositoryOperationEvent {
+
+		@Label("Mission Count")
+		public int missionCount;
+
+		@Label("Rocket Count")
+		public int rocketCount;
+}
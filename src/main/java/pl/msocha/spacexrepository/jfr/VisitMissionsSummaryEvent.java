@@ -0,0 +1,11 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.VisitMissionsSummary")
+@Label("Visit Missions Summary")
+@Description("Summary visited with forEachMissionSummary")
+public class VisitMissionsSummaryEvent extends RepositoryOperationEvent {
+}
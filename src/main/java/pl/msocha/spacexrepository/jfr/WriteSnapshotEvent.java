@@ -0,0 +1,14 @@
+package pl.msocha.spacexrepository.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("pl.msocha.spacexrepository.WriteSnapshot")
+@Label("Write Snapshot")
+@Description("Snapshot written with writeSnapshot")
+public class WriteSnapshotEvent extends RepositoryOperationEvent {
+
+		@Label("Path")
+		public String path;
+}
@@ -0,0 +1,27 @@
+package pl.msocha.spacexrepository.journal;
+
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Mutation of repository state stored in RepositoryJournal.
+ * Every change is recorded in order it was applied to its Rocket or Mission, implied changes (like Mission going PENDING) included,
+ * so records are replayed without validation.
+ */
+public sealed interface JournalRecord {
+
+		record RocketAdded(String rocketId, String rocketName) implements JournalRecord {
+		}
+
+		record MissionAdded(String missionId, String missionName) implements JournalRecord {
+		}
+
+		record RocketAssigned(String rocketId, String missionId) implements JournalRecord {
+		}
+
+		record RocketStatusChanged(String rocketId, RocketStatus newStatus) implements JournalRecord {
+		}
+
+		record MissionStatusChanged(String missionId, MissionStatus newStatus) implements JournalRecord {
+		}
+}
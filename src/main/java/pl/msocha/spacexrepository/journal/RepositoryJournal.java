@@ -0,0 +1,512 @@
+package pl.msocha.spacexrepository.journal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import pl.msocha.spacexrepository.journal.JournalRecord.MissionAdded;
+import pl.msocha.spacexrepository.journal.JournalRecord.MissionStatusChanged;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketAdded;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketAssigned;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketStatusChanged;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Append-only write-ahead journal of repository mutations.
+ * File starts with magic, format version and random identifier of a journal, each record is stored as a frame: payload length, payload and CRC32C of a payload.
+ * Records are written in memory first, so they can be written while the changed Rocket or Mission is locked, in order of changes,
+ * and are made durable later. Waiting threads are grouped, so records of all threads waiting at the same time are written
+ * with a single fsync.
+ * Torn frame at the end of a file, left by a crash during write, is discarded when journal is opened.
+ * File is read in bounded windows, so its length is not limited by the size of a single buffer.
+ * Once a write or fsync fails, journal fails permanently: waiting for durability and writing further records throw
+ * {@link UncheckedIOException}, so the failed change may have been applied, but no later one is. Journal has to be reopened then.
+ */
+public class RepositoryJournal implements AutoCloseable {
+
+		private static final int MAGIC = 0x53584a31;
+		private static final int VERSION = 3;
+		private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+		private static final int FRAME_OVERHEAD = 2 * Integer.BYTES;
+		private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+		static final int READ_WINDOW_SIZE = 1024 * 1024;
+
+		private static final byte ROCKET_ADDED = 1;
+		private static final byte MISSION_ADDED = 2;
+		private static final byte ROCKET_ASSIGNED = 3;
+		private static final byte ROCKET_STATUS_CHANGED = 4;
+		private static final byte MISSION_STATUS_CHANGED = 5;
+
+		private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+		private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+		private final FileChannel channel;
+		private final long id;
+		private final long replayLength;
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Condition flushed = lock.newCondition();
+		private final CRC32C checksum = new CRC32C();
+
+		private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+		private long writtenLength;
+		private long appendedSequence;
+		private long durableSequence;
+		private boolean flushing;
+		private IOException failure;
+
+		private RepositoryJournal(FileChannel channel, long id, long replayLength) {
+				this.channel = channel;
+				this.id = id;
+				this.replayLength = replayLength;
+				this.writtenLength = replayLength;
+		}
+
+		/**
+		 * Opens journal file, creating it when it does not exist.
+		 * @param path Path of a journal file
+		 * @return Journal positioned after last complete record
+		 */
+		public static RepositoryJournal open(Path path) {
+				try {
+						var channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+						if (channel.size() == 0) {
+								var id = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+								channel.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putLong(id).flip());
+								channel.force(true);
+						}
+						var validLength = scan(channel);
+						channel.truncate(validLength);
+						channel.position(validLength);
+						var id = channel.map(FileChannel.MapMode.READ_ONLY, 2 * Integer.BYTES, Long.BYTES).getLong();
+						return new RepositoryJournal(channel, id, validLength);
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't open journal " + path, e);
+				}
+		}
+
+		/**
+		 * Passes records stored in journal when it was opened to consumer, in order they were appended.
+		 * @param consumer Consumer of records
+		 */
+		public void replay(Consumer<JournalRecord> consumer) {
+				replay(HEADER_SIZE, consumer);
+		}
+
+		/**
+		 * Passes records stored in journal when it was opened and not included in snapshot to consumer, in order they were appended.
+		 * All records are passed when snapshot was written without this journal.
+		 * @param snapshotPosition Position of journal recorded in snapshot
+		 * @param consumer Consumer of records
+		 */
+		public void replayAfter(RepositorySnapshot.JournalPosition snapshotPosition, Consumer<JournalRecord> consumer) {
+				if (snapshotPosition.journalId() != id) {
+						replay(consumer);
+						return;
+				}
+				if (snapshotPosition.offset() > replayLength) {
+						throw new IllegalStateException("Journal ends before position recorded in snapshot");
+				}
+				replay(snapshotPosition.offset(), consumer);
+		}
+
+		/**
+		 * Position just past the last written record, durable or not. Records written later are not included in snapshot
+		 * written with this position.
+		 * @return Position of journal to record in snapshot
+		 */
+		public RepositorySnapshot.JournalPosition position() {
+				lock.lock();
+				try {
+						return new RepositorySnapshot.JournalPosition(id, writtenLength);
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private void replay(long from, Consumer<JournalRecord> consumer) {
+				try {
+						var reader = new FrameReader(channel, from, replayLength);
+						while (reader.remaining() > 0) {
+								var payload = reader.slice(reader.getInt());
+								consumer.accept(decode(payload));
+								reader.getInt();
+						}
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't replay journal", e);
+				}
+		}
+
+		/**
+		 * Appends record to journal and waits until it is durable.
+		 * @param record Record to append
+		 * @throws UncheckedIOException when record can't be made durable, or journal failed before
+		 */
+		public void append(JournalRecord record) {
+				append(List.of(record));
+		}
+
+		/**
+		 * Appends records to journal and waits until they are durable.
+		 * Records are written together, so either all of them are replayed or, after crash, none of later ones.
+		 * @param records Records to append
+		 * @throws UncheckedIOException when records can't be made durable, or journal failed before
+		 */
+		public void append(List<? extends JournalRecord> records) {
+				if (records.isEmpty()) {
+						return;
+				}
+				lock.lock();
+				try {
+						awaitDurable(encode(records));
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * Writes records after all records written before, without waiting until they are durable.
+		 * Records are written together, so either all of them are replayed or, after crash, none of later ones.
+		 * @param records Records to write
+		 * @throws IllegalArgumentException when record refers to identifier not generated by repository, nothing is written then
+		 * @throws UncheckedIOException when journal failed before, nothing is written then
+		 */
+		public void write(List<? extends JournalRecord> records) {
+				lock.lock();
+				try {
+						encode(records);
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * Waits until all records written so far are durable.
+		 * @throws UncheckedIOException when records can't be made durable, or journal failed before
+		 */
+		public void awaitDurable() {
+				lock.lock();
+				try {
+						awaitDurable(appendedSequence);
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * @param rocketId Identifier of a Rocket
+		 * @return Whether records of a Rocket can be stored, which holds for identifiers generated by repository only
+		 */
+		public static boolean canStoreRocketId(String rocketId) {
+				return Identifiers.rocketNumber(rocketId) > 0;
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @return Whether records of a Mission can be stored, which holds for identifiers generated by repository only
+		 */
+		public static boolean canStoreMissionId(String missionId) {
+				return Identifiers.missionNumber(missionId) > 0;
+		}
+
+		/**
+		 * Makes records written so far durable and closes journal. Pending records are dropped only when journal failed before.
+		 * @throws UncheckedIOException when records can't be made durable, journal is closed anyway
+		 */
+		@Override
+		public void close() {
+				lock.lock();
+				try {
+						UncheckedIOException flushFailure = null;
+						if (failure == null && channel.isOpen()) {
+								try {
+										awaitDurable(appendedSequence);
+								} catch (UncheckedIOException e) {
+										flushFailure = e;
+								}
+						}
+						while (flushing) {
+								flushed.awaitUninterruptibly();
+						}
+						channel.close();
+						if (flushFailure != null) {
+								throw flushFailure;
+						}
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't close journal", e);
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private void awaitDurable(long sequence) {
+				while (durableSequence < sequence) {
+						if (failure != null) {
+								throw new UncheckedIOException("Journal write failed", failure);
+						}
+						if (flushing) {
+								flushed.awaitUninterruptibly();
+						} else {
+								flush();
+						}
+				}
+		}
+
+		/**
+		 * Writes all pending records with single fsync. Has to be called with lock held,
+		 * lock is released for the time of I/O, so other threads can append records for the next group.
+		 */
+		private void flush() {
+				flushing = true;
+				var batch = pending;
+				var batchSequence = appendedSequence;
+				pending = spare;
+				spare = null;
+				lock.unlock();
+
+				IOException error = null;
+				try {
+						batch.flip();
+						while (batch.hasRemaining()) {
+								channel.write(batch);
+						}
+						channel.force(false);
+				} catch (IOException e) {
+						error = e;
+				} finally {
+						lock.lock();
+						batch.clear();
+						spare = batch;
+						flushing = false;
+						if (error == null) {
+								durableSequence = batchSequence;
+						} else {
+								failure = error;
+						}
+						flushed.signalAll();
+				}
+		}
+
+		/**
+		 * Encodes records to pending batch. Has to be called with lock held.
+		 * @return Sequence of a batch, which is durable once durable sequence reaches it
+		 */
+		private long encode(List<? extends JournalRecord> records) {
+				if (!channel.isOpen()) {
+						throw new IllegalStateException("Journal is closed");
+				}
+				if (failure != null) {
+						throw new UncheckedIOException("Journal write failed", failure);
+				}
+				if (records.isEmpty()) {
+						return durableSequence;
+				}
+				var batchStart = pending.position();
+				try {
+						records.forEach(this::encode);
+				} catch (RuntimeException e) {
+						pending.position(batchStart);
+						throw e;
+				}
+				writtenLength += pending.position() - batchStart;
+				return ++appendedSequence;
+		}
+
+		private void encode(JournalRecord record) {
+				var payloadLength = payloadLength(record);
+				ensureCapacity(payloadLength + FRAME_OVERHEAD);
+
+				pending.putInt(payloadLength);
+				var payloadStart = pending.position();
+				if (record instanceof RocketAdded rocketAdded) {
+						pending.put(ROCKET_ADDED).putInt(rocketNumber(rocketAdded.rocketId()));
+						putString(rocketAdded.rocketName());
+				} else if (record instanceof MissionAdded missionAdded) {
+						pending.put(MISSION_ADDED).putInt(missionNumber(missionAdded.missionId()));
+						putString(missionAdded.missionName());
+				} else if (record instanceof RocketAssigned rocketAssigned) {
+						pending.put(ROCKET_ASSIGNED)
+							.putInt(rocketNumber(rocketAssigned.rocketId()))
+							.putInt(missionNumber(rocketAssigned.missionId()));
+				} else if (record instanceof RocketStatusChanged statusChanged) {
+						pending.put(ROCKET_STATUS_CHANGED)
+							.putInt(rocketNumber(statusChanged.rocketId()))
+							.put((byte) statusChanged.newStatus().ordinal());
+				} else if (record instanceof MissionStatusChanged statusChanged) {
+						pending.put(MISSION_STATUS_CHANGED)
+							.putInt(missionNumber(statusChanged.missionId()))
+							.put((byte) statusChanged.newStatus().ordinal());
+				}
+
+				checksum.reset();
+				checksum.update(pending.slice(payloadStart, payloadLength));
+				pending.putInt((int) checksum.getValue());
+		}
+
+		private void ensureCapacity(int frameLength) {
+				if (pending.remaining() >= frameLength) {
+						return;
+				}
+				var grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + frameLength));
+				pending.flip();
+				grown.put(pending);
+				pending = grown;
+		}
+
+		private void putString(String value) {
+				var bytes = value.getBytes(StandardCharsets.UTF_8);
+				pending.putInt(bytes.length).put(bytes);
+		}
+
+		private static int payloadLength(JournalRecord record) {
+				if (record instanceof RocketAdded rocketAdded) {
+						return 1 + Integer.BYTES + stringLength(rocketAdded.rocketName());
+				} else if (record instanceof MissionAdded missionAdded) {
+						return 1 + Integer.BYTES + stringLength(missionAdded.missionName());
+				} else if (record instanceof RocketAssigned) {
+						return 1 + 2 * Integer.BYTES;
+				}
+				return 1 + Integer.BYTES + 1;
+		}
+
+		private static int stringLength(String value) {
+				return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		private static JournalRecord decode(ByteBuffer payload) {
+				var type = payload.get();
+				return switch (type) {
+						case ROCKET_ADDED -> new RocketAdded(Identifiers.rocketId(payload.getInt()), getString(payload));
+						case MISSION_ADDED -> new MissionAdded(Identifiers.missionId(payload.getInt()), getString(payload));
+						case ROCKET_ASSIGNED -> new RocketAssigned(Identifiers.rocketId(payload.getInt()), Identifiers.missionId(payload.getInt()));
+						case ROCKET_STATUS_CHANGED -> new RocketStatusChanged(Identifiers.rocketId(payload.getInt()), ROCKET_STATUSES[payload.get()]);
+						case MISSION_STATUS_CHANGED -> new MissionStatusChanged(Identifiers.missionId(payload.getInt()), MISSION_STATUSES[payload.get()]);
+						default -> throw new IllegalStateException("Unknown journal record type " + type);
+				};
+		}
+
+		private static String getString(ByteBuffer payload) {
+				var bytes = new byte[payload.getInt()];
+				payload.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * @return Length of journal up to the end of last complete frame with valid checksum
+		 */
+		private static long scan(FileChannel channel) throws IOException {
+				var reader = new FrameReader(channel, 0, channel.size());
+				if (reader.remaining() < Integer.BYTES || reader.getInt() != MAGIC) {
+						throw new IOException("File is not a repository journal");
+				}
+				// Version 1 stored implied Mission status changes nowhere, so its records can't be replayed without validation
+				var version = reader.remaining() < Integer.BYTES ? 1 : reader.getInt();
+				if (version != VERSION || reader.remaining() < Long.BYTES) {
+						throw new IOException("Unsupported journal version " + version);
+				}
+				reader.slice(Long.BYTES);
+
+				var checksum = new CRC32C();
+				while (reader.remaining() >= FRAME_OVERHEAD) {
+						var frameStart = reader.position();
+						var payloadLength = reader.getInt();
+						if (payloadLength <= 0 || payloadLength > reader.remaining() - Integer.BYTES) {
+								return frameStart;
+						}
+						checksum.reset();
+						checksum.update(reader.slice(payloadLength));
+						if (reader.getInt() != (int) checksum.getValue()) {
+								return frameStart;
+						}
+				}
+				return reader.position();
+		}
+
+		/**
+		 * Reads frames of a file through window buffer, which is refilled at long offsets and grown only for a frame larger than it.
+		 */
+		private static class FrameReader {
+
+				private final FileChannel channel;
+				private final long end;
+				private ByteBuffer window = ByteBuffer.allocate(READ_WINDOW_SIZE).limit(0);
+				private long windowStart;
+
+				FrameReader(FileChannel channel, long from, long end) {
+						this.channel = channel;
+						this.end = end;
+						this.windowStart = from;
+				}
+
+				long position() {
+						return windowStart + window.position();
+				}
+
+				long remaining() {
+						return end - position();
+				}
+
+				int getInt() throws IOException {
+						require(Integer.BYTES);
+						return window.getInt();
+				}
+
+				/**
+				 * @return View of the next bytes, valid until the next read
+				 */
+				ByteBuffer slice(int length) throws IOException {
+						require(length);
+						var slice = window.slice(window.position(), length);
+						window.position(window.position() + length);
+						return slice;
+				}
+
+				private void require(int length) throws IOException {
+						if (window.remaining() >= length) {
+								return;
+						}
+						if (remaining() < length) {
+								throw new EOFException("Journal ends within a frame");
+						}
+						var position = position();
+						if (window.capacity() < length) {
+								window = ByteBuffer.allocate(length);
+						}
+						window.clear().limit((int) Math.min(window.capacity(), end - position));
+						windowStart = position;
+						while (window.hasRemaining()) {
+								if (channel.read(window, windowStart + window.position()) < 0) {
+										throw new EOFException("Journal ends within a frame");
+								}
+						}
+						window.flip();
+				}
+		}
+
+		private static int rocketNumber(String rocketId) {
+				return requireGenerated(rocketId, Identifiers.rocketNumber(rocketId));
+		}
+
+		private static int missionNumber(String missionId) {
+				return requireGenerated(missionId, Identifiers.missionNumber(missionId));
+		}
+
+		private static int requireGenerated(String identifier, int number) {
+				if (number <= 0) {
+						throw new IllegalArgumentException("Identifier [%s] can't be stored in journal".formatted(identifier));
+				}
+				return number;
+		}
+}
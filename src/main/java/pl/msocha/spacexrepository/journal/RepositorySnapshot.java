@@ -0,0 +1,330 @@
+package pl.msocha.spacexrepository.journal;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Compact binary snapshot of Rockets and Missions.
+ * File layout (version 2, big endian):
+ * <pre>
+ * header:   magic, version, next Rocket number, next Mission number, journal identifier, journal offset,
+ *           name count, Rocket count, Mission count
+ * names:    length, UTF-8 bytes (each distinct name stored once)
+ * rockets:  number, status, Mission number (0 when not assigned), name index
+ * missions: number, status, name index, Rocket count, Rocket numbers
+ * </pre>
+ * Statuses are stored as ordinals, -1 stands for no status.
+ */
+public final class RepositorySnapshot {
+
+		private static final int MAGIC = 0x53585331;
+		private static final int VERSION = 2;
+		private static final int HEADER_SIZE = 7 * Integer.BYTES + 2 * Long.BYTES;
+		private static final int BUFFER_SIZE = 1 << 20;
+
+		private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+		private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+		private RepositorySnapshot() {
+		}
+
+		/**
+		 * Identifier generators state stored in snapshot.
+		 * @param nextRocketNumber Sequence number of next created Rocket
+		 * @param nextMissionNumber Sequence number of next created Mission
+		 */
+		public record Generators(int nextRocketNumber, int nextMissionNumber) {
+		}
+
+		/**
+		 * Position in journal, records before which are included in snapshot.
+		 * @param journalId Identifier of a journal, 0 when snapshot was written without journal
+		 * @param offset Offset of the first record not included in snapshot
+		 */
+		public record JournalPosition(long journalId, long offset) {
+
+				public static final JournalPosition NONE = new JournalPosition(0, 0);
+		}
+
+		/**
+		 * State stored in snapshot besides Rockets and Missions.
+		 * @param generators Identifier generators state
+		 * @param journalPosition Position in journal snapshot was written at
+		 */
+		public record Header(Generators generators, JournalPosition journalPosition) {
+		}
+
+		/**
+		 * Writes snapshot to a temporary file and moves it in place of given one, so existing snapshot is never torn.
+		 * Rockets, Missions and header have to be copied at the same point of time and must not change while they are written.
+		 * @param path Path of a snapshot file
+		 * @param rockets Rockets to store
+		 * @param missions Missions to store
+		 * @param header Identifier generators state and journal position
+		 */
+		public static void write(Path path, Collection<Rocket> rockets, Collection<Mission> missions, Header header) {
+				var rocketsToWrite = List.copyOf(rockets);
+				var missionsToWrite = List.copyOf(missions);
+				var names = new HashMap<String, Integer>();
+				var orderedNames = new ArrayList<String>();
+				rocketsToWrite.forEach(rocket -> nameIndex(rocket.getName(), names, orderedNames));
+				missionsToWrite.forEach(mission -> nameIndex(mission.getName(), names, orderedNames));
+
+				var temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+				try (var channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+						var output = new Output(channel);
+						var generators = header.generators();
+						output.putInt(MAGIC).putInt(VERSION)
+							.putInt(generators.nextRocketNumber()).putInt(generators.nextMissionNumber())
+							.putLong(header.journalPosition().journalId()).putLong(header.journalPosition().offset())
+							.putInt(orderedNames.size()).putInt(rocketsToWrite.size()).putInt(missionsToWrite.size());
+
+						for (var name : orderedNames) {
+								output.putString(name);
+						}
+						for (var rocket : rocketsToWrite) {
+								output.putInt(rocketNumber(rocket.getId()))
+									.putByte(rocket.getStatus() == null ? -1 : (byte) rocket.getStatus().ordinal())
+									.putInt(rocket.getMissionId() == null ? 0 : missionNumber(rocket.getMissionId()))
+									.putInt(names.get(rocket.getName()));
+						}
+						for (var mission : missionsToWrite) {
+								var rocketIds = List.copyOf(mission.getRocketIds());
+								output.putInt(missionNumber(mission.getId()))
+									.putByte(mission.getStatus() == null ? -1 : (byte) mission.getStatus().ordinal())
+									.putInt(names.get(mission.getName()))
+									.putInt(rocketIds.size());
+								for (var rocketId : rocketIds) {
+										output.putInt(rocketNumber(rocketId));
+								}
+						}
+						output.flush();
+						channel.force(true);
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't write snapshot " + path, e);
+				}
+
+				try {
+						Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't write snapshot " + path, e);
+				}
+		}
+
+		/**
+		 * Reads snapshot file through a bounded buffer and puts stored Rockets and Missions to given maps.
+		 * Generators are moved past the highest restored identifiers, so new identifiers never collide with restored ones.
+		 * @param path Path of a snapshot file
+		 * @param rockets Map to put restored Rockets to
+		 * @param missions Map to put restored Missions to
+		 * @return Identifier generators state and journal position
+		 */
+		public static Header read(Path path, ConcurrentMap<String, Rocket> rockets, ConcurrentMap<String, Mission> missions) {
+				try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+						if (channel.size() < HEADER_SIZE) {
+								throw new IOException("File is not a repository snapshot");
+						}
+						return read(new Input(channel), rockets, missions);
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't read snapshot " + path, e);
+				}
+		}
+
+		private static Header read(Input buffer, Map<String, Rocket> rockets, Map<String, Mission> missions) throws IOException {
+				if (buffer.getInt() != MAGIC) {
+						throw new IOException("File is not a repository snapshot");
+				}
+				var version = buffer.getInt();
+				if (version != VERSION) {
+						throw new IOException("Unsupported snapshot version " + version);
+				}
+				var nextRocketNumber = buffer.getInt();
+				var nextMissionNumber = buffer.getInt();
+				var journalPosition = new JournalPosition(buffer.getLong(), buffer.getLong());
+				var names = new String[buffer.getInt()];
+				var rocketCount = buffer.getInt();
+				var missionCount = buffer.getInt();
+
+				for (int i = 0; i < names.length; i++) {
+						names[i] = buffer.getString();
+				}
+				for (int i = 0; i < rocketCount; i++) {
+						var rocketNumber = buffer.getInt();
+						nextRocketNumber = Math.max(nextRocketNumber, rocketNumber + 1);
+						var rocketId = Identifiers.rocketId(rocketNumber);
+						var status = buffer.get();
+						var missionNumber = buffer.getInt();
+						var rocket = new Rocket(rocketId, names[buffer.getInt()]);
+						rocket.setStatus(status < 0 ? null : ROCKET_STATUSES[status]);
+						rocket.setMissionId(missionNumber == 0 ? null : Identifiers.missionId(missionNumber));
+						rockets.put(rocketId, rocket);
+				}
+				for (int i = 0; i < missionCount; i++) {
+						var missionNumber = buffer.getInt();
+						nextMissionNumber = Math.max(nextMissionNumber, missionNumber + 1);
+						var missionId = Identifiers.missionId(missionNumber);
+						var status = buffer.get();
+						var mission = new Mission(missionId, names[buffer.getInt()]);
+						mission.setStatus(status < 0 ? null : MISSION_STATUSES[status]);
+						var missionRocketIds = new String[buffer.getInt()];
+						for (int j = 0; j < missionRocketIds.length; j++) {
+								missionRocketIds[j] = Identifiers.rocketId(buffer.getInt());
+						}
+						mission.addRockets(Arrays.asList(missionRocketIds));
+						missions.put(missionId, mission);
+				}
+				return new Header(new Generators(nextRocketNumber, nextMissionNumber), journalPosition);
+		}
+
+		private static void nameIndex(String name, Map<String, Integer> names, List<String> orderedNames) {
+				names.computeIfAbsent(name, key -> {
+						orderedNames.add(key);
+						return orderedNames.size() - 1;
+				});
+		}
+
+		private static int rocketNumber(String rocketId) {
+				return requireGenerated(rocketId, Identifiers.rocketNumber(rocketId));
+		}
+
+		private static int missionNumber(String missionId) {
+				return requireGenerated(missionId, Identifiers.missionNumber(missionId));
+		}
+
+		private static int requireGenerated(String identifier, int number) {
+				if (number <= 0) {
+						throw new IllegalArgumentException("Identifier [%s] can't be stored in snapshot".formatted(identifier));
+				}
+				return number;
+		}
+
+		/**
+		 * Buffers reads from a channel using a single reusable buffer, so snapshot of any length is read in bounded windows.
+		 */
+		private static final class Input {
+
+				private final FileChannel channel;
+				private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).limit(0);
+
+				Input(FileChannel channel) {
+						this.channel = channel;
+				}
+
+				int getInt() throws IOException {
+						ensureRemaining(Integer.BYTES);
+						return buffer.getInt();
+				}
+
+				long getLong() throws IOException {
+						ensureRemaining(Long.BYTES);
+						return buffer.getLong();
+				}
+
+				byte get() throws IOException {
+						ensureRemaining(1);
+						return buffer.get();
+				}
+
+				String getString() throws IOException {
+						var bytes = new byte[getInt()];
+						var offset = 0;
+						while (offset < bytes.length) {
+								ensureRemaining(1);
+								var length = Math.min(buffer.remaining(), bytes.length - offset);
+								buffer.get(bytes, offset, length);
+								offset += length;
+						}
+						return new String(bytes, StandardCharsets.UTF_8);
+				}
+
+				private void ensureRemaining(int length) throws IOException {
+						if (buffer.remaining() >= length) {
+								return;
+						}
+						buffer.compact();
+						while (buffer.position() < length) {
+								if (channel.read(buffer) < 0) {
+										throw new EOFException("Snapshot ends unexpectedly");
+								}
+						}
+						buffer.flip();
+				}
+		}
+
+		/**
+		 * Buffers writes to a channel using a single reusable direct buffer.
+		 */
+		private static final class Output {
+
+				private final FileChannel channel;
+				private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+				Output(FileChannel channel) {
+						this.channel = channel;
+				}
+
+				Output putInt(int value) throws IOException {
+						ensureRemaining(Integer.BYTES);
+						buffer.putInt(value);
+						return this;
+				}
+
+				Output putLong(long value) throws IOException {
+						ensureRemaining(Long.BYTES);
+						buffer.putLong(value);
+						return this;
+				}
+
+				Output putByte(byte value) throws IOException {
+						ensureRemaining(1);
+						buffer.put(value);
+						return this;
+				}
+
+				void putString(String value) throws IOException {
+						var bytes = value.getBytes(StandardCharsets.UTF_8);
+						putInt(bytes.length);
+						var offset = 0;
+						while (offset < bytes.length) {
+								ensureRemaining(1);
+								var length = Math.min(buffer.remaining(), bytes.length - offset);
+								buffer.put(bytes, offset, length);
+								offset += length;
+						}
+				}
+
+				void flush() throws IOException {
+						buffer.flip();
+						while (buffer.hasRemaining()) {
+								channel.write(buffer);
+						}
+						buffer.clear();
+				}
+
+				private void ensureRemaining(int length) throws IOException {
+						if (buffer.remaining() < length) {
+								flush();
+						}
+				}
+		}
+}
@@ -0,0 +1,137 @@
+package pl.msocha.spacexrepository.manifest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Records parsed from a part of a manifest holding whole lines.
+ * Line numbers are counted from 1 at the beginning of a chunk, until chunk is placed in a manifest with {@link #place(long)}.
+ */
+final class ManifestChunk {
+
+		final List<RocketLine> rockets = new ArrayList<>();
+		final List<MissionLine> missions = new ArrayList<>();
+		final List<AssignmentLine> assignments = new ArrayList<>();
+		final List<ManifestLoadReport.RejectedLine> rejectedLines = new ArrayList<>();
+		private final ReentrantLock rejectLock = new ReentrantLock();
+		long lineCount;
+		long precedingLines;
+
+		private ManifestChunk() {
+		}
+
+		/**
+		 * @param buffer Buffer holding whole lines, read from its position to its limit
+		 * @param format Format of lines
+		 * @return Parsed records and rejected lines of a chunk
+		 */
+		static ManifestChunk parse(ByteBuffer buffer, ManifestFormat format) {
+				var chunk = new ManifestChunk();
+				var bytes = new byte[256];
+				var start = buffer.position();
+				while (start < buffer.limit()) {
+						var end = start;
+						while (end < buffer.limit() && buffer.get(end) != '\n') {
+								end++;
+						}
+						var length = end - start;
+						if (length > 0 && buffer.get(end - 1) == '\r') {
+								length--;
+						}
+						if (length > bytes.length) {
+								bytes = new byte[Math.max(length, 2 * bytes.length)];
+						}
+						buffer.get(start, bytes, 0, length);
+						chunk.lineCount++;
+						if (length > 0) {
+								chunk.parseLine(new String(bytes, 0, length, StandardCharsets.UTF_8), format);
+						}
+						start = end + 1;
+				}
+				return chunk;
+		}
+
+		/**
+		 * Converts line numbers of a chunk to line numbers of a manifest.
+		 * @param precedingLines Number of manifest lines before a chunk
+		 */
+		void place(long precedingLines) {
+				this.precedingLines = precedingLines;
+				rejectedLines.replaceAll(rejected -> new ManifestLoadReport.RejectedLine(rejected.lineNumber() + precedingLines, rejected.reason()));
+		}
+
+		/**
+		 * Rejects a line while records are applied, possibly by many threads at once.
+		 * @param line Line number of a record within a chunk
+		 * @param reason Reason of rejection
+		 */
+		void reject(long line, String reason) {
+				rejectLock.lock();
+				try {
+						rejectedLines.add(new ManifestLoadReport.RejectedLine(precedingLines + line, reason));
+				} finally {
+						rejectLock.unlock();
+				}
+		}
+
+		private void parseLine(String line, ManifestFormat format) {
+				try {
+						var fields = format.fields(line);
+						var type = fields[0];
+						if (ManifestFormat.HEADER.equals(type)) {
+								return;
+						}
+						if (ManifestFormat.ASSIGNMENT.equals(type)) {
+								require(fields[1], "Rocket key");
+								require(fields[2], "Mission key");
+								assignments.add(new AssignmentLine(lineCount, fields[1], fields[2]));
+						} else if (ManifestFormat.ROCKET.equals(type)) {
+								require(fields[1], "Rocket key");
+								require(fields[2], "Rocket name");
+								var status = fields[3] == null ? null : status(RocketStatus.class, fields[3], "Rocket");
+								rockets.add(new RocketLine(lineCount, fields[1], fields[2], status));
+						} else if (ManifestFormat.MISSION.equals(type)) {
+								require(fields[1], "Mission key");
+								require(fields[2], "Mission name");
+								var status = fields[3] == null ? null : status(MissionStatus.class, fields[3], "Mission");
+								missions.add(new MissionLine(lineCount, fields[1], fields[2], status));
+						} else {
+								throw new IllegalArgumentException("Unknown record type [%s]".formatted(type));
+						}
+				} catch (IllegalArgumentException e) {
+						rejectedLines.add(new ManifestLoadReport.RejectedLine(lineCount, e.getMessage()));
+				}
+		}
+
+		private static void require(String field, String name) {
+				if (field == null || field.isBlank()) {
+						throw new IllegalArgumentException("%s must not be empty".formatted(name));
+				}
+		}
+
+		private static <S extends Enum<S>> S status(Class<S> statusType, String status, String entity) {
+				for (var constant : statusType.getEnumConstants()) {
+						if (constant.name().equals(status)) {
+								return constant;
+						}
+				}
+				throw new IllegalArgumentException("Unknown %s status [%s]".formatted(entity, status));
+		}
+
+		/**
+		 * @param line Line number of a record within a chunk
+		 */
+		record RocketLine(long line, String key, String name, RocketStatus status) {
+		}
+
+		record MissionLine(long line, String key, String name, MissionStatus status) {
+		}
+
+		record AssignmentLine(long line, String rocketKey, String missionKey) {
+		}
+}
@@ -0,0 +1,194 @@
+package pl.msocha.spacexrepository.manifest;
+
+import java.util.HashMap;
+
+/**
+ * Line formats of fleet manifests. Every line describes one record:
+ * <pre>
+ * rocket:     type "rocket", key, name, optional status
+ * mission:    type "mission", key, name, optional status
+ * assignment: type "assign", Rocket key, Mission key
+ * </pre>
+ * Keys are local to a manifest and only link assignments to Rockets and Missions, repository generates identifiers as usual.
+ */
+public enum ManifestFormat {
+
+		/**
+		 * Comma separated fields in the order above, fields with commas or quotes are quoted with {@code "}, quotes doubled.
+		 * Line starting with {@code type} field is a header and is skipped.
+		 */
+		CSV {
+				@Override
+				String[] fields(String line) {
+						var fields = new String[FIELD_COUNT];
+						var field = new StringBuilder();
+						var count = 0;
+						var quoted = false;
+						for (int i = 0; i < line.length(); i++) {
+								var c = line.charAt(i);
+								if (quoted) {
+										if (c != '"') {
+												field.append(c);
+										} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+												field.append(c);
+												i++;
+										} else {
+												quoted = false;
+										}
+								} else if (c == '"' && field.isEmpty()) {
+										quoted = true;
+								} else if (c == ',') {
+										count = add(fields, count, field);
+								} else {
+										field.append(c);
+								}
+						}
+						if (quoted) {
+								throw new IllegalArgumentException("Unterminated quoted field");
+						}
+						add(fields, count, field);
+						return fields;
+				}
+
+				private static int add(String[] fields, int count, StringBuilder field) {
+						if (count == FIELD_COUNT) {
+								throw new IllegalArgumentException("Too many fields");
+						}
+						fields[count] = field.isEmpty() ? null : field.toString();
+						field.setLength(0);
+						return count + 1;
+				}
+		},
+
+		/**
+		 * One flat JSON object per line with string values, for example
+		 * {@code {"type":"rocket","key":"r1","name":"Dragon 1","status":"IN_SPACE"}} or {@code {"type":"assign","rocket":"r1","mission":"m1"}}.
+		 */
+		JSONL {
+				@Override
+				String[] fields(String line) {
+						var values = new JsonObjectParser(line).parse();
+						var type = values.get("type");
+						if (ASSIGNMENT.equals(type)) {
+								return new String[] {type, values.get("rocket"), values.get("mission"), null};
+						}
+						return new String[] {type, values.get("key"), values.get("name"), values.get("status")};
+				}
+		};
+
+		static final String ROCKET = "rocket";
+		static final String MISSION = "mission";
+		static final String ASSIGNMENT = "assign";
+		static final String HEADER = "type";
+		static final int FIELD_COUNT = 4;
+
+		/**
+		 * @param line Line without line terminator
+		 * @return Type and up to three fields of a record, null for missing or empty fields
+		 */
+		abstract String[] fields(String line);
+
+		/**
+		 * Parser of a single flat object with string or null values.
+		 */
+		private static final class JsonObjectParser {
+
+				private final String json;
+				private int position;
+
+				JsonObjectParser(String json) {
+						this.json = json;
+				}
+
+				HashMap<String, String> parse() {
+						var values = new HashMap<String, String>();
+						expect('{');
+						if (peek() == '}') {
+								position++;
+						} else {
+								do {
+										var name = string();
+										expect(':');
+										values.put(name, value());
+								} while (next() == ',');
+								position--;
+								expect('}');
+						}
+						if (peek() != 0) {
+								throw new IllegalArgumentException("Unexpected content after JSON object");
+						}
+						return values;
+				}
+
+				private String value() {
+						if (peek() == '"') {
+								return string();
+						}
+						if (json.startsWith("null", position)) {
+								position += 4;
+								return null;
+						}
+						throw new IllegalArgumentException("Only string and null values are supported");
+				}
+
+				private String string() {
+						expect('"');
+						var value = new StringBuilder();
+						while (true) {
+								if (position >= json.length()) {
+										throw new IllegalArgumentException("Unterminated JSON string");
+								}
+								var c = json.charAt(position++);
+								if (c == '"') {
+										return value.toString();
+								}
+								if (c != '\\') {
+										value.append(c);
+										continue;
+								}
+								if (position >= json.length()) {
+										throw new IllegalArgumentException("Unterminated JSON string");
+								}
+								var escaped = json.charAt(position++);
+								switch (escaped) {
+										case '"', '\\', '/' -> value.append(escaped);
+										case 'b' -> value.append('\b');
+										case 'f' -> value.append('\f');
+										case 'n' -> value.append('\n');
+										case 'r' -> value.append('\r');
+										case 't' -> value.append('\t');
+										case 'u' -> {
+												if (position + 4 > json.length()) {
+														throw new IllegalArgumentException("Invalid JSON escape");
+												}
+												value.append((char) Integer.parseInt(json, position, position + 4, 16));
+												position += 4;
+										}
+										default -> throw new IllegalArgumentException("Invalid JSON escape");
+								}
+						}
+				}
+
+				private void expect(char expected) {
+						if (next() != expected) {
+								throw new IllegalArgumentException("Expected [%s] at position %d".formatted(expected, position - 1));
+						}
+				}
+
+				private char next() {
+						var c = peek();
+						position++;
+						return c;
+				}
+
+				/**
+				 * @return Next character which is not a white space, 0 at the end of line
+				 */
+				private char peek() {
+						while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+								position++;
+						}
+						return position < json.length() ? json.charAt(position) : 0;
+				}
+		}
+}
@@ -0,0 +1,33 @@
+package pl.msocha.spacexrepository.manifest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of loading a manifest.
+ * @param lines Number of read lines, including empty and rejected ones
+ * @param rockets Number of added Rockets
+ * @param missions Number of added Missions
+ * @param assignments Number of Rockets assigned to Missions
+ * @param statusChanges Number of Rocket and Mission statuses set
+ * @param rejectedLines Lines that were not applied, ordered by line number
+ * @param elapsed Time of reading, parsing and applying manifest
+ */
+public record ManifestLoadReport(long lines, int rockets, int missions, int assignments, int statusChanges,
+	List<RejectedLine> rejectedLines, Duration elapsed) {
+
+		/**
+		 * @return Number of lines loaded per second
+		 */
+		public double linesPerSecond() {
+				var nanos = Math.max(elapsed.toNanos(), 1);
+				return lines * 1_000_000_000.0 / nanos;
+		}
+
+		/**
+		 * @param lineNumber Number of a manifest line, starting from 1
+		 * @param reason Reason why line was not applied
+		 */
+		public record RejectedLine(long lineNumber, String reason) {
+		}
+}
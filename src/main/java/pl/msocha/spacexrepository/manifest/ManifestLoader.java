@@ -0,0 +1,365 @@
+package pl.msocha.spacexrepository.manifest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.manifest.ManifestChunk.AssignmentLine;
+import pl.msocha.spacexrepository.manifest.ManifestChunk.MissionLine;
+import pl.msocha.spacexrepository.manifest.ManifestChunk.RocketLine;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Loads fleet manifests into repository.
+ * Manifest file is memory mapped and split into chunks of whole lines, which are parsed in parallel.
+ * Records are applied in phases: Rockets, Missions, assignments, Rocket statuses and Mission statuses, so assignments
+ * may refer to Rockets and Missions defined anywhere in a manifest.
+ * Rockets, Missions and their statuses are applied in batches through bulk repository operations, which validate
+ * a whole batch first and wait for its journal records once. Assignments are grouped by Mission and applied with bulk
+ * assignment, which adds all Rockets of a Mission with a single change, so loading a Mission takes time linear
+ * in number of its Rockets.
+ * Lines that fail parsing or validation are rejected and reported, the rest of a manifest is still applied.
+ */
+public final class ManifestLoader {
+
+		private static final long MIN_CHUNK_SIZE = 1 << 20;
+		private static final long MAX_CHUNK_SIZE = 64 << 20;
+		private static final int DEFAULT_BATCH_SIZE = 10_000;
+		private static final String CLAIMED = "";
+
+		private final SpaceXRepository repository;
+		private final ForkJoinPool pool;
+		private final long maxChunkSize;
+		private final int batchSize;
+
+		/**
+		 * @param repository Repository to load manifests into
+		 */
+		public ManifestLoader(SpaceXRepository repository) {
+				this(repository, ForkJoinPool.commonPool());
+		}
+
+		/**
+		 * @param repository Repository to load manifests into
+		 * @param pool Pool manifests are parsed and applied in
+		 */
+		public ManifestLoader(SpaceXRepository repository, ForkJoinPool pool) {
+				this(repository, pool, MAX_CHUNK_SIZE, DEFAULT_BATCH_SIZE);
+		}
+
+		ManifestLoader(SpaceXRepository repository, ForkJoinPool pool, long maxChunkSize, int batchSize) {
+				this.repository = repository;
+				this.pool = pool;
+				this.maxChunkSize = maxChunkSize;
+				this.batchSize = batchSize;
+		}
+
+		/**
+		 * Loads manifest into repository.
+		 * When the same key is defined more than once, one of the definitions is applied and the others are rejected.
+		 * @param path Path of a manifest file
+		 * @param format Format of manifest lines
+		 * @return Counts of applied records, rejected lines and throughput
+		 */
+		public ManifestLoadReport load(Path path, ManifestFormat format) {
+				var started = System.nanoTime();
+				try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+						var buffers = split(channel);
+						return pool.submit(() -> load(buffers, format, started)).join();
+				} catch (IOException e) {
+						throw new UncheckedIOException("Can't load manifest " + path, e);
+				}
+		}
+
+		private ManifestLoadReport load(List<ByteBuffer> buffers, ManifestFormat format, long started) {
+				var chunks = buffers.parallelStream()
+					.map(buffer -> ManifestChunk.parse(buffer, format))
+					.toList();
+				var lines = 0L;
+				for (var chunk : chunks) {
+						chunk.place(lines);
+						lines += chunk.lineCount;
+				}
+
+				var rocketIds = new ConcurrentHashMap<String, String>();
+				var missionIds = new ConcurrentHashMap<String, String>();
+				var addedRockets = chunks.parallelStream()
+					.map(chunk -> addRockets(chunk, rocketIds))
+					.toList();
+				var addedMissions = chunks.parallelStream()
+					.map(chunk -> addMissions(chunk, missionIds))
+					.toList();
+				var assignments = assignRockets(chunks, rocketIds, missionIds);
+				var statusChanges = IntStream.range(0, chunks.size()).parallel()
+					.map(i -> setRocketStatuses(chunks.get(i), addedRockets.get(i)))
+					.sum();
+				statusChanges += IntStream.range(0, chunks.size()).parallel()
+					.map(i -> setMissionStatuses(chunks.get(i), addedMissions.get(i)))
+					.sum();
+
+				var rejectedLines = chunks.stream()
+					.flatMap(chunk -> chunk.rejectedLines.stream())
+					.sorted(Comparator.comparingLong(ManifestLoadReport.RejectedLine::lineNumber))
+					.toList();
+				var rockets = addedRockets.stream().mapToInt(List::size).sum();
+				var missions = addedMissions.stream().mapToInt(List::size).sum();
+				return new ManifestLoadReport(lines, rockets, missions, assignments, statusChanges, rejectedLines,
+					Duration.ofNanos(System.nanoTime() - started));
+		}
+
+		/**
+		 * Maps manifest in chunks ending at line boundaries, sized so that every thread of a pool gets a few of them.
+		 */
+		private List<ByteBuffer> split(FileChannel channel) throws IOException {
+				var size = channel.size();
+				var chunkSize = Math.min(maxChunkSize, Math.max(MIN_CHUNK_SIZE, size / (4L * pool.getParallelism())));
+				var buffers = new ArrayList<ByteBuffer>();
+				var start = 0L;
+				while (start < size) {
+						var length = (int) Math.min(chunkSize, size - start);
+						var buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+						if (start + length < size) {
+								var lineEnd = length - 1;
+								while (lineEnd >= 0 && buffer.get(lineEnd) != '\n') {
+										lineEnd--;
+								}
+								if (lineEnd < 0) {
+										throw new IOException("Line starting at byte %d is longer than %d bytes".formatted(start, chunkSize));
+								}
+								length = lineEnd + 1;
+								buffer.limit(length);
+						}
+						buffers.add(buffer);
+						start += length;
+				}
+				return buffers;
+		}
+
+		private List<AddedRocket> addRockets(ManifestChunk chunk, Map<String, String> rocketIds) {
+				var added = new ArrayList<AddedRocket>(chunk.rockets.size());
+				var batch = new ArrayList<RocketLine>(Math.min(batchSize, chunk.rockets.size()));
+				for (var line : chunk.rockets) {
+						if (rocketIds.putIfAbsent(line.key(), CLAIMED) != null) {
+								chunk.reject(line.line(), "Duplicate Rocket key [%s]".formatted(line.key()));
+								continue;
+						}
+						batch.add(line);
+						if (batch.size() == batchSize) {
+								addRocketBatch(chunk, batch, rocketIds, added);
+								batch.clear();
+						}
+				}
+				if (!batch.isEmpty()) {
+						addRocketBatch(chunk, batch, rocketIds, added);
+				}
+				return added;
+		}
+
+		private void addRocketBatch(ManifestChunk chunk, List<RocketLine> batch, Map<String, String> rocketIds, List<AddedRocket> added) {
+				try {
+						var ids = repository.addRockets(batch.stream().map(RocketLine::name).toList());
+						for (int i = 0; i < batch.size(); i++) {
+								rocketIds.put(batch.get(i).key(), ids.get(i));
+								added.add(new AddedRocket(batch.get(i), ids.get(i)));
+						}
+				} catch (RuntimeException e) {
+						for (var line : batch) {
+								rocketIds.remove(line.key());
+								chunk.reject(line.line(), e.getMessage());
+						}
+				}
+		}
+
+		private List<AddedMission> addMissions(ManifestChunk chunk, Map<String, String> missionIds) {
+				var added = new ArrayList<AddedMission>(chunk.missions.size());
+				var batch = new ArrayList<MissionLine>(Math.min(batchSize, chunk.missions.size()));
+				for (var line : chunk.missions) {
+						if (missionIds.putIfAbsent(line.key(), CLAIMED) != null) {
+								chunk.reject(line.line(), "Duplicate Mission key [%s]".formatted(line.key()));
+								continue;
+						}
+						batch.add(line);
+						if (batch.size() == batchSize) {
+								addMissionBatch(chunk, batch, missionIds, added);
+								batch.clear();
+						}
+				}
+				if (!batch.isEmpty()) {
+						addMissionBatch(chunk, batch, missionIds, added);
+				}
+				return added;
+		}
+
+		private void addMissionBatch(ManifestChunk chunk, List<MissionLine> batch, Map<String, String> missionIds, List<AddedMission> added) {
+				try {
+						var ids = repository.addMissions(batch.stream().map(MissionLine::name).toList());
+						for (int i = 0; i < batch.size(); i++) {
+								missionIds.put(batch.get(i).key(), ids.get(i));
+								added.add(new AddedMission(batch.get(i), ids.get(i)));
+						}
+				} catch (RuntimeException e) {
+						for (var line : batch) {
+								missionIds.remove(line.key());
+								chunk.reject(line.line(), e.getMessage());
+						}
+				}
+		}
+
+		/**
+		 * Groups assignments by Mission and applies them with bulk assignment, in as many slices of Missions as pool
+		 * has threads. Every Mission gets all of its Rockets with a single change.
+		 */
+		private int assignRockets(List<ManifestChunk> chunks, Map<String, String> rocketIds, Map<String, String> missionIds) {
+				var assignmentsByMissionId = chunks.parallelStream()
+					.flatMap(chunk -> chunk.assignments.stream()
+						.map(line -> resolve(chunk, line, rocketIds, missionIds))
+						.filter(Objects::nonNull))
+					.collect(Collectors.groupingByConcurrent(ResolvedAssignment::missionId));
+				var missionAssignments = List.copyOf(assignmentsByMissionId.values());
+				var slices = Math.min(missionAssignments.size(), pool.getParallelism());
+				return IntStream.range(0, slices).parallel()
+					.map(slice -> assignSlice(missionAssignments.subList(
+						slice * missionAssignments.size() / slices, (slice + 1) * missionAssignments.size() / slices)))
+					.sum();
+		}
+
+		private int assignSlice(List<List<ResolvedAssignment>> missionAssignments) {
+				var rocketIdsByMissionId = new LinkedHashMap<String, List<String>>();
+				var lines = 0;
+				for (var assignments : missionAssignments) {
+						rocketIdsByMissionId.put(assignments.get(0).missionId(), assignments.stream().map(ResolvedAssignment::rocketId).toList());
+						lines += assignments.size();
+				}
+				var rejections = repository.assignRocketsToMissions(rocketIdsByMissionId);
+				if (rejections.isEmpty()) {
+						return lines;
+				}
+
+				var reasonsByMissionId = new HashMap<String, Map<String, String>>();
+				for (var rejection : rejections) {
+						reasonsByMissionId.computeIfAbsent(rejection.getMissionId(), missionId -> new HashMap<>())
+							.put(rejection.getRocketId(), rejection.getReason());
+				}
+				var assigned = 0;
+				for (var assignments : missionAssignments) {
+						var reasons = reasonsByMissionId.getOrDefault(assignments.get(0).missionId(), Map.of());
+						for (var assignment : assignments) {
+								var reason = reasons.get(assignment.rocketId());
+								if (reason == null) {
+										assigned++;
+								} else {
+										assignment.chunk().reject(assignment.line(), reason);
+								}
+						}
+				}
+				return assigned;
+		}
+
+		private static ResolvedAssignment resolve(ManifestChunk chunk, AssignmentLine line, Map<String, String> rocketIds, Map<String, String> missionIds) {
+				var rocketId = rocketIds.get(line.rocketKey());
+				var missionId = missionIds.get(line.missionKey());
+				if (rocketId == null) {
+						chunk.reject(line.line(), "Unknown Rocket key [%s]".formatted(line.rocketKey()));
+						return null;
+				}
+				if (missionId == null) {
+						chunk.reject(line.line(), "Unknown Mission key [%s]".formatted(line.missionKey()));
+						return null;
+				}
+				return new ResolvedAssignment(chunk, line.line(), rocketId, missionId);
+		}
+
+		private int setRocketStatuses(ManifestChunk chunk, List<AddedRocket> addedRockets) {
+				var changed = 0;
+				var batch = new LinkedHashMap<String, AddedRocket>();
+				for (var added : addedRockets) {
+						if (added.line().status() == null) {
+								continue;
+						}
+						batch.put(added.rocketId(), added);
+						if (batch.size() == batchSize) {
+								changed += setRocketStatusBatch(chunk, batch);
+								batch.clear();
+						}
+				}
+				if (!batch.isEmpty()) {
+						changed += setRocketStatusBatch(chunk, batch);
+				}
+				return changed;
+		}
+
+		/**
+		 * Changes statuses of a batch at once. Batch is validated before any status is changed, so when it is rejected
+		 * none of its statuses is changed and all its lines are rejected.
+		 */
+		private int setRocketStatusBatch(ManifestChunk chunk, Map<String, AddedRocket> batch) {
+				var newStatuses = new LinkedHashMap<String, RocketStatus>();
+				batch.forEach((rocketId, added) -> newStatuses.put(rocketId, added.line().status()));
+				try {
+						repository.setRocketStatuses(newStatuses);
+						return batch.size();
+				} catch (RuntimeException e) {
+						batch.values().forEach(added -> chunk.reject(added.line().line(), e.getMessage()));
+						return 0;
+				}
+		}
+
+		private int setMissionStatuses(ManifestChunk chunk, List<AddedMission> addedMissions) {
+				var changed = 0;
+				var batch = new LinkedHashMap<String, AddedMission>();
+				for (var added : addedMissions) {
+						if (added.line().status() == null) {
+								continue;
+						}
+						batch.put(added.missionId(), added);
+						if (batch.size() == batchSize) {
+								changed += setMissionStatusBatch(chunk, batch);
+								batch.clear();
+						}
+				}
+				if (!batch.isEmpty()) {
+						changed += setMissionStatusBatch(chunk, batch);
+				}
+				return changed;
+		}
+
+		private int setMissionStatusBatch(ManifestChunk chunk, Map<String, AddedMission> batch) {
+				var newStatuses = new LinkedHashMap<String, MissionStatus>();
+				batch.forEach((missionId, added) -> newStatuses.put(missionId, added.line().status()));
+				try {
+						var rejections = repository.setMissionStatuses(newStatuses);
+						for (var rejection : rejections) {
+								chunk.reject(batch.get(rejection.getMissionId()).line().line(), rejection.getReason());
+						}
+						return batch.size() - rejections.size();
+				} catch (RuntimeException e) {
+						batch.values().forEach(added -> chunk.reject(added.line().line(), e.getMessage()));
+						return 0;
+				}
+		}
+
+		private record AddedRocket(RocketLine line, String rocketId) {
+		}
+
+		private record AddedMission(MissionLine line, String missionId) {
+		}
+
+		private record ResolvedAssignment(ManifestChunk chunk, long line, String rocketId, String missionId) {
+		}
+}
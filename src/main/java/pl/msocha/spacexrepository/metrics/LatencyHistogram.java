@@ -0,0 +1,76 @@
+package pl.msocha.spacexrepository.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent histogram of latencies with log-linear buckets.
+ * Each power of two range is split into 8 buckets, so recording is a single atomic increment and
+ * bucket boundaries are within 1/8 of any recorded value.
+ */
+class LatencyHistogram {
+
+		private static final int SUB_BUCKET_BITS = 3;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+		private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+		private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+		void record(long nanos) {
+				var value = Math.max(nanos, 0);
+				counts.incrementAndGet(bucketOf(value));
+				totalNanos.add(value);
+				maxNanos.accumulate(value);
+		}
+
+		/**
+		 * @return Snapshot of recorded latencies, weakly consistent with concurrent recording
+		 */
+		LatencySnapshot snapshot() {
+				var bucketCounts = new long[BUCKETS];
+				long count = 0;
+				for (int bucket = 0; bucket < BUCKETS; bucket++) {
+						bucketCounts[bucket] = counts.get(bucket);
+						count += bucketCounts[bucket];
+				}
+				if (count == 0) {
+						return LatencySnapshot.EMPTY;
+				}
+				var max = maxNanos.get();
+				return new LatencySnapshot(count, totalNanos.sum() / count, percentile(bucketCounts, count, 0.5, max),
+					percentile(bucketCounts, count, 0.99, max), percentile(bucketCounts, count, 0.999, max), max);
+		}
+
+		private static long percentile(long[] bucketCounts, long count, double quantile, long max) {
+				var rank = (long) Math.ceil(quantile * count);
+				long seen = 0;
+				for (int bucket = 0; bucket < BUCKETS; bucket++) {
+						seen += bucketCounts[bucket];
+						if (seen >= rank) {
+								return Math.min(highestValueOf(bucket), max);
+						}
+				}
+				return max;
+		}
+
+		static int bucketOf(long value) {
+				if (value < SUB_BUCKETS) {
+						return (int) value;
+				}
+				var exponent = 63 - Long.numberOfLeadingZeros(value);
+				var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+				return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+		}
+
+		static long highestValueOf(int bucket) {
+				if (bucket < SUB_BUCKETS) {
+						return bucket;
+				}
+				var shift = bucket / SUB_BUCKETS - 1;
+				var lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+				return lowest + (1L << shift) - 1;
+		}
+}
@@ -0,0 +1,15 @@
+package pl.msocha.spacexrepository.metrics;
+
+/**
+ * Latency distribution recorded until snapshot was taken. Percentiles are accurate to 1/8 of their value.
+ * @param count Number of recorded latencies
+ * @param meanNanos Mean latency
+ * @param p50Nanos Median latency
+ * @param p99Nanos 99th percentile of latency
+ * @param p999Nanos 99.9th percentile of latency
+ * @param maxNanos Maximum latency
+ */
+public record LatencySnapshot(long count, long meanNanos, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+
+		static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,13 @@
+package pl.msocha.spacexrepository.metrics;
+
+import java.util.Map;
+
+/**
+ * Repository metrics recorded until snapshot was taken.
+ * @param operationLatencies Latency of each public operation, including rejected calls
+ * @param lockWait Time spent waiting for Mission locks
+ * @param validationFailures Number of rejected calls by reason
+ */
+public record MetricsSnapshot(Map<Operation, LatencySnapshot> operationLatencies, LatencySnapshot lockWait,
+	Map<ValidationFailure, Long> validationFailures) {
+}
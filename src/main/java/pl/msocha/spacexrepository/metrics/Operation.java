@@ -0,0 +1,32 @@
+package pl.msocha.spacexrepository.metrics;
+
+/**
+ * Public repository operations, which latency is measured.
+ */
+public enum Operation {
+		ADD_ROCKET,
+		ADD_ROCKETS,
+		ADD_MISSION,
+		ADD_MISSIONS,
+		ASSIGN_ROCKET_TO_MISSION,
+		ASSIGN_ROCKETS_TO_MISSION,
+		ASSIGN_ROCKETS_TO_MISSIONS,
+		SET_ROCKET_STATUS,
+		SET_ROCKET_STATUSES,
+		SET_MISSION_STATUS,
+		SET_MISSION_STATUSES,
+		GET_MISSIONS_SUMMARY,
+		GET_MISSIONS_SUMMARY_PAGE,
+		TOP_MISSIONS,
+		VISIT_MISSIONS_SUMMARY,
+		FIND_ROCKETS_BY_STATUS,
+		COUNT_ROCKETS_BY_STATUS,
+		COUNT_MISSION_ROCKETS_BY_STATUS,
+		FIND_MISSIONS_BY_STATUS,
+		COUNT_MISSIONS_BY_STATUS,
+		OPEN_SNAPSHOT,
+		WRITE_SNAPSHOT,
+		GET_MISSIONS_SUMMARY_AS_OF,
+		GET_ROCKET_TIMELINE,
+		GET_MISSION_TIMELINE
+}
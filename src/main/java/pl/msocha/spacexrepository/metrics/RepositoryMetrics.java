@@ -0,0 +1,128 @@
+package pl.msocha.spacexrepository.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Opt-in instrumentation of repository: latency of public operations, time spent waiting for Mission locks and
+ * number of rejected calls by reason.
+ * When disabled, recording methods return immediately without reading the clock.
+ */
+public class RepositoryMetrics implements RepositoryMetricsMXBean {
+
+		private static final String OBJECT_NAME = "pl.msocha.spacexrepository:type=RepositoryMetrics,name=%s";
+
+		private final boolean enabled;
+		private final Map<Operation, LatencyHistogram> operationLatencies = new EnumMap<>(Operation.class);
+		private final LatencyHistogram lockWait = new LatencyHistogram();
+		private final Map<ValidationFailure, LongAdder> validationFailures = new EnumMap<>(ValidationFailure.class);
+
+		public RepositoryMetrics(boolean enabled) {
+				this.enabled = enabled;
+				for (var operation : Operation.values()) {
+						operationLatencies.put(operation, new LatencyHistogram());
+				}
+				for (var failure : ValidationFailure.values()) {
+						validationFailures.put(failure, new LongAdder());
+				}
+		}
+
+		@Override
+		public boolean isEnabled() {
+				return enabled;
+		}
+
+		/**
+		 * @return Start time to pass to {@link #recordOperation(Operation, long)} or {@link #recordLockWait(long)},
+		 * 0 when disabled
+		 */
+		public long start() {
+				return enabled ? System.nanoTime() : 0;
+		}
+
+		/**
+		 * @param operation Finished operation
+		 * @param startNanos Time returned by {@link #start()} when operation has started
+		 */
+		public void recordOperation(Operation operation, long startNanos) {
+				if (enabled) {
+						operationLatencies.get(operation).record(System.nanoTime() - startNanos);
+				}
+		}
+
+		/**
+		 * @param requestedNanos Time returned by {@link #start()} before lock was requested
+		 */
+		public void recordLockWait(long requestedNanos) {
+				if (enabled) {
+						lockWait.record(System.nanoTime() - requestedNanos);
+				}
+		}
+
+		public void recordValidationFailure(ValidationFailure failure) {
+				if (enabled) {
+						validationFailures.get(failure).increment();
+				}
+		}
+
+		/**
+		 * @return Metrics recorded so far, weakly consistent with concurrent recording
+		 */
+		public MetricsSnapshot snapshot() {
+				var latencies = new EnumMap<Operation, LatencySnapshot>(Operation.class);
+				operationLatencies.forEach((operation, histogram) -> latencies.put(operation, histogram.snapshot()));
+				var failures = new EnumMap<ValidationFailure, Long>(ValidationFailure.class);
+				validationFailures.forEach((failure, count) -> failures.put(failure, count.sum()));
+				return new MetricsSnapshot(latencies, lockWait.snapshot(), failures);
+		}
+
+		@Override
+		public Map<String, LatencySnapshot> getOperationLatencies() {
+				var latencies = new LinkedHashMap<String, LatencySnapshot>();
+				operationLatencies.forEach((operation, histogram) -> latencies.put(operation.name(), histogram.snapshot()));
+				return latencies;
+		}
+
+		@Override
+		public LatencySnapshot getLockWait() {
+				return lockWait.snapshot();
+		}
+
+		@Override
+		public Map<String, Long> getValidationFailures() {
+				var failures = new LinkedHashMap<String, Long>();
+				validationFailures.forEach((failure, count) -> failures.put(failure.name(), count.sum()));
+				return failures;
+		}
+
+		/**
+		 * Registers metrics in platform MBean server.
+		 * @param repositoryName Name distinguishing repositories in the same JVM
+		 * @return Name metrics are registered with
+		 */
+		public ObjectName registerMBean(String repositoryName) {
+				try {
+						var objectName = new ObjectName(OBJECT_NAME.formatted(ObjectName.quote(repositoryName)));
+						ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+						return objectName;
+				} catch (JMException e) {
+						throw new IllegalStateException("Can't register metrics of repository [%s]".formatted(repositoryName), e);
+				}
+		}
+
+		/**
+		 * @param objectName Name returned by {@link #registerMBean(String)}
+		 */
+		public void unregisterMBean(ObjectName objectName) {
+				try {
+						ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+				} catch (JMException e) {
+						throw new IllegalStateException("Can't unregister metrics [%s]".formatted(objectName), e);
+				}
+		}
+}
@@ -0,0 +1,26 @@
+package pl.msocha.spacexrepository.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link RepositoryMetrics}.
+ */
+public interface RepositoryMetricsMXBean {
+
+		boolean isEnabled();
+
+		/**
+		 * @return Latency of each public operation by operation name
+		 */
+		Map<String, LatencySnapshot> getOperationLatencies();
+
+		/**
+		 * @return Time spent waiting for Mission locks
+		 */
+		LatencySnapshot getLockWait();
+
+		/**
+		 * @return Number of rejected calls by reason name
+		 */
+		Map<String, Long> getValidationFailures();
+}
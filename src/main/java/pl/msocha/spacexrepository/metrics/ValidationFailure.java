@@ -0,0 +1,27 @@
+package pl.msocha.spacexrepository.metrics;
+
+/**
+ * Reasons for rejecting repository operation.
+ */
+public enum ValidationFailure {
+		/**
+		 * Empty name, identifier, status or other invalid argument
+		 */
+		INVALID_ARGUMENT,
+		ROCKET_NOT_FOUND,
+		MISSION_NOT_FOUND,
+		ROCKET_ALREADY_ASSIGNED,
+		MISSION_ENDED,
+		/**
+		 * Mission to end still has Rockets assigned
+		 */
+		MISSION_HAS_ROCKETS,
+		/**
+		 * Mission to start does not have any Rockets assigned
+		 */
+		MISSION_WITHOUT_ROCKETS,
+		/**
+		 * Mission to start has Rockets IN_REPAIR
+		 */
+		ROCKETS_IN_REPAIR
+}
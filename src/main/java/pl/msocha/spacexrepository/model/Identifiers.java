@@ -0,0 +1,58 @@
+package pl.msocha.spacexrepository.model;
+
+/**
+ * Creates and parses identifiers of Rockets and Missions.
+ * Identifier consists of a prefix followed by positive sequence number, e.g. rocket12.
+ */
+public final class Identifiers {
+
+		public static final String ROCKET_PREFIX = "rocket";
+		public static final String MISSION_PREFIX = "mission";
+
+		private Identifiers() {
+		}
+
+		public static String rocketId(int number) {
+				return ROCKET_PREFIX + number;
+		}
+
+		public static String missionId(int number) {
+				return MISSION_PREFIX + number;
+		}
+
+		/**
+		 * @param rocketId Identifier of a Rocket
+		 * @return Sequence number of a Rocket or -1 when identifier is not in generated format
+		 */
+		public static int rocketNumber(String rocketId) {
+				return number(rocketId, ROCKET_PREFIX);
+		}
+
+		/**
+		 * @param missionId Identifier of a Mission
+		 * @return Sequence number of a Mission or -1 when identifier is not in generated format
+		 */
+		public static int missionNumber(String missionId) {
+				return number(missionId, MISSION_PREFIX);
+		}
+
+		private static int number(String identifier, String prefix) {
+				if (identifier == null || !identifier.startsWith(prefix)) {
+						return -1;
+				}
+				var length = identifier.length();
+				if (length == prefix.length() || length - prefix.length() > 10 || identifier.charAt(prefix.length()) == '0') {
+						return -1;
+				}
+
+				long number = 0;
+				for (int i = prefix.length(); i < length; i++) {
+						var digit = identifier.charAt(i) - '0';
+						if (digit < 0 || digit > 9) {
+								return -1;
+						}
+						number = number * 10 + digit;
+				}
+				return number > Integer.MAX_VALUE ? -1 : (int) number;
+		}
+}
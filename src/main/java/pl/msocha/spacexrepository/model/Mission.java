@@ -1,6 +1,6 @@
 package pl.msocha.spacexrepository.model;
 
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,6 +13,9 @@ public class Mission {
 
 		final String id;
 		final String name;
+		/**
+		 * Identifiers of assigned Rockets, iteration sees a stable snapshot
+		 */
 		final Set<String> rocketIds;
 		@Setter
 		MissionStatus status;
@@ -20,7 +23,17 @@ public class Mission {
 		public Mission(String id, String name) {
 				this.id = id;
 				this.name = name;
-				this.rocketIds = new HashSet<>();
+				this.rocketIds = new RocketIdSet();
+				this.status = MissionStatus.SCHEDULED;
+		}
+
+		/**
+		 * Creates Mission over Rocket identifiers kept by storage
+		 */
+		protected Mission(String id, String name, Set<String> rocketIds) {
+				this.id = id;
+				this.name = name;
+				this.rocketIds = rocketIds;
 				this.status = MissionStatus.SCHEDULED;
 		}
 
@@ -31,4 +44,12 @@ public class Mission {
 		public void addRocket(String rocketId) {
 				rocketIds.add(rocketId);
 		}
+
+		/**
+		 * Adds new rockets to Mission with a single change of its Rocket identifiers
+		 * @param rocketIds ids of added rockets
+		 */
+		public void addRockets(Collection<String> rocketIds) {
+				this.rocketIds.addAll(rocketIds);
+		}
 }
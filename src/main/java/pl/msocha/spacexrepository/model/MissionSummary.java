@@ -5,7 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 /**
- * Represents a summary of a Mission
+ * Represents a summary of a Mission.
+ * Summary is immutable, so it can be shared between summary calls.
  */
 @Getter
 @AllArgsConstructor
@@ -13,5 +14,5 @@ public class MissionSummary {
 
 		final String missionName;
 		final Set<RocketSummary> rockets;
-		MissionStatus missionStatus;
+		final MissionStatus missionStatus;
 }
@@ -0,0 +1,19 @@
+package pl.msocha.spacexrepository.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a page of Missions summary
+ */
+@Getter
+@AllArgsConstructor
+public class MissionSummaryPage {
+
+		final List<MissionSummary> missionSummaries;
+		/**
+		 * Cursor of the next page, null when there are no more Missions
+		 */
+		final String nextCursor;
+}
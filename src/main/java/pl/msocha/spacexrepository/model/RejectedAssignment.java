@@ -0,0 +1,19 @@
+package pl.msocha.spacexrepository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents an assignment of a Rocket to a Mission rejected by bulk assignment
+ */
+@Getter
+@AllArgsConstructor
+public class RejectedAssignment {
+
+		final String missionId;
+		/**
+		 * Identifier of rejected Rocket, null when Rockets of a Mission were not given
+		 */
+		final String rocketId;
+		final String reason;
+}
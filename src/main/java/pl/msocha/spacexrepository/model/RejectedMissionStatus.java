@@ -0,0 +1,16 @@
+package pl.msocha.spacexrepository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a change of Mission status rejected by bulk status change
+ */
+@Getter
+@AllArgsConstructor
+public class RejectedMissionStatus {
+
+		final String missionId;
+		final MissionStatus newStatus;
+		final String reason;
+}
@@ -1,5 +1,7 @@
 package pl.msocha.spacexrepository.model;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +11,16 @@ import lombok.Setter;
 @Getter
 public class Rocket {
 
+		private static final VarHandle MISSION_ID;
+
+		static {
+				try {
+						MISSION_ID = MethodHandles.lookup().findVarHandle(Rocket.class, "missionId", String.class);
+				} catch (ReflectiveOperationException e) {
+						throw new ExceptionInInitializerError(e);
+				}
+		}
+
 		final String id;
 		final String name;
 		@Setter
@@ -22,4 +34,21 @@ public class Rocket {
 				this.status = RocketStatus.ON_GROUND;
 				this.missionId = null;
 		}
+
+		/**
+		 * Atomically assigns Rocket to a Mission, if Rocket is not assigned to any Mission yet
+		 * @param missionId id of a Mission to assign Rocket to
+		 * @return true if Rocket was assigned, false if Rocket is already assigned to a Mission
+		 */
+		public boolean assignMission(String missionId) {
+				return MISSION_ID.compareAndSet(this, null, missionId);
+		}
+
+		/**
+		 * Atomically removes assignment of a Rocket to given Mission
+		 * @param missionId id of a Mission Rocket is assigned to
+		 */
+		public void releaseMission(String missionId) {
+				MISSION_ID.compareAndSet(this, missionId, null);
+		}
 }
@@ -0,0 +1,355 @@
+package pl.msocha.spacexrepository.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Thread-safe set of Rocket identifiers stored as sorted array of Rocket numbers.
+ * Every change replaces the array with CAS, so readers never lock and each iteration sees a stable snapshot.
+ * Identifiers not in generated format are kept as they are in a separate array.
+ * Takes 4 bytes per generated identifier, at the cost of copying the array on every change,
+ * so many identifiers should be added with {@link #addAll(Collection)}, which copies the array once.
+ */
+public final class RocketIdSet extends AbstractSet<String> {
+
+		private static final VarHandle STATE;
+
+		static {
+				try {
+						STATE = MethodHandles.lookup().findVarHandle(RocketIdSet.class, "state", State.class);
+				} catch (ReflectiveOperationException e) {
+						throw new ExceptionInInitializerError(e);
+				}
+		}
+
+		private volatile State state = State.EMPTY;
+
+		@Override
+		public boolean add(String rocketId) {
+				Objects.requireNonNull(rocketId);
+				var number = Identifiers.rocketNumber(rocketId);
+				while (true) {
+						var current = state;
+						State updated;
+						if (number >= 0) {
+								var index = Arrays.binarySearch(current.numbers, number);
+								if (index >= 0) {
+										return false;
+								}
+								updated = new State(inserted(current.numbers, -index - 1, number), current.others);
+						} else {
+								if (indexOf(current.others, rocketId) >= 0) {
+										return false;
+								}
+								var others = Arrays.copyOf(current.others, current.others.length + 1);
+								others[current.others.length] = rocketId;
+								updated = new State(current.numbers, others);
+						}
+						if (STATE.compareAndSet(this, current, updated)) {
+								return true;
+						}
+				}
+		}
+
+		/**
+		 * Adds identifiers with a single change. Rocket numbers are sorted once and merged into the array,
+		 * so adding n identifiers to a set of m copies n + m numbers instead of n times m.
+		 */
+		@Override
+		public boolean addAll(Collection<? extends String> rocketIds) {
+				int[] addedNumbers;
+				String[] addedOthers;
+				if (rocketIds instanceof RocketIdSet other) {
+						var otherState = other.state;
+						addedNumbers = otherState.numbers;
+						addedOthers = otherState.others;
+				} else {
+						var ids = rocketIds.toArray(new String[0]);
+						addedNumbers = new int[ids.length];
+						addedOthers = new String[0];
+						var numberCount = 0;
+						for (var rocketId : ids) {
+								var number = Identifiers.rocketNumber(Objects.requireNonNull(rocketId));
+								if (number >= 0) {
+										addedNumbers[numberCount++] = number;
+								} else if (indexOf(addedOthers, rocketId) < 0) {
+										addedOthers = Arrays.copyOf(addedOthers, addedOthers.length + 1);
+										addedOthers[addedOthers.length - 1] = rocketId;
+								}
+						}
+						Arrays.sort(addedNumbers, 0, numberCount);
+						addedNumbers = distinct(addedNumbers, numberCount);
+				}
+				while (true) {
+						var current = state;
+						var numbers = merged(current.numbers, addedNumbers);
+						var others = current.others;
+						for (var rocketId : addedOthers) {
+								if (indexOf(others, rocketId) < 0) {
+										others = Arrays.copyOf(others, others.length + 1);
+										others[others.length - 1] = rocketId;
+								}
+						}
+						if (numbers == current.numbers && others == current.others) {
+								return false;
+						}
+						if (STATE.compareAndSet(this, current, new State(numbers, others))) {
+								return true;
+						}
+				}
+		}
+
+		@Override
+		public boolean remove(Object rocketId) {
+				if (!(rocketId instanceof String id)) {
+						return false;
+				}
+				var number = Identifiers.rocketNumber(id);
+				while (true) {
+						var current = state;
+						State updated;
+						if (number >= 0) {
+								var index = Arrays.binarySearch(current.numbers, number);
+								if (index < 0) {
+										return false;
+								}
+								updated = new State(removed(current.numbers, index), current.others);
+						} else {
+								var index = indexOf(current.others, id);
+								if (index < 0) {
+										return false;
+								}
+								var others = new String[current.others.length - 1];
+								System.arraycopy(current.others, 0, others, 0, index);
+								System.arraycopy(current.others, index + 1, others, index, others.length - index);
+								updated = new State(current.numbers, others);
+						}
+						if (STATE.compareAndSet(this, current, updated)) {
+								return true;
+						}
+				}
+		}
+
+		@Override
+		public boolean contains(Object rocketId) {
+				return state.contains(rocketId);
+		}
+
+		@Override
+		public int size() {
+				return state.size();
+		}
+
+		@Override
+		public void clear() {
+				state = State.EMPTY;
+		}
+
+		/**
+		 * Visits snapshot of identifiers, in order of Rocket numbers, without creating an iterator
+		 */
+		@Override
+		public void forEach(Consumer<? super String> action) {
+				var snapshot = state;
+				for (var number : snapshot.numbers) {
+						action.accept(Identifiers.rocketId(number));
+				}
+				for (var rocketId : snapshot.others) {
+						action.accept(rocketId);
+				}
+		}
+
+		/**
+		 * Visits snapshot of identifiers, in order of Rocket numbers, without creating identifiers in generated format
+		 * @param numberAction Action called with Rocket number of every identifier in generated format
+		 * @param otherAction Action called with every other identifier
+		 */
+		public void forEachNumber(IntConsumer numberAction, Consumer<? super String> otherAction) {
+				var snapshot = state;
+				for (var number : snapshot.numbers) {
+						numberAction.accept(number);
+				}
+				for (var rocketId : snapshot.others) {
+						otherAction.accept(rocketId);
+				}
+		}
+
+		/**
+		 * @return Iterator over snapshot of identifiers, in order of Rocket numbers
+		 */
+		@Override
+		public Iterator<String> iterator() {
+				return new SnapshotIterator(state);
+		}
+
+		/**
+		 * @return Read-only set of identifiers this set holds now, not affected by later changes
+		 */
+		public Set<String> snapshot() {
+				var snapshot = state;
+				return new AbstractSet<>() {
+						@Override
+						public boolean contains(Object rocketId) {
+								return snapshot.contains(rocketId);
+						}
+
+						@Override
+						public int size() {
+								return snapshot.size();
+						}
+
+						@Override
+						public Iterator<String> iterator() {
+								return new SnapshotIterator(snapshot) {
+										@Override
+										public void remove() {
+												throw new UnsupportedOperationException();
+										}
+								};
+						}
+				};
+		}
+
+		@Override
+		public Spliterator<String> spliterator() {
+				var snapshot = state;
+				return Spliterators.spliterator(new SnapshotIterator(snapshot), snapshot.size(),
+					Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+		}
+
+		private static int[] inserted(int[] numbers, int index, int number) {
+				var result = new int[numbers.length + 1];
+				System.arraycopy(numbers, 0, result, 0, index);
+				result[index] = number;
+				System.arraycopy(numbers, index, result, index + 1, numbers.length - index);
+				return result;
+		}
+
+		/**
+		 * @return Distinct numbers of sorted prefix of given length
+		 */
+		private static int[] distinct(int[] sorted, int length) {
+				var count = 0;
+				for (int i = 0; i < length; i++) {
+						if (count == 0 || sorted[count - 1] != sorted[i]) {
+								sorted[count++] = sorted[i];
+						}
+				}
+				return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+		}
+
+		/**
+		 * @return Sorted union of sorted distinct numbers, the first array itself when it already holds all of them
+		 */
+		private static int[] merged(int[] numbers, int[] added) {
+				var newCount = 0;
+				var i = 0;
+				for (var number : added) {
+						while (i < numbers.length && numbers[i] < number) {
+								i++;
+						}
+						if (i == numbers.length || numbers[i] != number) {
+								newCount++;
+						}
+				}
+				if (newCount == 0) {
+						return numbers;
+				}
+				var result = new int[numbers.length + newCount];
+				i = 0;
+				var j = 0;
+				for (int k = 0; k < result.length; k++) {
+						if (j == added.length || i < numbers.length && numbers[i] <= added[j]) {
+								if (j < added.length && numbers[i] == added[j]) {
+										j++;
+								}
+								result[k] = numbers[i++];
+						} else {
+								result[k] = added[j++];
+						}
+				}
+				return result;
+		}
+
+		private static int[] removed(int[] numbers, int index) {
+				var result = new int[numbers.length - 1];
+				System.arraycopy(numbers, 0, result, 0, index);
+				System.arraycopy(numbers, index + 1, result, index, result.length - index);
+				return result;
+		}
+
+		private static int indexOf(String[] others, String rocketId) {
+				for (int i = 0; i < others.length; i++) {
+						if (others[i].equals(rocketId)) {
+								return i;
+						}
+				}
+				return -1;
+		}
+
+		private record State(int[] numbers, String[] others) {
+
+				static final State EMPTY = new State(new int[0], new String[0]);
+
+				int size() {
+						return numbers.length + others.length;
+				}
+
+				boolean contains(Object rocketId) {
+						if (!(rocketId instanceof String id)) {
+								return false;
+						}
+						var number = Identifiers.rocketNumber(id);
+						return number >= 0 ? Arrays.binarySearch(numbers, number) >= 0 : indexOf(others, id) >= 0;
+				}
+		}
+
+		private class SnapshotIterator implements Iterator<String> {
+
+				private final State snapshot;
+				private int position;
+				private String last;
+
+				SnapshotIterator(State snapshot) {
+						this.snapshot = snapshot;
+				}
+
+				@Override
+				public boolean hasNext() {
+						return position < snapshot.size();
+				}
+
+				@Override
+				public String next() {
+						if (!hasNext()) {
+								throw new NoSuchElementException();
+						}
+						var numbers = snapshot.numbers;
+						last = position < numbers.length
+							? Identifiers.rocketId(numbers[position])
+							: snapshot.others[position - numbers.length];
+						position++;
+						return last;
+				}
+
+				@Override
+				public void remove() {
+						if (last == null) {
+								throw new IllegalStateException();
+						}
+						RocketIdSet.this.remove(last);
+						last = null;
+				}
+		}
+}
@@ -0,0 +1,494 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Rocket storage keyed by sequence number of Rocket identifier.
+ * Rockets are kept as struct-of-arrays in fixed size chunks: state packing status with Mission number, and name reference
+ * packing name index with its generation, so no String key, map node or Rocket object is held per Rocket.
+ * State is changed by compare-and-set as a whole, so conditional map operations compare against state no view can tear.
+ * Rockets returned from the store are stateless views, changes made through them are written to the store.
+ * Views of recently read Rockets are cached in a small table, so repeated reads of the same Rockets do not allocate,
+ * reads of other Rockets allocate a single view.
+ * Map operations changing Rockets are serialized by a lock, views change single fields atomically without it.
+ * Fields can also be read by Rocket number (see {@link RocketsByNumber}), which creates no view.
+ * Only identifiers in generated format (see {@link Identifiers}) can be stored.
+ */
+public class DenseRocketStore extends AbstractMap<String, Rocket> implements ConcurrentMap<String, Rocket>, RocketsByNumber {
+
+		private static final int CHUNK_BITS = 14;
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+		private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+		private static final int VIEWS = 1 << 12;
+
+		private static final byte ABSENT = 0;
+		private static final byte NO_STATUS = -1;
+		private static final long ABSENT_STATE = 0;
+		// Never a state of stored Rocket, as Mission numbers are positive
+		private static final long UNSTORABLE_STATE = -1;
+		private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+		private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+		private final NamePool names = new NamePool();
+		private final AtomicInteger size = new AtomicInteger();
+		private final ReentrantLock lock = new ReentrantLock();
+		private final AtomicReferenceArray<DenseRocket> views = new AtomicReferenceArray<>(VIEWS);
+		private volatile Chunk[] chunks = new Chunk[0];
+
+		@Override
+		public Rocket get(Object key) {
+				var number = numberOf(key);
+				if (number < 0 || !isPresent(number)) {
+						return null;
+				}
+				var view = views.get(number & (VIEWS - 1));
+				if (view == null || view.number != number) {
+						view = new DenseRocket(this, (String) key, number);
+						views.set(number & (VIEWS - 1), view);
+				}
+				return view;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+				var number = numberOf(key);
+				return number >= 0 && isPresent(number);
+		}
+
+		@Override
+		public Rocket put(String key, Rocket rocket) {
+				var number = requireNumber(key);
+				lock.lock();
+				try {
+						var previous = get(key);
+						var detachedPrevious = previous == null ? null : detach(previous);
+						write(number, rocket);
+						return detachedPrevious;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public Rocket putIfAbsent(String key, Rocket rocket) {
+				lock.lock();
+				try {
+						var previous = get(key);
+						if (previous != null) {
+								return previous;
+						}
+						write(requireNumber(key), rocket);
+						return null;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public Rocket remove(Object key) {
+				var number = numberOf(key);
+				if (number < 0 || number >= capacity()) {
+						return null;
+				}
+				lock.lock();
+				try {
+						var previous = get(key);
+						if (previous == null) {
+								return null;
+						}
+						var detachedPrevious = detach(previous);
+						return clearSlot(number) ? detachedPrevious : null;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public boolean remove(Object key, Object value) {
+				lock.lock();
+				try {
+						var number = numberOf(key);
+						if (number < 0 || !isPresent(number) || !(value instanceof Rocket rocket) || !name(number).equals(rocket.getName())) {
+								return false;
+						}
+						var chunk = chunks[number >>> CHUNK_BITS];
+						var slot = number & CHUNK_MASK;
+						if (!LONGS.compareAndSet(chunk.states, slot, stateOf(rocket), ABSENT_STATE)) {
+								return false;
+						}
+						names.release(nameIndexIn((long) LONGS.get(chunk.nameRefs, slot)));
+						size.decrementAndGet();
+						return true;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public boolean replace(String key, Rocket oldValue, Rocket newValue) {
+				var newState = state(encode(newValue.getStatus()), missionNumberOf(newValue.getMissionId()));
+				lock.lock();
+				try {
+						// Names change with lock held only, so state compared and set at once decides the outcome
+						var number = numberOf(key);
+						if (number < 0 || !isPresent(number) || !name(number).equals(oldValue.getName())) {
+								return false;
+						}
+						var chunk = chunks[number >>> CHUNK_BITS];
+						var slot = number & CHUNK_MASK;
+						if (!LONGS.compareAndSet(chunk.states, slot, stateOf(oldValue), newState)) {
+								return false;
+						}
+						writeName(chunk, slot, true, newValue.getName());
+						return true;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public Rocket replace(String key, Rocket value) {
+				lock.lock();
+				try {
+						var current = get(key);
+						if (current == null) {
+								return null;
+						}
+						var detachedPrevious = detach(current);
+						write(numberOf(key), value);
+						return detachedPrevious;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public int size() {
+				return size.get();
+		}
+
+		@Override
+		public void clear() {
+				lock.lock();
+				try {
+						var numbers = capacity();
+						for (int number = 0; number < numbers; number++) {
+								clearSlot(number);
+						}
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public Set<Entry<String, Rocket>> entrySet() {
+				return new AbstractSet<>() {
+						@Override
+						public Iterator<Entry<String, Rocket>> iterator() {
+								return new EntryIterator();
+						}
+
+						@Override
+						public int size() {
+								return DenseRocketStore.this.size();
+						}
+				};
+		}
+
+		@Override
+		public String rocketName(int number) {
+				return name(number);
+		}
+
+		@Override
+		public RocketStatus rocketStatus(int number) {
+				return status(number);
+		}
+
+		/**
+		 * @return Name of a Rocket, null when Rocket was removed concurrently and its name released
+		 */
+		String name(int number) {
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var nameRef = (long) LONGS.getAcquire(chunk.nameRefs, slot);
+				while (true) {
+						var name = names.name(nameIndexIn(nameRef), generationIn(nameRef));
+						if (name != null) {
+								return name;
+						}
+						var current = (long) LONGS.getAcquire(chunk.nameRefs, slot);
+						if (current == nameRef) {
+								return null;
+						}
+						nameRef = current;
+				}
+		}
+
+		RocketStatus status(int number) {
+				var status = statusByte(number);
+				return status == ABSENT || status == NO_STATUS ? null : STATUSES[status - 1];
+		}
+
+		void setStatus(int number, RocketStatus status) {
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var encoded = encode(status);
+				long current;
+				do {
+						current = (long) LONGS.getAcquire(chunk.states, slot);
+						if (statusIn(current) == ABSENT) {
+								return;
+						}
+				} while (!LONGS.compareAndSet(chunk.states, slot, current, state(encoded, missionNumberIn(current))));
+		}
+
+		String missionId(int number) {
+				var missionNumber = missionNumberIn(stateAt(number));
+				return missionNumber == 0 ? null : Identifiers.missionId(missionNumber);
+		}
+
+		void setMissionId(int number, String missionId) {
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var missionNumber = missionNumberOf(missionId);
+				long current;
+				do {
+						current = (long) LONGS.getAcquire(chunk.states, slot);
+						if (statusIn(current) == ABSENT) {
+								return;
+						}
+				} while (!LONGS.compareAndSet(chunk.states, slot, current, state(statusIn(current), missionNumber)));
+		}
+
+		boolean compareAndSetMissionId(int number, String expectedMissionId, String missionId) {
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var expectedMissionNumber = missionNumberOf(expectedMissionId);
+				var missionNumber = missionNumberOf(missionId);
+				long current;
+				do {
+						current = (long) LONGS.getAcquire(chunk.states, slot);
+						if (missionNumberIn(current) != expectedMissionNumber) {
+								return false;
+						}
+				} while (!LONGS.compareAndSet(chunk.states, slot, current, state(statusIn(current), missionNumber)));
+				return true;
+		}
+
+		/**
+		 * Writes Rocket to its slot, has to be called with lock held
+		 */
+		private void write(int number, Rocket rocket) {
+				var state = state(encode(rocket.getStatus()), missionNumberOf(rocket.getMissionId()));
+				ensureCapacity(number);
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var present = statusByte(number) != ABSENT;
+				writeName(chunk, slot, present, rocket.getName());
+				LONGS.setRelease(chunk.states, slot, state);
+				if (!present) {
+						size.incrementAndGet();
+				}
+		}
+
+		/**
+		 * Refers slot to interned name and releases name it referred to before, has to be called with lock held
+		 */
+		private void writeName(Chunk chunk, int slot, boolean present, String name) {
+				var nameIndex = names.intern(name);
+				var previous = (long) LONGS.get(chunk.nameRefs, slot);
+				LONGS.setRelease(chunk.nameRefs, slot, (long) names.generation(nameIndex) << 32 | nameIndex);
+				if (present) {
+						names.release(nameIndexIn(previous));
+				}
+		}
+
+		/**
+		 * Clears slot of a Rocket, has to be called with lock held
+		 */
+		private boolean clearSlot(int number) {
+				var chunk = chunks[number >>> CHUNK_BITS];
+				var slot = number & CHUNK_MASK;
+				var previous = (long) LONGS.getAndSet(chunk.states, slot, ABSENT_STATE);
+				if (statusIn(previous) == ABSENT) {
+						return false;
+				}
+				names.release(nameIndexIn((long) LONGS.get(chunk.nameRefs, slot)));
+				size.decrementAndGet();
+				return true;
+		}
+
+		private boolean isPresent(int number) {
+				return number < capacity() && statusByte(number) != ABSENT;
+		}
+
+		private byte statusByte(int number) {
+				return statusIn(stateAt(number));
+		}
+
+		private long stateAt(int number) {
+				return (long) LONGS.getAcquire(chunks[number >>> CHUNK_BITS].states, number & CHUNK_MASK);
+		}
+
+		private int capacity() {
+				return chunks.length << CHUNK_BITS;
+		}
+
+		private void ensureCapacity(int number) {
+				var chunkIndex = number >>> CHUNK_BITS;
+				if (chunkIndex < chunks.length) {
+						return;
+				}
+				lock.lock();
+				try {
+						var current = chunks;
+						if (chunkIndex < current.length) {
+								return;
+						}
+						var grown = Arrays.copyOf(current, chunkIndex + 1);
+						for (int i = current.length; i < grown.length; i++) {
+								grown[i] = new Chunk();
+						}
+						chunks = grown;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private static long state(byte status, int missionNumber) {
+				return (long) missionNumber << 32 | status & 0xFF;
+		}
+
+		/**
+		 * @return State Rocket would be stored with, or state no stored Rocket has when it can't be stored
+		 */
+		private static long stateOf(Rocket rocket) {
+				var missionId = rocket.getMissionId();
+				if (missionId != null && Identifiers.missionNumber(missionId) <= 0) {
+						return UNSTORABLE_STATE;
+				}
+				return state(encode(rocket.getStatus()), missionNumberOf(missionId));
+		}
+
+		private static byte statusIn(long state) {
+				return (byte) state;
+		}
+
+		private static int missionNumberIn(long state) {
+				return (int) (state >>> 32);
+		}
+
+		private static int nameIndexIn(long nameRef) {
+				return (int) nameRef;
+		}
+
+		private static int generationIn(long nameRef) {
+				return (int) (nameRef >>> 32);
+		}
+
+		private static byte encode(RocketStatus status) {
+				return status == null ? NO_STATUS : (byte) (status.ordinal() + 1);
+		}
+
+		private static int numberOf(Object key) {
+				return key instanceof String id ? Identifiers.rocketNumber(id) : -1;
+		}
+
+		private static int requireNumber(String key) {
+				var number = Identifiers.rocketNumber(key);
+				if (number < 0) {
+						throw new IllegalArgumentException("Rocket identifier [%s] is not supported by dense storage".formatted(key));
+				}
+				return number;
+		}
+
+		private static int missionNumberOf(String missionId) {
+				if (missionId == null) {
+						return 0;
+				}
+				var number = Identifiers.missionNumber(missionId);
+				if (number <= 0) {
+						throw new IllegalArgumentException("Mission identifier [%s] is not supported by dense storage".formatted(missionId));
+				}
+				return number;
+		}
+
+		private static Rocket detach(Rocket view) {
+				var rocket = new Rocket(view.getId(), view.getName());
+				rocket.setStatus(view.getStatus());
+				rocket.setMissionId(view.getMissionId());
+				return rocket;
+		}
+
+		private static final class Chunk {
+				// Mission number in upper half, status in the lowest byte
+				final long[] states = new long[CHUNK_SIZE];
+				// Generation of a name in upper half, name index in lower half
+				final long[] nameRefs = new long[CHUNK_SIZE];
+		}
+
+		private final class EntryIterator implements Iterator<Entry<String, Rocket>> {
+
+				private Rocket next = advance(0);
+				private int last = -1;
+
+				@Override
+				public boolean hasNext() {
+						return next != null;
+				}
+
+				@Override
+				public Entry<String, Rocket> next() {
+						if (next == null) {
+								throw new NoSuchElementException();
+						}
+						var current = next;
+						last = Identifiers.rocketNumber(current.getId());
+						next = advance(last + 1);
+						return new SimpleImmutableEntry<>(current.getId(), current);
+				}
+
+				@Override
+				public void remove() {
+						if (last < 0) {
+								throw new IllegalStateException();
+						}
+						lock.lock();
+						try {
+								clearSlot(last);
+						} finally {
+								lock.unlock();
+						}
+						last = -1;
+				}
+
+				private Rocket advance(int from) {
+						var numbers = capacity();
+						for (int number = from; number < numbers; number++) {
+								if (statusByte(number) != ABSENT) {
+										var rocket = get(Identifiers.rocketId(number));
+										if (rocket != null) {
+												return rocket;
+										}
+								}
+						}
+						return null;
+				}
+		}
+}
@@ -0,0 +1,154 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Stores every distinct name in use once and refers to it by index.
+ * Fleets reuse the same names a lot, so storing index instead of a name saves memory.
+ * Names are counted by references and released with the last one, their indexes are reused by following names,
+ * so pool never holds more names than were in use at once. Lookup table is open addressed over indexes,
+ * so no map node nor boxed index is held per name.
+ * Every index has a generation, which is advanced when its name is released. Readers refer to a name by index and generation,
+ * so a reader racing with release and reuse of an index gets no name instead of a name stored later.
+ * Changes have to be serialized by the owner of a pool, names are read without locking.
+ */
+class NamePool {
+
+		private static final int EMPTY = 0;
+
+		private static final VarHandle NAMES = MethodHandles.arrayElementVarHandle(String[].class);
+		private static final VarHandle GENERATIONS = MethodHandles.arrayElementVarHandle(int[].class);
+
+		private volatile String[] names = new String[64];
+		private volatile int[] generations = new int[64];
+		private int[] references = new int[64];
+		private int[] freeIndexes = new int[16];
+		private int freeCount;
+		private int count;
+		private int size;
+		// Index of a name plus one, EMPTY for a free slot
+		private int[] table = new int[128];
+
+		/**
+		 * Stores name or takes another reference to it.
+		 * @param name Name to store
+		 * @return Index of a name, same for all equal names referenced at once, see {@link #generation(int)}
+		 */
+		int intern(String name) {
+				var current = names;
+				var mask = table.length - 1;
+				var slot = hash(name) & mask;
+				while (table[slot] != EMPTY) {
+						var index = table[slot] - 1;
+						if (current[index].equals(name)) {
+								references[index]++;
+								return index;
+						}
+						slot = (slot + 1) & mask;
+				}
+
+				int index;
+				if (freeCount > 0) {
+						index = freeIndexes[--freeCount];
+				} else {
+						index = count++;
+						if (index == current.length) {
+								current = Arrays.copyOf(current, current.length * 2);
+								references = Arrays.copyOf(references, current.length);
+								generations = Arrays.copyOf(generations, current.length);
+						}
+				}
+				// Release write orders advanced generation of a reused index before its new name
+				NAMES.setRelease(current, index, name);
+				// Volatile write publishes the name to readers of its index
+				names = current;
+				references[index] = 1;
+				table[slot] = index + 1;
+				if (++size * 2 > table.length) {
+						rehash(table.length * 2);
+				}
+				return index;
+		}
+
+		/**
+		 * Drops a reference to name, name is released with its last reference.
+		 * Released name stays readable until its index is reused, but only by readers of its generation.
+		 * @param index Index returned by {@link #intern(String)}
+		 */
+		void release(int index) {
+				if (--references[index] > 0) {
+						return;
+				}
+				var mask = table.length - 1;
+				var hole = hash(names[index]) & mask;
+				while (table[hole] != index + 1) {
+						hole = (hole + 1) & mask;
+				}
+				// Entries displaced by the released one are shifted back, so probing never stops at the hole
+				var next = (hole + 1) & mask;
+				while (table[next] != EMPTY) {
+						var home = hash(names[table[next] - 1]) & mask;
+						if (((next - home) & mask) >= ((next - hole) & mask)) {
+								table[hole] = table[next];
+								hole = next;
+						}
+						next = (next + 1) & mask;
+				}
+				table[hole] = EMPTY;
+				GENERATIONS.setRelease(generations, index, generations[index] + 1);
+				if (freeCount == freeIndexes.length) {
+						freeIndexes = Arrays.copyOf(freeIndexes, freeIndexes.length * 2);
+				}
+				freeIndexes[freeCount++] = index;
+				size--;
+		}
+
+		/**
+		 * @param index Index returned by {@link #intern(String)}
+		 * @return Generation of a name stored at index, advanced when the name is released
+		 */
+		int generation(int index) {
+				return (int) GENERATIONS.getAcquire(generations, index);
+		}
+
+		/**
+		 * @param index Index of a name
+		 * @param generation Generation of index when it was returned by {@link #intern(String)}
+		 * @return Name, or null when name was released since, and its index may hold another name
+		 */
+		String name(int index, int generation) {
+				var name = (String) NAMES.getAcquire(names, index);
+				return generation(index) == generation ? name : null;
+		}
+
+		/**
+		 * @return Number of names in use
+		 */
+		int size() {
+				return size;
+		}
+
+		private void rehash(int length) {
+				var current = names;
+				var rehashed = new int[length];
+				var mask = length - 1;
+				for (var entry : table) {
+						if (entry == EMPTY) {
+								continue;
+						}
+						var slot = hash(current[entry - 1]) & mask;
+						while (rehashed[slot] != EMPTY) {
+								slot = (slot + 1) & mask;
+						}
+						rehashed[slot] = entry;
+				}
+				table = rehashed;
+		}
+
+		private static int hash(String name) {
+				var hash = name.hashCode() * 0x9E3779B9;
+				return hash ^ (hash >>> 16);
+		}
+}
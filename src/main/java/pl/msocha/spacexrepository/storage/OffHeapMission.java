@@ -0,0 +1,52 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.util.Collection;
+import java.util.Set;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+
+/**
+ * Mission view over a record of OffHeapMissionStore.
+ * View does not hold any state, all reads and writes go directly to the store.
+ */
+final class OffHeapMission extends Mission {
+
+		private final OffHeapMissionStore store;
+		private final int number;
+
+		OffHeapMission(OffHeapMissionStore store, String id, int number) {
+				super(id, null, store.rocketIds(number));
+				this.store = store;
+				this.number = number;
+		}
+
+		@Override
+		public String getName() {
+				return store.name(number);
+		}
+
+		@Override
+		public MissionStatus getStatus() {
+				return store.status(number);
+		}
+
+		@Override
+		public void setStatus(MissionStatus status) {
+				store.setStatus(number, status);
+		}
+
+		@Override
+		public Set<String> getRocketIds() {
+				return store.rocketIds(number);
+		}
+
+		@Override
+		public void addRocket(String rocketId) {
+				store.rocketIds(number).add(rocketId);
+		}
+
+		@Override
+		public void addRockets(Collection<String> rocketIds) {
+				store.rocketIds(number).addAll(rocketIds);
+		}
+}
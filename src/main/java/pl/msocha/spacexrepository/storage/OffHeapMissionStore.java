@@ -0,0 +1,127 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketIdSet;
+
+/**
+ * Mission storage which keeps Missions outside of the heap.
+ * Every Mission is a fixed-width record of status, name is kept in off-heap arena.
+ * Assigned Rocket identifiers stay on heap as {@link RocketIdSet}, which holds them in a single int array per Mission.
+ * Missions returned from the store are views, changes made through them are written to the store.
+ * Only identifiers in generated format (see {@link Identifiers}) can be stored.
+ */
+public class OffHeapMissionStore extends OffHeapStore<Mission> {
+
+		private static final int CHUNK_BITS = 14;
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+		private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+		private static final int NO_STATUS = -1;
+		private static final MissionStatus[] STATUSES = MissionStatus.values();
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile RocketIdSet[][] rocketIds = new RocketIdSet[0][];
+
+		@Override
+		int numberOf(String id) {
+				return Identifiers.missionNumber(id);
+		}
+
+		@Override
+		String idOf(int number) {
+				return Identifiers.missionId(number);
+		}
+
+		@Override
+		Mission view(int number, String id) {
+				return new OffHeapMission(this, id, number);
+		}
+
+		@Override
+		Mission detach(Mission view) {
+				var mission = new Mission(view.getId(), view.getName());
+				mission.setStatus(view.getStatus());
+				mission.addRockets(view.getRocketIds());
+				return mission;
+		}
+
+		@Override
+		String nameOf(Mission mission) {
+				return mission.getName();
+		}
+
+		@Override
+		int stateOf(Mission mission) {
+				return encode(mission.getStatus());
+		}
+
+		@Override
+		void writeFields(int number, Mission mission) {
+				ensureCapacity(number);
+				if (mission.getRocketIds() == rocketIds(number)) {
+						// Mission read from this record is put back, its Rockets are already stored
+						return;
+				}
+				var assignedRocketIds = new RocketIdSet();
+				assignedRocketIds.addAll(mission.getRocketIds());
+				rocketIds[number >>> CHUNK_BITS][number & CHUNK_MASK] = assignedRocketIds;
+		}
+
+		@Override
+		boolean sameState(Mission current, Object value) {
+				return value instanceof Mission other
+					&& Objects.equals(current.getName(), other.getName())
+					&& current.getStatus() == other.getStatus()
+					&& current.getRocketIds().equals(other.getRocketIds());
+		}
+
+		MissionStatus status(int number) {
+				var status = records.state(number);
+				return status == OffHeapRecords.ABSENT || status == NO_STATUS ? null : STATUSES[status - 1];
+		}
+
+		void setStatus(int number, MissionStatus status) {
+				var encoded = encode(status);
+				int current;
+				do {
+						current = records.state(number);
+						if (current == OffHeapRecords.ABSENT) {
+								return;
+						}
+				} while (!records.compareAndSetState(number, current, encoded));
+		}
+
+		RocketIdSet rocketIds(int number) {
+				return rocketIds[number >>> CHUNK_BITS][number & CHUNK_MASK];
+		}
+
+		private void ensureCapacity(int number) {
+				var chunkIndex = number >>> CHUNK_BITS;
+				if (chunkIndex < rocketIds.length) {
+						return;
+				}
+				lock.lock();
+				try {
+						var current = rocketIds;
+						if (chunkIndex < current.length) {
+								return;
+						}
+						var grown = Arrays.copyOf(current, chunkIndex + 1);
+						for (int i = current.length; i < grown.length; i++) {
+								grown[i] = new RocketIdSet[CHUNK_SIZE];
+						}
+						rocketIds = grown;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private static int encode(MissionStatus status) {
+				return status == null ? NO_STATUS : status.ordinal() + 1;
+		}
+}
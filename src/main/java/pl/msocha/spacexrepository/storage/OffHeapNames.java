@@ -0,0 +1,82 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only arena of names kept in direct buffers, outside of the heap.
+ * Name is stored as its length followed by UTF-8 bytes and referred to by chunk index and offset packed into long.
+ * Stored names are never released, until arena is collected.
+ * Recently read names are kept decoded in a small table, so repeated reads of the same names do not allocate.
+ */
+final class OffHeapNames {
+
+		private static final int CHUNK_SIZE = 1 << 20;
+		private static final int NULL_LENGTH = -1;
+		private static final int DECODED = 1 << 12;
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final AtomicReferenceArray<Decoded> decoded = new AtomicReferenceArray<>(DECODED);
+		private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+		private int position;
+
+		/**
+		 * @param name Name to store, may be null
+		 * @return Reference of stored name
+		 */
+		long store(String name) {
+				var bytes = name == null ? new byte[0] : name.getBytes(StandardCharsets.UTF_8);
+				var length = Integer.BYTES + bytes.length;
+				lock.lock();
+				try {
+						var current = chunks;
+						if (current.length == 0 || position + length > current[current.length - 1].capacity()) {
+								current = Arrays.copyOf(current, current.length + 1);
+								current[current.length - 1] = ByteBuffer.allocateDirect(Math.max(CHUNK_SIZE, length));
+								position = 0;
+						}
+						var chunk = current[current.length - 1];
+						chunk.putInt(position, name == null ? NULL_LENGTH : bytes.length);
+						chunk.put(position + Integer.BYTES, bytes);
+						chunks = current;
+						var reference = (long) (current.length - 1) << 32 | position;
+						position += length;
+						return reference;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		/**
+		 * @param reference Reference returned by {@link #store(String)}
+		 * @return Stored name
+		 */
+		String name(long reference) {
+				var slot = (int) (reference ^ (reference >>> 29)) & (DECODED - 1);
+				var cached = decoded.get(slot);
+				if (cached != null && cached.reference == reference) {
+						return cached.name;
+				}
+				var name = decode(reference);
+				decoded.set(slot, new Decoded(reference, name));
+				return name;
+		}
+
+		private String decode(long reference) {
+				var chunk = chunks[(int) (reference >>> 32)];
+				var offset = (int) reference;
+				var length = chunk.getInt(offset);
+				if (length == NULL_LENGTH) {
+						return null;
+				}
+				var bytes = new byte[length];
+				chunk.get(offset + Integer.BYTES, bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		private record Decoded(long reference, String name) {
+		}
+}
@@ -0,0 +1,101 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-width records kept in direct buffers, outside of the heap.
+ * Every record takes 16 bytes: int state, int reference to other record and long reference of a name.
+ * State 0 marks absent record. Records are allocated in chunks and never released, until store is collected.
+ */
+final class OffHeapRecords {
+
+		static final int ABSENT = 0;
+
+		private static final int CHUNK_BITS = 16;
+		private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+		private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+		private static final int RECORD_SIZE = 16;
+		private static final int STATE_OFFSET = 0;
+		private static final int REFERENCE_OFFSET = 4;
+		private static final int NAME_OFFSET = 8;
+
+		private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+		private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+		int capacity() {
+				return chunks.length << CHUNK_BITS;
+		}
+
+		boolean isPresent(int number) {
+				return number < capacity() && state(number) != ABSENT;
+		}
+
+		int state(int number) {
+				return (int) INTS.getAcquire(chunk(number), offset(number) + STATE_OFFSET);
+		}
+
+		int getAndSetState(int number, int state) {
+				return (int) INTS.getAndSet(chunk(number), offset(number) + STATE_OFFSET, state);
+		}
+
+		boolean compareAndSetState(int number, int expectedState, int state) {
+				return INTS.compareAndSet(chunk(number), offset(number) + STATE_OFFSET, expectedState, state);
+		}
+
+		int reference(int number) {
+				return (int) INTS.getAcquire(chunk(number), offset(number) + REFERENCE_OFFSET);
+		}
+
+		void setReference(int number, int reference) {
+				INTS.setRelease(chunk(number), offset(number) + REFERENCE_OFFSET, reference);
+		}
+
+		boolean compareAndSetReference(int number, int expectedReference, int reference) {
+				return INTS.compareAndSet(chunk(number), offset(number) + REFERENCE_OFFSET, expectedReference, reference);
+		}
+
+		long name(int number) {
+				return (long) LONGS.getAcquire(chunk(number), offset(number) + NAME_OFFSET);
+		}
+
+		void setName(int number, long name) {
+				LONGS.setRelease(chunk(number), offset(number) + NAME_OFFSET, name);
+		}
+
+		void ensureCapacity(int number) {
+				var chunkIndex = number >>> CHUNK_BITS;
+				if (chunkIndex < chunks.length) {
+						return;
+				}
+				lock.lock();
+				try {
+						var current = chunks;
+						if (chunkIndex < current.length) {
+								return;
+						}
+						var grown = Arrays.copyOf(current, chunkIndex + 1);
+						for (int i = current.length; i < grown.length; i++) {
+								grown[i] = ByteBuffer.allocateDirect(CHUNK_SIZE * RECORD_SIZE).order(ByteOrder.nativeOrder());
+						}
+						chunks = grown;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		private ByteBuffer chunk(int number) {
+				return chunks[number >>> CHUNK_BITS];
+		}
+
+		private static int offset(int number) {
+				return (number & CHUNK_MASK) * RECORD_SIZE;
+		}
+}
@@ -0,0 +1,55 @@
+package pl.msocha.spacexrepository.storage;
+
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Rocket view over a record of OffHeapRocketStore.
+ * View does not hold any state, all reads and writes go directly to the store.
+ */
+final class OffHeapRocket extends Rocket {
+
+		private final OffHeapRocketStore store;
+		private final int number;
+
+		OffHeapRocket(OffHeapRocketStore store, String id, int number) {
+				super(id, null);
+				this.store = store;
+				this.number = number;
+		}
+
+		@Override
+		public String getName() {
+				return store.name(number);
+		}
+
+		@Override
+		public RocketStatus getStatus() {
+				return store.status(number);
+		}
+
+		@Override
+		public void setStatus(RocketStatus status) {
+				store.setStatus(number, status);
+		}
+
+		@Override
+		public String getMissionId() {
+				return store.missionId(number);
+		}
+
+		@Override
+		public void setMissionId(String missionId) {
+				store.setMissionId(number, missionId);
+		}
+
+		@Override
+		public boolean assignMission(String missionId) {
+				return store.compareAndSetMissionId(number, null, missionId);
+		}
+
+		@Override
+		public void releaseMission(String missionId) {
+				store.compareAndSetMissionId(number, missionId, null);
+		}
+}
@@ -0,0 +1,121 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.util.Objects;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Rocket storage which keeps Rockets outside of the heap.
+ * Every Rocket is a fixed-width record of status and Mission number, name is kept in off-heap arena.
+ * Store itself holds nothing on heap per Rocket. Repository using it still keeps a status byte per Rocket in its status
+ * index, per Rocket transition logs when history is enabled and summaries of Missions once they are created.
+ * Rockets returned from the store are views, changes made through them are written to the store.
+ * Fields can also be read by Rocket number (see {@link RocketsByNumber}), which creates no view.
+ * Only identifiers in generated format (see {@link Identifiers}) can be stored.
+ */
+public class OffHeapRocketStore extends OffHeapStore<Rocket> implements RocketsByNumber {
+
+		private static final int NO_STATUS = -1;
+		private static final RocketStatus[] STATUSES = RocketStatus.values();
+
+		@Override
+		int numberOf(String id) {
+				return Identifiers.rocketNumber(id);
+		}
+
+		@Override
+		String idOf(int number) {
+				return Identifiers.rocketId(number);
+		}
+
+		@Override
+		Rocket view(int number, String id) {
+				return new OffHeapRocket(this, id, number);
+		}
+
+		@Override
+		Rocket detach(Rocket view) {
+				var rocket = new Rocket(view.getId(), view.getName());
+				rocket.setStatus(view.getStatus());
+				rocket.setMissionId(view.getMissionId());
+				return rocket;
+		}
+
+		@Override
+		String nameOf(Rocket rocket) {
+				return rocket.getName();
+		}
+
+		@Override
+		int stateOf(Rocket rocket) {
+				return encode(rocket.getStatus());
+		}
+
+		@Override
+		void writeFields(int number, Rocket rocket) {
+				records.setReference(number, missionNumberOf(rocket.getMissionId()));
+		}
+
+		@Override
+		boolean sameState(Rocket current, Object value) {
+				return value instanceof Rocket other
+					&& current.getName().equals(other.getName())
+					&& current.getStatus() == other.getStatus()
+					&& Objects.equals(current.getMissionId(), other.getMissionId());
+		}
+
+		@Override
+		public String rocketName(int number) {
+				return name(number);
+		}
+
+		@Override
+		public RocketStatus rocketStatus(int number) {
+				return status(number);
+		}
+
+		RocketStatus status(int number) {
+				var status = records.state(number);
+				return status == OffHeapRecords.ABSENT || status == NO_STATUS ? null : STATUSES[status - 1];
+		}
+
+		void setStatus(int number, RocketStatus status) {
+				var encoded = encode(status);
+				int current;
+				do {
+						current = records.state(number);
+						if (current == OffHeapRecords.ABSENT) {
+								return;
+						}
+				} while (!records.compareAndSetState(number, current, encoded));
+		}
+
+		String missionId(int number) {
+				var missionNumber = records.reference(number);
+				return missionNumber == 0 ? null : Identifiers.missionId(missionNumber);
+		}
+
+		void setMissionId(int number, String missionId) {
+				records.setReference(number, missionNumberOf(missionId));
+		}
+
+		boolean compareAndSetMissionId(int number, String expectedMissionId, String missionId) {
+				return records.compareAndSetReference(number, missionNumberOf(expectedMissionId), missionNumberOf(missionId));
+		}
+
+		private static int encode(RocketStatus status) {
+				return status == null ? NO_STATUS : status.ordinal() + 1;
+		}
+
+		private static int missionNumberOf(String missionId) {
+				if (missionId == null) {
+						return 0;
+				}
+				var number = Identifiers.missionNumber(missionId);
+				if (number <= 0) {
+						throw new IllegalArgumentException("Mission identifier [%s] is not supported by off-heap storage".formatted(missionId));
+				}
+				return number;
+		}
+}
@@ -0,0 +1,284 @@
+package pl.msocha.spacexrepository.storage;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Storage keyed by sequence number of identifier, which keeps values as off-heap records and their names in off-heap arena.
+ * No String key, map node or value object is held on heap per stored value.
+ * Values returned from the store are stateless views, changes made through them are written to the store.
+ * View is allocated per read, its name is decoded only when read.
+ * Map operations changing values are serialized by a lock, views change single fields atomically without it.
+ * @param <V> Type of stored values
+ */
+abstract class OffHeapStore<V> extends AbstractMap<String, V> implements ConcurrentMap<String, V> {
+
+		final OffHeapRecords records = new OffHeapRecords();
+		private final OffHeapNames names = new OffHeapNames();
+		private final AtomicInteger size = new AtomicInteger();
+		private final ReentrantLock lock = new ReentrantLock();
+
+		/**
+		 * @param id Identifier of a value
+		 * @return Sequence number of identifier or -1 when identifier is not in generated format
+		 */
+		abstract int numberOf(String id);
+
+		abstract String idOf(int number);
+
+		abstract V view(int number, String id);
+
+		abstract V detach(V view);
+
+		abstract String nameOf(V value);
+
+		/**
+		 * @param value Value to encode
+		 * @return Encoded state of a value, never {@link OffHeapRecords#ABSENT}
+		 */
+		abstract int stateOf(V value);
+
+		/**
+		 * Writes fields of a value other than state and name
+		 */
+		abstract void writeFields(int number, V value);
+
+		abstract boolean sameState(V current, Object value);
+
+		@Override
+		public V get(Object key) {
+				var number = numberOf(key);
+				if (number < 0 || !records.isPresent(number)) {
+						return null;
+				}
+				return view(number, (String) key);
+		}
+
+		String name(int number) {
+				return names.name(records.name(number));
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+				var number = numberOf(key);
+				return number >= 0 && records.isPresent(number);
+		}
+
+		@Override
+		public V put(String key, V value) {
+				var number = requireNumber(key);
+				lock.lock();
+				try {
+						var previous = get(key);
+						var detachedPrevious = previous == null ? null : detach(previous);
+						write(number, value);
+						return detachedPrevious;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public V putIfAbsent(String key, V value) {
+				lock.lock();
+				try {
+						var previous = get(key);
+						if (previous != null) {
+								return previous;
+						}
+						write(requireNumber(key), value);
+						return null;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public V remove(Object key) {
+				var number = numberOf(key);
+				if (number < 0 || number >= records.capacity()) {
+						return null;
+				}
+				lock.lock();
+				try {
+						var previous = get(key);
+						if (previous == null) {
+								return null;
+						}
+						var detachedPrevious = detach(previous);
+						return clearRecord(number) ? detachedPrevious : null;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public boolean remove(Object key, Object value) {
+				lock.lock();
+				try {
+						var current = get(key);
+						if (current == null || !sameState(current, value)) {
+								return false;
+						}
+						return clearRecord(numberOf(key));
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public boolean replace(String key, V oldValue, V newValue) {
+				lock.lock();
+				try {
+						var current = get(key);
+						if (current == null || !sameState(current, oldValue)) {
+								return false;
+						}
+						write(numberOf(key), newValue);
+						return true;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public V replace(String key, V value) {
+				lock.lock();
+				try {
+						var current = get(key);
+						if (current == null) {
+								return null;
+						}
+						var detachedPrevious = detach(current);
+						write(numberOf(key), value);
+						return detachedPrevious;
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public int size() {
+				return size.get();
+		}
+
+		@Override
+		public void clear() {
+				lock.lock();
+				try {
+						var numbers = records.capacity();
+						for (int number = 0; number < numbers; number++) {
+								clearRecord(number);
+						}
+				} finally {
+						lock.unlock();
+				}
+		}
+
+		@Override
+		public Set<Entry<String, V>> entrySet() {
+				return new AbstractSet<>() {
+						@Override
+						public Iterator<Entry<String, V>> iterator() {
+								return new EntryIterator();
+						}
+
+						@Override
+						public int size() {
+								return OffHeapStore.this.size();
+						}
+				};
+		}
+
+		/**
+		 * Writes value to its record, has to be called with lock held.
+		 * Name already stored in the record is kept when equal, so rewriting a value does not grow the arena.
+		 */
+		private void write(int number, V value) {
+				records.ensureCapacity(number);
+				var name = nameOf(value);
+				if (!records.isPresent(number) || !Objects.equals(name(number), name)) {
+						records.setName(number, names.store(name));
+				}
+				writeFields(number, value);
+				var previous = records.getAndSetState(number, stateOf(value));
+				if (previous == OffHeapRecords.ABSENT) {
+						size.incrementAndGet();
+				}
+		}
+
+		private boolean clearRecord(int number) {
+				var previous = records.getAndSetState(number, OffHeapRecords.ABSENT);
+				if (previous == OffHeapRecords.ABSENT) {
+						return false;
+				}
+				size.decrementAndGet();
+				return true;
+		}
+
+		private int numberOf(Object key) {
+				return key instanceof String id ? numberOf(id) : -1;
+		}
+
+		private int requireNumber(String key) {
+				var number = numberOf(key);
+				if (number < 0) {
+						throw new IllegalArgumentException("Identifier [%s] is not supported by off-heap storage".formatted(key));
+				}
+				return number;
+		}
+
+		private final class EntryIterator implements Iterator<Entry<String, V>> {
+
+				private int next = advance(0);
+				private int last = -1;
+
+				@Override
+				public boolean hasNext() {
+						return next >= 0;
+				}
+
+				@Override
+				public Entry<String, V> next() {
+						if (next < 0) {
+								throw new NoSuchElementException();
+						}
+						var id = idOf(next);
+						var value = view(next, id);
+						last = next;
+						next = advance(next + 1);
+						return new SimpleImmutableEntry<>(id, value);
+				}
+
+				@Override
+				public void remove() {
+						if (last < 0) {
+								throw new IllegalStateException();
+						}
+						lock.lock();
+						try {
+								clearRecord(last);
+						} finally {
+								lock.unlock();
+						}
+						last = -1;
+				}
+
+				private int advance(int from) {
+						var numbers = records.capacity();
+						for (int number = from; number < numbers; number++) {
+								if (records.state(number) != OffHeapRecords.ABSENT) {
+										return number;
+								}
+						}
+						return -1;
+				}
+		}
+}
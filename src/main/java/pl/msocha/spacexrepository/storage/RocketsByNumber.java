@@ -0,0 +1,23 @@
+package pl.msocha.spacexrepository.storage;
+
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+/**
+ * Rocket storage which reads fields of a Rocket by sequence number of its identifier (see {@link Identifiers}),
+ * without creating the identifier or a view of the Rocket.
+ */
+public interface RocketsByNumber {
+
+		/**
+		 * @param number Sequence number of Rocket in storage
+		 * @return Name of Rocket
+		 */
+		String rocketName(int number);
+
+		/**
+		 * @param number Sequence number of Rocket in storage
+		 * @return Status of Rocket
+		 */
+		RocketStatus rocketStatus(int number);
+}
@@ -0,0 +1,120 @@
+package pl.msocha.spacexrepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.history.HistoryRetention;
+import pl.msocha.spacexrepository.history.MissionTransition;
+import pl.msocha.spacexrepository.history.RocketTransition;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class AsyncSpaceXRepositoryTest {
+
+		@Test
+		@DisplayName("Should assign Rockets of many concurrent callers to the same Mission")
+		void shouldAssignRocketsOfManyConcurrentCallers() {
+				//given
+				var executor = Executors.newFixedThreadPool(64);
+				var tested = AsyncSpaceXRepository.of(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()), executor);
+
+				try {
+						var missionId = tested.addMission("Transit").join();
+
+						//when
+						var assignments = new ArrayList<CompletableFuture<Void>>();
+						for (int i = 0; i < 5000; i++) {
+								assignments.add(tested.addRocket("Dragon")
+									.thenCompose(rocketId -> tested.assignRocketToMission(rocketId, missionId)));
+						}
+						CompletableFuture.allOf(assignments.toArray(CompletableFuture[]::new)).join();
+
+						//then
+						assertThat(tested.topMissions(1).join().get(0).getRockets()).hasSize(5000);
+						assertThat(tested.countRocketsByStatus(RocketStatus.IN_SPACE).join()).isEqualTo(5000);
+				} finally {
+						executor.shutdown();
+				}
+		}
+
+		@Test
+		@DisplayName("Should read history of Rocket and Mission asynchronously")
+		void shouldReadHistoryAsynchronously() {
+				//given
+				var tested = AsyncSpaceXRepository.of(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+					RepositoryOptions.builder().historyRetention(HistoryRetention.defaults()).build()), Runnable::run);
+				var missionId = tested.addMission("Transit").join();
+				var rocketId = tested.addRocket("Dragon").join();
+				tested.assignRocketToMission(rocketId, missionId).join();
+
+				//when
+				var rocketTimeline = tested.getRocketTimeline(rocketId).join();
+				var missionTimeline = tested.getMissionTimeline(missionId).join();
+				var summary = tested.getMissionsSummaryAsOf(Instant.now()).join();
+
+				//then
+				assertThat(rocketTimeline).last().extracting(RocketTransition::status, RocketTransition::missionId)
+					.containsExactly(RocketStatus.IN_SPACE, missionId);
+				assertThat(missionTimeline).extracting(MissionTransition::status).containsExactly(MissionStatus.SCHEDULED);
+				assertThat(summary).singleElement().satisfies(mission -> assertThat(mission.getRockets()).hasSize(1));
+		}
+
+		@Test
+		@DisplayName("Should visit summary and open snapshot asynchronously")
+		void shouldVisitSummaryAndOpenSnapshotAsynchronously() {
+				//given
+				var tested = AsyncSpaceXRepository.of(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+					RepositoryOptions.builder().snapshotsEnabled(true).build()), Runnable::run);
+				var missionId = tested.addMission("Transit").join();
+				var rocketId = tested.addRocket("Dragon").join();
+				tested.assignRocketToMission(rocketId, missionId).join();
+				var visited = new ArrayList<String>();
+
+				//when
+				tested.forEachMissionSummary(new MissionSummaryVisitor() {
+						@Override
+						public void missionStart(String missionName, MissionStatus missionStatus) {
+								visited.add(missionName);
+						}
+
+						@Override
+						public void rocket(String rocketName, RocketStatus rocketStatus) {
+								visited.add(rocketName);
+						}
+				}).join();
+
+				//then
+				assertThat(visited).containsExactly("Transit", "Dragon");
+				try (var snapshot = tested.snapshot().join()) {
+						assertThat(snapshot.countRocketsByStatus(RocketStatus.IN_SPACE)).isEqualTo(1);
+				}
+		}
+
+		@Test
+		@DisplayName("Should complete future exceptionally with exception of rejected operation")
+		void shouldCompleteExceptionallyWhenRejected() {
+				//given
+				var tested = AsyncSpaceXRepository.of(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()), Runnable::run);
+
+				//when
+				var result = tested.setMissionStatus("mission404", MissionStatus.ENDED);
+
+				//then
+				assertThatThrownBy(result::join)
+					.isInstanceOf(CompletionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+				assertThatThrownBy(result::get)
+					.isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+				assertThat(result.handle((value, failure) -> failure).join()).isInstanceOf(IllegalStateException.class);
+		}
+}
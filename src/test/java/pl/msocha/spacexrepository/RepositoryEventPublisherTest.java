@@ -0,0 +1,147 @@
+package pl.msocha.spacexrepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.event.RepositoryEvent;
+import pl.msocha.spacexrepository.event.RepositoryEvent.MissionAdded;
+import pl.msocha.spacexrepository.event.RepositoryEvent.MissionStatusChanged;
+import pl.msocha.spacexrepository.event.RepositoryEvent.RocketAdded;
+import pl.msocha.spacexrepository.event.RepositoryEvent.RocketAssigned;
+import pl.msocha.spacexrepository.event.RepositoryEvent.RocketStatusChanged;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryEventPublisherTest {
+
+		@Test
+		@DisplayName("Should publish Rocket and Mission transitions including implicit PENDING")
+		void shouldPublishTransitionsIncludingImplicitPending() throws InterruptedException {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				var subscriber = new CollectingSubscriber(6);
+				repository.events().subscribe(subscriber);
+
+				//when
+				var missionId = repository.addMission("Transit");
+				var rocketId = repository.addRocket("Red Dragon");
+				repository.assignRocketToMission(rocketId, missionId);
+				repository.setRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+				repository.setMissionStatus(missionId, MissionStatus.SCHEDULED);
+
+				//then
+				assertThat(subscriber.received.await(5, TimeUnit.SECONDS)).isTrue();
+				assertThat(subscriber.events).containsExactly(
+					new MissionAdded(missionId, "Transit"),
+					new RocketAdded(rocketId, "Red Dragon"),
+					new RocketAssigned(rocketId, missionId),
+					new RocketStatusChanged(rocketId, RocketStatus.IN_REPAIR),
+					new MissionStatusChanged(missionId, MissionStatus.PENDING, rocketId),
+					new MissionStatusChanged(missionId, MissionStatus.SCHEDULED, null)
+				);
+		}
+
+		@Test
+		@DisplayName("Should publish status changes of a Rocket in order they were applied")
+		void shouldPublishStatusChangesInOrderTheyWereApplied() throws Exception {
+				//given
+				var executor = Executors.newSingleThreadExecutor();
+				var writers = Executors.newFixedThreadPool(4);
+				try (var publisher = new RepositoryEventPublisher(executor, 1 << 14)) {
+						var rockets = new ConcurrentHashMap<String, Rocket>();
+						var repository = new SpaceXRepository(rockets, new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().eventPublisher(publisher).build());
+						var rocketId = repository.addRocket("Red Dragon");
+						var subscriber = new CollectingSubscriber(4 * 1000);
+						repository.events().subscribe(subscriber);
+
+						//when
+						var changes = new ArrayList<Future<?>>();
+						for (int writer = 0; writer < 4; writer++) {
+								changes.add(writers.submit(() -> {
+										for (int i = 0; i < 1000; i++) {
+												repository.setRocketStatus(rocketId, RocketStatus.values()[i % RocketStatus.values().length]);
+										}
+								}));
+						}
+						for (var change : changes) {
+								change.get();
+						}
+
+						//then
+						assertThat(subscriber.received.await(5, TimeUnit.SECONDS)).isTrue();
+						assertThat(subscriber.events)
+							.hasSize(4 * 1000)
+							.last()
+							.isEqualTo(new RocketStatusChanged(rocketId, rockets.get(rocketId).getStatus()));
+				} finally {
+						writers.shutdown();
+						executor.shutdown();
+				}
+		}
+
+		@Test
+		@DisplayName("Should drop events for subscriber that does not keep up instead of blocking")
+		void shouldDropEventsForSlowSubscriber() {
+				//given
+				var executor = Executors.newSingleThreadExecutor();
+				try (var tested = new RepositoryEventPublisher(executor, 4)) {
+						tested.subscribe(new CollectingSubscriber(0) {
+								@Override
+								public void onSubscribe(Flow.Subscription subscription) {
+										// never requests any event
+								}
+						});
+
+						//when
+						for (int i = 1; i <= 10; i++) {
+								tested.publish(new RocketAdded("rocket" + i, "Dragon"));
+						}
+
+						//then
+						assertThat(tested.getDroppedEvents()).isEqualTo(6);
+				} finally {
+						executor.shutdown();
+				}
+		}
+
+		private static class CollectingSubscriber implements Flow.Subscriber<RepositoryEvent> {
+
+				final List<RepositoryEvent> events = new CopyOnWriteArrayList<>();
+				final CountDownLatch received;
+
+				CollectingSubscriber(int expectedEvents) {
+						this.received = new CountDownLatch(expectedEvents);
+				}
+
+				@Override
+				public void onSubscribe(Flow.Subscription subscription) {
+						subscription.request(Long.MAX_VALUE);
+				}
+
+				@Override
+				public void onNext(RepositoryEvent event) {
+						events.add(event);
+						received.countDown();
+				}
+
+				@Override
+				public void onError(Throwable throwable) {
+				}
+
+				@Override
+				public void onComplete() {
+				}
+		}
+}
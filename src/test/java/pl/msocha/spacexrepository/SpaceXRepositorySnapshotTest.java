@@ -0,0 +1,119 @@
+package pl.msocha.spacexrepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class SpaceXRepositorySnapshotTest {
+
+		SpaceXRepository tested = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+			RepositoryOptions.builder().snapshotsEnabled(true).build());
+
+		@Test
+		@DisplayName("Should not see changes made after snapshot was opened")
+		void shouldNotSeeChangesMadeAfterSnapshotWasOpened() {
+				//given
+				var transitMissionId = tested.addMission("Transit");
+				var redDragonId = tested.addRocket("Red Dragon");
+				tested.assignRocketToMission(redDragonId, transitMissionId);
+
+				//when
+				try (var snapshot = tested.snapshot()) {
+						tested.setRocketStatus(redDragonId, RocketStatus.IN_REPAIR);
+						tested.assignRocketToMission(tested.addRocket("Dragon XL"), transitMissionId);
+						tested.addMission("Luna1");
+
+						//then
+						assertThat(snapshot.getMissionsSummary()).hasSize(1);
+						assertThat(snapshot.getMissionsSummary().get(0).getMissionStatus()).isEqualTo(MissionStatus.SCHEDULED);
+						assertThat(snapshot.getMissionsSummary().get(0).getRockets())
+							.extracting("rocketName", "rocketStatus")
+							.containsExactly(tuple("Red Dragon", RocketStatus.IN_SPACE));
+						assertThat(snapshot.findRocketsByStatus(RocketStatus.IN_SPACE)).containsExactly(redDragonId);
+						assertThat(snapshot.countRocketsByStatus(RocketStatus.IN_REPAIR)).isZero();
+						assertThat(snapshot.countMissionsByStatus(MissionStatus.PENDING)).isZero();
+						assertThat(tested.getMissionsSummary()).hasSize(2);
+				}
+		}
+
+		@Test
+		@DisplayName("Should see every assigned Rocket in space while Rockets are assigned concurrently")
+		void shouldSeeConsistentStateWhileRocketsAreAssignedConcurrently() throws InterruptedException {
+				//given
+				var missionIds = List.of(tested.addMission("Transit"), tested.addMission("Luna1"));
+				var executor = Executors.newFixedThreadPool(2);
+				var assigned = new CountDownLatch(missionIds.size());
+				for (var missionId : missionIds) {
+						executor.execute(() -> {
+								for (int i = 0; i < 2000; i++) {
+										tested.assignRocketsToMission(missionId, tested.addRockets(List.of("Dragon", "Falcon")));
+								}
+								assigned.countDown();
+						});
+				}
+
+				//when
+				while (assigned.getCount() > 0) {
+						try (var snapshot = tested.snapshot()) {
+								var summary = snapshot.getMissionsSummary();
+
+								//then
+								var assignedRocketCount = summary.stream().mapToInt(missionSummary -> missionSummary.getRockets().size()).sum();
+								assertThat(summary)
+									.flatExtracting("rockets")
+									.extracting("rocketStatus")
+									.allMatch(RocketStatus.IN_SPACE::equals);
+								assertThat(snapshot.countRocketsByStatus(RocketStatus.IN_SPACE)).isEqualTo(assignedRocketCount);
+						}
+				}
+				executor.shutdown();
+				assertThat(tested.countRocketsByStatus(RocketStatus.IN_SPACE)).isEqualTo(8000);
+		}
+
+		@Test
+		@DisplayName("Should drop saved versions once no open snapshot reads them")
+		void shouldDropSavedVersionsOnceSnapshotsAreClosed() {
+				//given
+				var versions = new RepositoryVersions(true);
+				var rocket = new Rocket("rocket1", "Red Dragon");
+				var epoch = versions.open();
+
+				//when
+				versions.beginChange();
+				versions.saveRocket(rocket);
+				rocket.setStatus(RocketStatus.IN_REPAIR);
+				versions.endChange();
+				var statusInSnapshot = versions.rocketAt(epoch, "rocket1", rocket).status();
+				var versionedWhileOpen = versions.versionedCount();
+				versions.close(epoch);
+
+				//then
+				assertThat(statusInSnapshot).isEqualTo(RocketStatus.ON_GROUND);
+				assertThat(versionedWhileOpen).isEqualTo(1);
+				assertThat(versions.versionedCount()).isZero();
+		}
+
+		@Test
+		@DisplayName("Should not open snapshot when snapshots are not enabled")
+		void shouldNotOpenSnapshotWhenSnapshotsAreNotEnabled() {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+				//when
+				var exception = catchException(repository::snapshot);
+
+				//then
+				assertThat(exception).isInstanceOf(IllegalStateException.class);
+				assertThat(exception.getMessage()).isEqualTo("Snapshots are not enabled");
+		}
+}
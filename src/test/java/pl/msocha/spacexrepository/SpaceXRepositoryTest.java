@@ -4,9 +4,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchException;
 import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,6 +28,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import pl.msocha.spacexrepository.model.Mission;
 import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.RejectedAssignment;
+import pl.msocha.spacexrepository.model.RejectedMissionStatus;
 import pl.msocha.spacexrepository.model.Rocket;
 import pl.msocha.spacexrepository.model.RocketStatus;
 
@@ -361,6 +373,360 @@ public class SpaceXRepositoryTest {
 						assertThat(exception).isInstanceOf(IllegalArgumentException.class);
 						assertThat(exception.getMessage()).isEqualTo("Rocket with id [%s] does not exists".formatted(nonExistingRocketId));
 				}
+				@Test
+				@DisplayName("Should throw exception when assigning Rocket already assigned to Mission")
+				void shouldThrowExceptionWhenAssigningAlreadyAssignedRocket() {
+						//given
+						var rocketId = tested.addRocket("Dragon 1");
+						var lunaMissionId = tested.addMission("Luna1");
+						var marsMissionId = tested.addMission("Mars");
+						tested.assignRocketToMission(rocketId, lunaMissionId);
+
+						//when
+						var exception = catchException(() -> tested.assignRocketToMission(rocketId, marsMissionId));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalStateException.class);
+						assertThat(exception.getMessage()).isEqualTo("Rocket is already assigned to mission");
+						assertThat(missionMap.get(marsMissionId).getRocketIds()).isEmpty();
+				}
+
+				@Test
+				@DisplayName("Should assign Rocket to exactly one Mission when assigned concurrently")
+				void shouldAssignRocketToExactlyOneMissionWhenAssignedConcurrently() throws Exception {
+						//given
+						var rocketId = tested.addRocket("Dragon 1");
+						var missionIds = IntStream.range(0, 16)
+							.mapToObj(i -> tested.addMission("Mission " + i))
+							.toList();
+						var executor = Executors.newFixedThreadPool(8);
+						var start = new CountDownLatch(1);
+
+						//when
+						var assignments = missionIds.stream()
+							.map(missionId -> executor.submit(() -> {
+									start.await();
+									try {
+											tested.assignRocketToMission(rocketId, missionId);
+											return true;
+									} catch (IllegalStateException e) {
+											return false;
+									}
+							}))
+							.toList();
+						start.countDown();
+						var successfulAssignments = 0;
+						for (var assignment : assignments) {
+								successfulAssignments += assignment.get() ? 1 : 0;
+						}
+						executor.shutdown();
+
+						//then
+						assertThat(successfulAssignments).isEqualTo(1);
+						assertThat(missionMap.values())
+							.filteredOn(mission -> mission.getRocketIds().contains(rocketId))
+							.hasSize(1)
+							.extracting(Mission::getId)
+							.containsExactly(rocketMap.get(rocketId).getMissionId());
+				}
+		}
+
+		@Nested
+		@DisplayName("Batch Operations Tests")
+		class BatchOperationsTests {
+
+				@Test
+				@DisplayName("Should create and store all Rockets from batch")
+				void shouldCreateAndStoreAllRocketsFromBatch() {
+						//when
+						var rocketIds = tested.addRockets(List.of("Dragon 1", "Dragon 2"));
+
+						//then
+						assertThat(rocketIds).hasSize(2);
+						assertThat(rocketIds)
+							.extracting(rocketMap::get)
+							.extracting("name", "status")
+							.containsExactly(
+								tuple("Dragon 1", RocketStatus.ON_GROUND),
+								tuple("Dragon 2", RocketStatus.ON_GROUND)
+							);
+				}
+
+				@Test
+				@DisplayName("Should not create any Rocket when batch contains invalid name")
+				void shouldNotCreateAnyRocketWhenBatchContainsInvalidName() {
+						//when
+						var exception = catchException(() -> tested.addRockets(List.of("Dragon 1", "")));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+						assertThat(exception.getMessage()).isEqualTo("Rocket name must not be empty");
+						assertThat(rocketMap).isEmpty();
+				}
+
+				@Test
+				@DisplayName("Should create and store all Missions from batch")
+				void shouldCreateAndStoreAllMissionsFromBatch() {
+						//when
+						var missionIds = tested.addMissions(List.of("Transit", "Luna1"));
+
+						//then
+						assertThat(missionIds)
+							.extracting(missionMap::get)
+							.extracting("name", "status")
+							.containsExactly(
+								tuple("Transit", MissionStatus.SCHEDULED),
+								tuple("Luna1", MissionStatus.SCHEDULED)
+							);
+						assertThat(tested.countMissionsByStatus(MissionStatus.SCHEDULED)).isEqualTo(2);
+				}
+
+				@Test
+				@DisplayName("Should change valid Mission statuses from batch and return rejected changes")
+				void shouldChangeValidMissionStatusesFromBatchAndReturnRejectedChanges() {
+						//given
+						var missionIds = tested.addMissions(List.of("Transit", "Luna1", "Mars", "Venus"));
+						tested.assignRocketToMission(tested.addRocket("Red Dragon"), missionIds.get(0));
+						tested.assignRocketToMission(tested.addRocket("Dragon XL"), missionIds.get(1));
+						var newStatuses = new LinkedHashMap<String, MissionStatus>();
+						newStatuses.put(missionIds.get(0), MissionStatus.IN_PROGRESS);
+						newStatuses.put(missionIds.get(1), MissionStatus.ENDED);
+						newStatuses.put(missionIds.get(2), MissionStatus.IN_PROGRESS);
+						newStatuses.put(missionIds.get(3), MissionStatus.ENDED);
+						newStatuses.put("mission404", MissionStatus.ENDED);
+
+						//when
+						var rejected = tested.setMissionStatuses(newStatuses);
+
+						//then
+						assertThat(rejected)
+							.extracting(RejectedMissionStatus::getMissionId, RejectedMissionStatus::getNewStatus, RejectedMissionStatus::getReason)
+							.containsExactly(
+								tuple("mission404", MissionStatus.ENDED, "Mission to change status is not in repository"),
+								tuple(missionIds.get(1), MissionStatus.ENDED, "Mission still has assigned rockets"),
+								tuple(missionIds.get(2), MissionStatus.IN_PROGRESS, "Mission does not have any Rockets assigned")
+							);
+						assertThat(missionIds)
+							.extracting(missionId -> missionMap.get(missionId).getStatus())
+							.containsExactly(MissionStatus.IN_PROGRESS, MissionStatus.SCHEDULED, MissionStatus.SCHEDULED, MissionStatus.ENDED);
+						assertThat(tested.findMissionsByStatus(MissionStatus.ENDED)).containsExactly(missionIds.get(3));
+				}
+
+				@Test
+				@DisplayName("Should assign all Rockets from batch to Mission")
+				void shouldAssignAllRocketsFromBatchToMission() {
+						//given
+						var missionId = tested.addMission("Transit");
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL"));
+
+						//when
+						tested.assignRocketsToMission(missionId, rocketIds);
+
+						//then
+						assertThat(missionMap.get(missionId).getRocketIds()).containsExactlyInAnyOrderElementsOf(rocketIds);
+						assertThat(rocketIds)
+							.extracting(rocketMap::get)
+							.extracting("missionId", "status")
+							.containsOnly(tuple(missionId, RocketStatus.IN_SPACE));
+				}
+
+				@Test
+				@DisplayName("Should not assign any Rocket when one Rocket from batch is already assigned")
+				void shouldNotAssignAnyRocketWhenOneRocketFromBatchIsAlreadyAssigned() {
+						//given
+						var lunaMissionId = tested.addMission("Luna1");
+						var transitMissionId = tested.addMission("Transit");
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL"));
+						tested.assignRocketToMission(rocketIds.get(1), lunaMissionId);
+
+						//when
+						var exception = catchException(() -> tested.assignRocketsToMission(transitMissionId, rocketIds));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalStateException.class);
+						assertThat(exception.getMessage()).isEqualTo("Rocket is already assigned to mission");
+						assertThat(missionMap.get(transitMissionId).getRocketIds()).isEmpty();
+						assertThat(rocketMap.get(rocketIds.get(0)).getMissionId()).isNull();
+						assertThat(rocketMap.get(rocketIds.get(0)).getStatus()).isEqualTo(RocketStatus.ON_GROUND);
+				}
+
+				@Test
+				@DisplayName("Should assign valid Rockets to many Missions and return rejected assignments")
+				void shouldAssignValidRocketsToManyMissionsAndReturnRejectedAssignments() {
+						//given
+						var transitMissionId = tested.addMission("Transit");
+						var lunaMissionId = tested.addMission("Luna1");
+						var endedMissionId = tested.addMission("Mars");
+						tested.setMissionStatus(endedMissionId, MissionStatus.ENDED);
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL", "Falcon 9", "Falcon Heavy", "Starship"));
+						tested.assignRocketToMission(rocketIds.get(4), lunaMissionId);
+						var assignments = new LinkedHashMap<String, List<String>>();
+						assignments.put(transitMissionId, List.of(rocketIds.get(0), rocketIds.get(1), rocketIds.get(1), "ghostRocket"));
+						assignments.put(lunaMissionId, List.of(rocketIds.get(1), rocketIds.get(2), rocketIds.get(4)));
+						assignments.put(endedMissionId, List.of(rocketIds.get(3)));
+						assignments.put("mission404", List.of(rocketIds.get(3)));
+
+						//when
+						var rejected = tested.assignRocketsToMissions(assignments);
+
+						//then
+						assertThat(rejected)
+							.extracting(RejectedAssignment::getMissionId, RejectedAssignment::getRocketId, RejectedAssignment::getReason)
+							.containsExactly(
+								tuple(transitMissionId, "ghostRocket", "Rocket with id [ghostRocket] does not exists"),
+								tuple(lunaMissionId, rocketIds.get(1), "Rocket is already assigned to mission"),
+								tuple(lunaMissionId, rocketIds.get(4), "Rocket is already assigned to mission"),
+								tuple(endedMissionId, rocketIds.get(3), "Mission is already ended"),
+								tuple("mission404", rocketIds.get(3), "Mission with id [mission404] does not exists")
+							);
+						assertThat(missionMap.get(transitMissionId).getRocketIds()).containsExactly(rocketIds.get(0), rocketIds.get(1));
+						assertThat(missionMap.get(lunaMissionId).getRocketIds()).containsExactlyInAnyOrder(rocketIds.get(2), rocketIds.get(4));
+						assertThat(rocketMap.get(rocketIds.get(3)).getMissionId()).isNull();
+						assertThat(tested.countRocketsByStatus(RocketStatus.IN_SPACE)).isEqualTo(4);
+						assertThat(tested.getMissionsSummary())
+							.extracting(MissionSummary::getMissionName, summary -> summary.getRockets().size())
+							.containsExactly(tuple("Transit", 2), tuple("Luna1", 2), tuple("Mars", 0));
+				}
+
+				@Test
+				@DisplayName("Should change statuses of all Rockets from batch and move their Mission to PENDING")
+				void shouldChangeStatusesOfAllRocketsFromBatch() {
+						//given
+						var missionId = tested.addMission("Transit");
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL"));
+						tested.assignRocketsToMission(missionId, rocketIds);
+
+						//when
+						tested.setRocketStatuses(Map.of(
+							rocketIds.get(0), RocketStatus.ON_GROUND,
+							rocketIds.get(1), RocketStatus.IN_REPAIR
+						));
+
+						//then
+						assertThat(rocketMap.get(rocketIds.get(0)).getStatus()).isEqualTo(RocketStatus.ON_GROUND);
+						assertThat(rocketMap.get(rocketIds.get(1)).getStatus()).isEqualTo(RocketStatus.IN_REPAIR);
+						assertThat(missionMap.get(missionId).getStatus()).isEqualTo(MissionStatus.PENDING);
+				}
+
+				@Test
+				@DisplayName("Should not change any status when batch contains Rocket not in repository")
+				void shouldNotChangeAnyStatusWhenBatchContainsRocketNotInRepository() {
+						//given
+						var rocketId = tested.addRocket("Red Dragon");
+
+						//when
+						var exception = catchException(() -> tested.setRocketStatuses(Map.of(
+							rocketId, RocketStatus.IN_SPACE,
+							"ghostRocket", RocketStatus.IN_SPACE
+						)));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalStateException.class);
+						assertThat(exception.getMessage()).isEqualTo("Rocket to change status is not in repository");
+						assertThat(rocketMap.get(rocketId).getStatus()).isEqualTo(RocketStatus.ON_GROUND);
+				}
+		}
+
+		@Nested
+		@DisplayName("Status Index Tests")
+		class StatusIndexTests {
+
+				@Test
+				@DisplayName("Should find Rockets and Missions by status")
+				void shouldFindRocketsAndMissionsByStatus() {
+						//given
+						var transitMissionId = tested.addMission("Transit");
+						var lunaMissionId = tested.addMission("Luna1");
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL", "Falcon Heavy"));
+						tested.assignRocketsToMission(transitMissionId, rocketIds.subList(0, 2));
+
+						//when
+						tested.setRocketStatus(rocketIds.get(1), RocketStatus.IN_REPAIR);
+
+						//then
+						assertThat(tested.findRocketsByStatus(RocketStatus.IN_SPACE)).containsExactly(rocketIds.get(0));
+						assertThat(tested.findRocketsByStatus(RocketStatus.IN_REPAIR)).containsExactly(rocketIds.get(1));
+						assertThat(tested.findRocketsByStatus(RocketStatus.ON_GROUND)).containsExactly(rocketIds.get(2));
+						assertThat(tested.findMissionsByStatus(MissionStatus.PENDING)).containsExactly(transitMissionId);
+						assertThat(tested.findMissionsByStatus(MissionStatus.SCHEDULED)).containsExactly(lunaMissionId);
+						assertThat(tested.countRocketsByStatus(RocketStatus.IN_SPACE)).isEqualTo(1);
+						assertThat(tested.countMissionsByStatus(MissionStatus.IN_PROGRESS)).isZero();
+				}
+
+				@Test
+				@DisplayName("Should index Rockets and Missions stored before repository was created")
+				void shouldIndexRocketsAndMissionsStoredBeforeRepositoryWasCreated() {
+						//given
+						var rocket = new Rocket("rocket1", "Red Dragon");
+						rocket.setStatus(RocketStatus.IN_REPAIR);
+						var storedRockets = new ConcurrentHashMap<String, Rocket>();
+						storedRockets.put(rocket.getId(), rocket);
+						var ghostRocket = new Rocket("ghostRocket", "Ghost");
+						ghostRocket.setStatus(RocketStatus.IN_REPAIR);
+						storedRockets.put(ghostRocket.getId(), ghostRocket);
+						var storedMissions = new ConcurrentHashMap<String, Mission>();
+						storedMissions.put("mission1", new Mission("mission1", "Luna1"));
+
+						//when
+						var repository = new SpaceXRepository(storedRockets, storedMissions);
+
+						//then
+						assertThat(repository.findRocketsByStatus(RocketStatus.IN_REPAIR)).containsExactlyInAnyOrder("rocket1", "ghostRocket");
+						assertThat(repository.findRocketsByStatus(RocketStatus.IN_REPAIR)).contains("ghostRocket").doesNotContain("rocket2");
+						assertThat(repository.countRocketsByStatus(RocketStatus.IN_REPAIR)).isEqualTo(2);
+						assertThat(repository.findMissionsByStatus(MissionStatus.SCHEDULED)).containsExactly("mission1");
+				}
+
+				@Test
+				@DisplayName("Should count Rockets of a Mission by status")
+				void shouldCountMissionRocketsByStatus() {
+						//given
+						var missionId = tested.addMission("Transit");
+						var rocketIds = tested.addRockets(List.of("Red Dragon", "Dragon XL", "Falcon Heavy"));
+						tested.assignRocketsToMission(missionId, rocketIds);
+
+						//when
+						tested.setRocketStatuses(Map.of(rocketIds.get(0), RocketStatus.IN_REPAIR, rocketIds.get(1), RocketStatus.ON_GROUND));
+						tested.setRocketStatus(rocketIds.get(0), RocketStatus.IN_SPACE);
+						tested.setRocketStatus(rocketIds.get(2), RocketStatus.IN_REPAIR);
+
+						//then
+						assertThat(tested.countMissionRocketsByStatus(missionId, RocketStatus.IN_SPACE)).isEqualTo(1);
+						assertThat(tested.countMissionRocketsByStatus(missionId, RocketStatus.ON_GROUND)).isEqualTo(1);
+						assertThat(tested.countMissionRocketsByStatus(missionId, RocketStatus.IN_REPAIR)).isEqualTo(1);
+				}
+
+				@Test
+				@DisplayName("Should count Rockets of a Mission stored before repository was created")
+				void shouldCountRocketsOfMissionStoredBeforeRepositoryWasCreated() {
+						//given
+						var rocket = new Rocket("rocket1", "Red Dragon");
+						rocket.setStatus(RocketStatus.IN_REPAIR);
+						rocket.setMissionId("mission1");
+						var mission = new Mission("mission1", "Luna1");
+						mission.addRocket(rocket.getId());
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(Map.of("rocket1", rocket)),
+							new ConcurrentHashMap<>(Map.of("mission1", mission)));
+
+						//when
+						repository.setRocketStatus("rocket1", RocketStatus.IN_SPACE);
+						repository.setMissionStatus("mission1", MissionStatus.IN_PROGRESS);
+
+						//then
+						assertThat(repository.countMissionRocketsByStatus("mission1", RocketStatus.IN_REPAIR)).isZero();
+						assertThat(repository.countMissionRocketsByStatus("mission1", RocketStatus.IN_SPACE)).isEqualTo(1);
+				}
+
+				@Test
+				@DisplayName("Should throw exception when finding by null status")
+				void shouldThrowExceptionWhenFindingByNullStatus() {
+						//when
+						var exception = catchException(() -> tested.findRocketsByStatus(null));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+						assertThat(exception.getMessage()).isEqualTo("Status must not be null");
+				}
 		}
 
 		@Nested
@@ -459,6 +825,328 @@ public class SpaceXRepositoryTest {
 							);
 				}
 
+				@Test
+				@DisplayName("Should include Missions stored before repository was created")
+				void shouldIncludeMissionsStoredBeforeRepositoryWasCreated() {
+						//given
+						var storedMissions = new ConcurrentHashMap<String, Mission>();
+						storedMissions.put("mission1", new Mission("mission1", "Luna1"));
+						storedMissions.put("mission2", new Mission("mission2", "Mars"));
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), storedMissions);
+
+						var rocketId = repository.addRocket("Dragon 1");
+						repository.assignRocketToMission(rocketId, "mission1");
+
+						//when
+						var summary = repository.getMissionsSummary();
+
+						//then
+						assertThat(summary)
+							.extracting("missionName")
+							.containsExactly("Luna1", "Mars");
+				}
+
+				@Test
+				@DisplayName("Should keep Missions with the same name in summary")
+				void shouldKeepMissionsWithTheSameNameInSummary() {
+						//given
+						tested.addMission("Luna");
+						tested.addMission("Luna");
+
+						//when
+						var summary = tested.getMissionsSummary();
+
+						//then
+						assertThat(summary)
+							.extracting("missionName")
+							.containsExactly("Luna", "Luna");
+				}
+
+				@Test
+				@DisplayName("Should reuse summary of unchanged Mission and rebuild summary of changed one")
+				void shouldReuseSummaryOfUnchangedMissionAndRebuildChangedOne() {
+						//given
+						var transitMissionId = tested.addMission("Transit");
+						tested.addMission("Luna1");
+						var rocketId = tested.addRocket("Red Dragon");
+						tested.assignRocketToMission(rocketId, transitMissionId);
+						var firstSummary = tested.getMissionsSummary();
+
+						//when
+						tested.setRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+						var secondSummary = tested.getMissionsSummary();
+
+						//then
+						assertThat(secondSummary.get(1)).isSameAs(firstSummary.get(1));
+						assertThat(secondSummary.get(0)).isNotSameAs(firstSummary.get(0));
+						assertThat(secondSummary.get(0).getMissionStatus()).isEqualTo(MissionStatus.PENDING);
+						assertThat(secondSummary.get(0).getRockets())
+							.extracting("rocketName", "rocketStatus")
+							.containsExactly(tuple("Red Dragon", RocketStatus.IN_REPAIR));
+				}
+
+				@Test
+				@DisplayName("Should page through missions summary in summary order")
+				void shouldPageThroughMissionsSummaryInSummaryOrder() {
+						//given
+						var transitMissionId = tested.addMission("Transit");
+						tested.addMission("Mars");
+						tested.addMission("Luna2");
+						tested.addMission("Luna1");
+						tested.assignRocketToMission(tested.addRocket("Red Dragon"), transitMissionId);
+
+						//when
+						var firstPage = tested.getMissionsSummary(null, 3);
+						var secondPage = tested.getMissionsSummary(firstPage.getNextCursor(), 3);
+
+						//then
+						assertThat(firstPage.getMissionSummaries())
+							.extracting("missionName")
+							.containsExactly("Transit", "Mars", "Luna2");
+						assertThat(firstPage.getNextCursor()).isNotNull();
+						assertThat(secondPage.getMissionSummaries())
+							.extracting("missionName")
+							.containsExactly("Luna1");
+						assertThat(secondPage.getNextCursor()).isNull();
+				}
+
+				@Test
+				@DisplayName("Should page through Missions which identifiers and names contain cursor separator")
+				void shouldPageThroughMissionsWithSeparatorInIdentifiers() {
+						//given
+						var missions = new ConcurrentHashMap<String, Mission>();
+						Stream.of(new Mission("mission:a", "Luna"), new Mission("mission:b", "Luna"), new Mission("mission:c:1", "Luna:1"))
+							.forEach(mission -> missions.put(mission.getId(), mission));
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), missions);
+
+						//when
+						var pagedMissions = new ArrayList<MissionSummary>();
+						String cursor = null;
+						// Pages are bounded, so cursor resuming at a wrong position fails instead of looping
+						for (int pages = 0; pages < 5 && (pages == 0 || cursor != null); pages++) {
+								var page = repository.getMissionsSummary(cursor, 1);
+								pagedMissions.addAll(page.getMissionSummaries());
+								cursor = page.getNextCursor();
+						}
+
+						//then
+						assertThat(cursor).isNull();
+						assertThat(pagedMissions).extracting("missionName").containsExactly("Luna:1", "Luna", "Luna");
+				}
+
+				@Test
+				@DisplayName("Should throw exception on invalid cursor")
+				void shouldThrowExceptionOnInvalidCursor() {
+						//when
+						var exception = catchException(() -> tested.getMissionsSummary("not-a-cursor", 10));
+
+						//then
+						assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+						assertThat(exception.getMessage()).isEqualTo("Invalid cursor [not-a-cursor]");
+				}
+
+				@Test
+				@DisplayName("Should return top Missions by Rocket count")
+				void shouldReturnTopMissionsByRocketCount() {
+						//given
+						var transitMissionId = tested.addMission("Transit");
+						var lunaMissionId = tested.addMission("Luna1");
+						tested.addMission("Mars");
+						tested.assignRocketsToMission(transitMissionId, tested.addRockets(List.of("Red Dragon", "Dragon XL")));
+						tested.assignRocketToMission(tested.addRocket("Dragon 1"), lunaMissionId);
+
+						//when
+						var topMissions = tested.topMissions(2);
+
+						//then
+						assertThat(topMissions)
+							.extracting("missionName")
+							.containsExactly("Transit", "Luna1");
+				}
+
+				@Test
+				@DisplayName("Should merge summaries of shards in summary order")
+				void shouldMergeSummariesOfShardsInSummaryOrder() {
+						//given
+						var sharded = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().shards(4).build());
+						for (int i = 1; i <= 40; i++) {
+								var missionId = sharded.addMission("Mission " + (i % 7));
+								var missionRocketIds = sharded.addRockets(IntStream.range(0, i % 5).mapToObj(j -> "Dragon").toList());
+								sharded.assignRocketsToMission(missionId, missionRocketIds);
+						}
+
+						//when
+						var summary = sharded.getMissionsSummary();
+						var firstPage = sharded.getMissionsSummary(null, 25);
+						var secondPage = sharded.getMissionsSummary(firstPage.getNextCursor(), 25);
+
+						//then
+						assertThat(summary).hasSize(40);
+						assertThat(summary).isSortedAccordingTo((first, second) -> {
+								var rocketCountCompare = Integer.compare(second.getRockets().size(), first.getRockets().size());
+								return rocketCountCompare != 0 ? rocketCountCompare : second.getMissionName().compareTo(first.getMissionName());
+						});
+						assertThat(Stream.concat(firstPage.getMissionSummaries().stream(), secondPage.getMissionSummaries().stream()).toList())
+							.containsExactlyElementsOf(summary);
+						assertThat(secondPage.getNextCursor()).isNull();
+				}
+
+				@Test
+				@DisplayName("Should find and count Missions by status across shards")
+				void shouldFindAndCountMissionsByStatusAcrossShards() {
+						//given
+						var sharded = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().shards(4).build());
+						var missionIds = new ArrayList<String>();
+						for (int i = 0; i < 20; i++) {
+								missionIds.add(sharded.addMission("Mission " + i));
+						}
+						var endedMissionIds = missionIds.subList(0, 7);
+						endedMissionIds.forEach(missionId -> sharded.setMissionStatus(missionId, MissionStatus.ENDED));
+
+						//when
+						var ended = sharded.findMissionsByStatus(MissionStatus.ENDED);
+						var scheduled = sharded.findMissionsByStatus(MissionStatus.SCHEDULED);
+
+						//then
+						assertThat(ended).containsExactlyInAnyOrderElementsOf(endedMissionIds);
+						assertThat(ended).contains(endedMissionIds.get(0)).doesNotContain(missionIds.get(7));
+						assertThat(scheduled).containsExactlyInAnyOrderElementsOf(missionIds.subList(7, 20));
+						assertThat(sharded.countMissionsByStatus(MissionStatus.SCHEDULED)).isEqualTo(13);
+				}
+
+				@Test
+				@DisplayName("Should create summary in fork-join pool in sequential order")
+				void shouldCreateSummaryInForkJoinPoolInSequentialOrder() {
+						//given
+						var pool = new ForkJoinPool(4);
+						var parallel = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().summaryPool(pool).parallelSummaryThreshold(100).build());
+						for (int i = 1; i <= 500; i++) {
+								var missionId = parallel.addMission("Mission " + (i % 13));
+								parallel.assignRocketsToMission(missionId, parallel.addRockets(Collections.nCopies(i % 4, "Dragon")));
+						}
+
+						//when
+						var summary = parallel.getMissionsSummary();
+						pool.shutdown();
+
+						//then
+						assertThat(summary).containsExactlyElementsOf(parallel.getMissionsSummary(null, 500).getMissionSummaries());
+				}
+
+				@Test
+				@DisplayName("Should create summary of many shards in fork-join pool in summary order")
+				void shouldCreateSummaryOfManyShardsInForkJoinPoolInSummaryOrder() {
+						//given
+						var pool = new ForkJoinPool(4);
+						var options = RepositoryOptions.builder().shards(8).summaryPool(pool).parallelSummaryThreshold(100);
+						var parallel = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), options.build());
+						var sequential = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), options.summaryPool(null).build());
+						for (int i = 1; i <= 500; i++) {
+								for (var repository : List.of(parallel, sequential)) {
+										var missionId = repository.addMission("Mission " + (i % 13));
+										repository.assignRocketsToMission(missionId, repository.addRockets(Collections.nCopies(i % 4, "Dragon")));
+								}
+						}
+
+						//when
+						var summary = parallel.getMissionsSummary();
+						pool.shutdown();
+
+						//then
+						assertThat(summary)
+							.usingRecursiveFieldByFieldElementComparator()
+							.containsExactlyElementsOf(sequential.getMissionsSummary());
+				}
+
+				@Test
+				@DisplayName("Should visit Missions summary in summary order")
+				void shouldVisitMissionsSummaryInSummaryOrder() {
+						//given
+						for (int i = 1; i <= 20; i++) {
+								var missionId = tested.addMission("Mission " + (i % 6));
+								tested.assignRocketsToMission(missionId, tested.addRockets(Collections.nCopies(i % 3, "Dragon " + i)));
+						}
+						var expected = tested.getMissionsSummary().stream()
+							.map(summary -> summary.getMissionName() + ":" + summary.getMissionStatus() + summary.getRockets().stream()
+								.map(rocket -> rocket.getRocketName() + ":" + rocket.getRocketStatus())
+								.toList())
+							.toList();
+						var visited = new ArrayList<String>();
+
+						//when
+						tested.forEachMissionSummary(new MissionSummaryVisitor() {
+
+								final List<String> rockets = new ArrayList<>();
+								String mission;
+
+								@Override
+								public void missionStart(String missionName, MissionStatus missionStatus) {
+										mission = missionName + ":" + missionStatus;
+										rockets.clear();
+								}
+
+								@Override
+								public void rocket(String rocketName, RocketStatus rocketStatus) {
+										rockets.add(rocketName + ":" + rocketStatus);
+								}
+
+								@Override
+								public void missionEnd() {
+										visited.add(mission + rockets);
+								}
+						});
+
+						//then
+						assertThat(visited).containsExactlyElementsOf(expected);
+				}
+
+				@Test
+				@DisplayName("Should not repeat Missions in summary while their Rocket counts change")
+				void shouldNotRepeatMissionsInSummaryWhileTheirRocketCountsChange() throws Exception {
+						//given
+						var missionIds = IntStream.range(0, 64)
+							.mapToObj(i -> tested.addMission("Mission " + i))
+							.toList();
+						var rocketIds = tested.addRockets(Collections.nCopies(2_000, "Dragon"));
+						var executor = Executors.newSingleThreadExecutor();
+						var assigning = executor.submit(() -> {
+								for (int i = 0; i < rocketIds.size(); i++) {
+										tested.assignRocketToMission(rocketIds.get(i), missionIds.get(i * 7 % missionIds.size()));
+								}
+						});
+						var summaries = new ArrayList<List<String>>();
+
+						//when
+						while (!assigning.isDone()) {
+								summaries.add(tested.getMissionsSummary().stream().map(MissionSummary::getMissionName).toList());
+								var visited = new ArrayList<String>();
+								tested.forEachMissionSummary(new MissionSummaryVisitor() {
+
+										@Override
+										public void missionStart(String missionName, MissionStatus missionStatus) {
+												visited.add(missionName);
+										}
+
+										@Override
+										public void rocket(String rocketName, RocketStatus rocketStatus) {
+										}
+
+										@Override
+										public void missionEnd() {
+										}
+								});
+								summaries.add(visited);
+						}
+						assigning.get();
+						executor.shutdown();
+
+						//then
+						assertThat(summaries).allSatisfy(names -> assertThat(names).doesNotHaveDuplicates());
+				}
+
 				@Test
 				@DisplayName("Should handle empty repository")
 				void shouldHandleEmptyRepository() {
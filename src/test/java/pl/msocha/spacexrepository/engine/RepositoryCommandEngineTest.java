@@ -0,0 +1,196 @@
+package pl.msocha.spacexrepository.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.journal.RepositoryJournal;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryCommandEngineTest {
+
+		@TempDir
+		Path directory;
+
+		@Test
+		@DisplayName("Should apply commands in submission order and complete futures with results")
+		void shouldApplyCommandsInOrder() throws Exception {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+				try (var tested = new RepositoryCommandEngine(repository)) {
+						//when
+						var missionId = tested.addMission("Transit").get(5, TimeUnit.SECONDS);
+						var rocketId = tested.addRocket("Red Dragon").get(5, TimeUnit.SECONDS);
+						tested.assignRocketToMission(rocketId, missionId);
+						tested.setRocketStatus(rocketId, RocketStatus.IN_REPAIR).get(5, TimeUnit.SECONDS);
+						var summary = tested.getMissionsSummary().get(5, TimeUnit.SECONDS);
+
+						//then
+						assertThat(summary).hasSize(1);
+						assertThat(summary.get(0).getMissionStatus()).isEqualTo(MissionStatus.PENDING);
+						assertThat(summary.get(0).getRockets()).hasSize(1);
+				}
+		}
+
+		@Test
+		@DisplayName("Should complete future exceptionally when command is rejected")
+		void shouldCompleteExceptionallyWhenRejected() {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+				try (var tested = new RepositoryCommandEngine(repository)) {
+						//when
+						var result = tested.assignRocketToMission("rocket404", "mission404");
+
+						//then
+						assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+							.isInstanceOf(ExecutionException.class)
+							.hasCauseInstanceOf(IllegalArgumentException.class);
+				}
+		}
+
+		@Test
+		@DisplayName("Should keep applying commands after command fails with an error")
+		void shouldKeepApplyingCommandsAfterError() throws Exception {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()) {
+						@Override
+						public String addMission(String missionName) {
+								throw new AssertionError("Mission can't be added");
+						}
+				};
+
+				try (var tested = new RepositoryCommandEngine(repository)) {
+						//when
+						var failed = tested.addMission("Transit");
+						var rocketId = tested.addRocket("Red Dragon").get(5, TimeUnit.SECONDS);
+
+						//then
+						assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS))
+							.isInstanceOf(ExecutionException.class)
+							.hasCauseInstanceOf(AssertionError.class);
+						assertThat(tested.findRocketsByStatus(RocketStatus.ON_GROUND).join()).containsExactly(rocketId);
+				}
+		}
+
+		@Test
+		@DisplayName("Should apply all commands of concurrent callers when buffer is smaller than number of commands")
+		void shouldApplyAllCommandsOfConcurrentCallers() {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				var executor = Executors.newFixedThreadPool(8);
+
+				try (var tested = new RepositoryCommandEngine(repository, 8)) {
+						var missionId = tested.addMission("Transit").join();
+
+						//when
+						var results = new ArrayList<CompletableFuture<Void>>();
+						for (int i = 0; i < 8; i++) {
+								results.add(CompletableFuture.runAsync(() -> {
+										for (int j = 0; j < 1000; j++) {
+												tested.addRocket("Dragon").thenCompose(rocketId -> tested.assignRocketToMission(rocketId, missionId));
+										}
+								}, executor));
+						}
+						CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+				} finally {
+						executor.shutdown();
+				}
+
+				//then
+				assertThat(repository.getMissionsSummary().get(0).getRockets()).hasSize(8000);
+		}
+
+		@Test
+		@DisplayName("Should complete journaled commands applied in batches only once they are durable")
+		void shouldCompleteJournaledCommandsOnceDurable() {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				var rocketIds = new ArrayList<CompletableFuture<String>>();
+
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						try (var tested = new RepositoryCommandEngine(repository)) {
+								//when
+								for (int i = 0; i < 5000; i++) {
+										rocketIds.add(tested.addRocket("Dragon"));
+								}
+								rocketIds.forEach(CompletableFuture::join);
+						}
+				}
+
+				//then
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var restored = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						assertThat(restored.findRocketsByStatus(RocketStatus.ON_GROUND))
+							.containsExactlyInAnyOrderElementsOf(rocketIds.stream().map(CompletableFuture::join).toList());
+				}
+		}
+
+		@Test
+		@DisplayName("Should close engine from dependent action running on writer thread")
+		void shouldCloseFromDependentActionOnWriterThread() throws Exception {
+				//given
+				var callbackAttached = new CountDownLatch(1);
+				var rockets = new ConcurrentHashMap<String, Rocket>() {
+						@Override
+						public Rocket put(String key, Rocket value) {
+								// Writer is held until dependent action is attached, so the action runs on writer thread
+								awaitUninterruptibly(callbackAttached);
+								return super.put(key, value);
+						}
+				};
+				var tested = new RepositoryCommandEngine(new SpaceXRepository(rockets, new ConcurrentHashMap<>()));
+				var closingThread = new AtomicReference<String>();
+
+				//when
+				var closed = tested.addRocket("Red Dragon").thenRun(() -> {
+						closingThread.set(Thread.currentThread().getName());
+						tested.close();
+				});
+				callbackAttached.countDown();
+				closed.get(5, TimeUnit.SECONDS);
+
+				//then
+				assertThat(closingThread.get()).isEqualTo("spacex-repository-writer");
+				assertThat(tested.addRocket("Dragon XL")).isCompletedExceptionally();
+				tested.close();
+		}
+
+		@Test
+		@DisplayName("Should reject commands after engine is closed")
+		void shouldRejectCommandsAfterClose() {
+				//given
+				var tested = new RepositoryCommandEngine(new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+				tested.close();
+
+				//when
+				var result = tested.addRocket("Red Dragon");
+
+				//then
+				assertThat(result).isCompletedExceptionally();
+		}
+
+		private static void awaitUninterruptibly(CountDownLatch latch) {
+				try {
+						latch.await();
+				} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+				}
+		}
+}
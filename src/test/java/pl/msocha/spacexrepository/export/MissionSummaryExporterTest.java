@@ -0,0 +1,129 @@
+package pl.msocha.spacexrepository.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.MissionSummaryVisitor;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class MissionSummaryExporterTest {
+
+		@TempDir
+		Path directory;
+
+		@Test
+		@DisplayName("Should export Missions summary and read it back in summary order")
+		void shouldExportAndReadMissionsSummaryInSummaryOrder() throws Exception {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				for (int i = 1; i <= 30; i++) {
+						var missionId = repository.addMission("Mission " + (i % 7) + " ✓ 🚀");
+						repository.assignRocketsToMission(missionId, repository.addRockets(Collections.nCopies(i % 4, "Dragon Ł" + i)));
+				}
+				repository.addMission("Luna1");
+				var expected = repository.getMissionsSummary().stream()
+					.map(summary -> summary.getMissionName() + ":" + summary.getMissionStatus() + summary.getRockets().stream()
+						.map(rocket -> rocket.getRocketName() + ":" + rocket.getRocketStatus())
+						.toList())
+					.toList();
+				var exportPath = directory.resolve("summary.bin");
+				// Small buffer makes every export flush many times
+				var tested = new MissionSummaryExporter(64);
+
+				//when
+				int exported;
+				try (var channel = FileChannel.open(exportPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+						exported = tested.export(repository, channel);
+				}
+				var reader = MissionSummaryReader.of(exportPath);
+				var collected = new CollectingVisitor();
+				var read = reader.accept(collected);
+
+				//then
+				assertThat(exported).isEqualTo(31);
+				assertThat(read).isEqualTo(31);
+				assertThat(collected.missions).containsExactlyElementsOf(expected);
+		}
+
+		@Test
+		@DisplayName("Should expose names as views of read buffer")
+		void shouldExposeNamesAsViewsOfReadBuffer() {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				var missionId = repository.addMission("Transit");
+				repository.assignRocketToMission(repository.addRocket("Red Dragon"), missionId);
+				var output = new ByteArrayOutputStream();
+				new MissionSummaryExporter().export(repository, Channels.newChannel(output));
+
+				//when
+				var tested = MissionSummaryReader.of(ByteBuffer.wrap(output.toByteArray()));
+
+				//then
+				assertThat(tested.next()).isEqualTo(MissionSummaryReader.Record.MISSION);
+				assertThat(StandardCharsets.UTF_8.decode(tested.nameBytes()).toString()).isEqualTo("Transit");
+				assertThat(tested.missionStatus()).isEqualTo(MissionStatus.SCHEDULED);
+				assertThat(tested.next()).isEqualTo(MissionSummaryReader.Record.ROCKET);
+				assertThat(tested.name()).isEqualTo("Red Dragon");
+				assertThat(tested.rocketStatus()).isEqualTo(RocketStatus.IN_SPACE);
+				assertThat(tested.next()).isEqualTo(MissionSummaryReader.Record.END);
+		}
+
+		@Test
+		@DisplayName("Should reject truncated export")
+		void shouldRejectTruncatedExport() {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				repository.addMission("Transit");
+				var output = new ByteArrayOutputStream();
+				new MissionSummaryExporter().export(repository, Channels.newChannel(output));
+				var bytes = output.toByteArray();
+				var tested = MissionSummaryReader.of(ByteBuffer.wrap(bytes, 0, bytes.length - 2));
+
+				//when
+				var exception = catchException(() -> tested.accept(new CollectingVisitor()));
+
+				//then
+				assertThat(exception)
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Missions summary export is truncated");
+		}
+
+		private static class CollectingVisitor implements MissionSummaryVisitor {
+
+				final List<String> missions = new ArrayList<>();
+				final List<String> rockets = new ArrayList<>();
+				String mission;
+
+				@Override
+				public void missionStart(String missionName, MissionStatus missionStatus) {
+						mission = missionName + ":" + missionStatus;
+						rockets.clear();
+				}
+
+				@Override
+				public void rocket(String rocketName, RocketStatus rocketStatus) {
+						rockets.add(rocketName + ":" + rocketStatus);
+				}
+
+				@Override
+				public void missionEnd() {
+						missions.add(mission + rockets);
+				}
+		}
+}
@@ -0,0 +1,182 @@
+package pl.msocha.spacexrepository.history;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryHistoryTest {
+
+		ManualClock clock = new ManualClock();
+
+		@Test
+		@DisplayName("Should create missions summary as it was at given time")
+		void shouldCreateMissionsSummaryAsOfGivenTime() {
+				//given
+				var tested = repositoryWith(HistoryRetention.defaults());
+				clock.set(1000);
+				var transitMissionId = tested.addMission("Transit");
+				var redDragonId = tested.addRocket("Red Dragon");
+				clock.set(2000);
+				tested.assignRocketToMission(redDragonId, transitMissionId);
+				clock.set(3000);
+				tested.setRocketStatus(redDragonId, RocketStatus.IN_REPAIR);
+				tested.addMission("Luna1");
+
+				//when
+				var beforeMissions = tested.getMissionsSummaryAsOf(Instant.ofEpochMilli(500));
+				var beforeAssignment = tested.getMissionsSummaryAsOf(Instant.ofEpochMilli(1500));
+				var beforeRepair = tested.getMissionsSummaryAsOf(Instant.ofEpochMilli(2500));
+				var afterRepair = tested.getMissionsSummaryAsOf(Instant.ofEpochMilli(3000));
+
+				//then
+				assertThat(beforeMissions).isEmpty();
+				assertThat(beforeAssignment).extracting("missionName", "missionStatus")
+					.containsExactly(tuple("Transit", MissionStatus.SCHEDULED));
+				assertThat(beforeAssignment.get(0).getRockets()).isEmpty();
+				assertThat(beforeRepair.get(0).getRockets())
+					.extracting("rocketName", "rocketStatus")
+					.containsExactly(tuple("Red Dragon", RocketStatus.IN_SPACE));
+				assertThat(afterRepair).extracting("missionName", "missionStatus")
+					.containsExactly(tuple("Transit", MissionStatus.PENDING), tuple("Luna1", MissionStatus.SCHEDULED));
+				assertThat(afterRepair.get(0).getRockets())
+					.extracting("rocketName", "rocketStatus")
+					.containsExactly(tuple("Red Dragon", RocketStatus.IN_REPAIR));
+		}
+
+		@Test
+		@DisplayName("Should create missions summary at any time of history longer than checkpoint interval")
+		void shouldCreateMissionsSummaryAtAnyTimeOfLongHistory() {
+				//given
+				var tested = repositoryWith(HistoryRetention.defaults());
+				var missionId = tested.addMission("Transit");
+				var rocketId = tested.addRocket("Red Dragon");
+				tested.assignRocketToMission(rocketId, missionId);
+				var transitions = 5 * TransitionLogs.CHECKPOINT_INTERVAL;
+				for (int second = 1; second <= transitions; second++) {
+						clock.set(second * 1000L);
+						tested.setRocketStatus(rocketId, second % 2 == 0 ? RocketStatus.IN_SPACE : RocketStatus.IN_REPAIR);
+				}
+
+				//when //then
+				for (int second = 1; second <= transitions; second += 7) {
+						var summary = tested.getMissionsSummaryAsOf(Instant.ofEpochMilli(second * 1000L + 500));
+						assertThat(summary).extracting("missionStatus").containsExactly(MissionStatus.PENDING);
+						assertThat(summary.get(0).getRockets()).extracting("rocketStatus")
+							.containsExactly(second % 2 == 0 ? RocketStatus.IN_SPACE : RocketStatus.IN_REPAIR);
+				}
+		}
+
+		@Test
+		@DisplayName("Should record Rocket and Mission timelines including implicit PENDING")
+		void shouldRecordTimelinesIncludingImplicitPending() {
+				//given
+				var tested = repositoryWith(HistoryRetention.defaults());
+				clock.set(1000);
+				var missionId = tested.addMission("Transit");
+				var rocketId = tested.addRocket("Red Dragon");
+
+				//when
+				clock.set(2000);
+				tested.assignRocketToMission(rocketId, missionId);
+				clock.set(3000);
+				tested.setRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+
+				//then
+				assertThat(tested.getRocketTimeline(rocketId)).containsExactly(
+					new RocketTransition(Instant.ofEpochMilli(1000), RocketStatus.ON_GROUND, null),
+					new RocketTransition(Instant.ofEpochMilli(2000), RocketStatus.ON_GROUND, missionId),
+					new RocketTransition(Instant.ofEpochMilli(2000), RocketStatus.IN_SPACE, missionId),
+					new RocketTransition(Instant.ofEpochMilli(3000), RocketStatus.IN_REPAIR, missionId)
+				);
+				assertThat(tested.getMissionTimeline(missionId)).containsExactly(
+					new MissionTransition(Instant.ofEpochMilli(1000), MissionStatus.SCHEDULED),
+					new MissionTransition(Instant.ofEpochMilli(3000), MissionStatus.PENDING)
+				);
+		}
+
+		@Test
+		@DisplayName("Should fold transitions beyond retention into state they result in")
+		void shouldFoldTransitionsBeyondRetention() {
+				//given
+				var tested = repositoryWith(HistoryRetention.builder().maxTransitions(8).maxAge(Duration.ofSeconds(100)).build());
+				var missionId = tested.addMission("Transit");
+				var rocketId = tested.addRocket("Red Dragon");
+				tested.assignRocketToMission(rocketId, missionId);
+
+				//when
+				for (int second = 1; second <= 20; second++) {
+						clock.set(second * 1000L);
+						tested.setRocketStatus(rocketId, second % 2 == 0 ? RocketStatus.IN_SPACE : RocketStatus.IN_REPAIR);
+				}
+				var foldedByCount = tested.getRocketTimeline(rocketId);
+				clock.set(1_000_000);
+				tested.setRocketStatus(rocketId, RocketStatus.ON_GROUND);
+				var foldedByAge = tested.getRocketTimeline(rocketId);
+
+				//then
+				assertThat(foldedByCount).hasSizeLessThanOrEqualTo(8);
+				assertThat(foldedByCount.get(foldedByCount.size() - 1))
+					.isEqualTo(new RocketTransition(Instant.ofEpochMilli(20_000), RocketStatus.IN_SPACE, missionId));
+				assertThat(foldedByAge).containsExactly(
+					new RocketTransition(Instant.ofEpochMilli(900_000), RocketStatus.IN_SPACE, null),
+					new RocketTransition(Instant.ofEpochMilli(900_000), RocketStatus.IN_SPACE, missionId),
+					new RocketTransition(Instant.ofEpochMilli(1_000_000), RocketStatus.ON_GROUND, missionId)
+				);
+		}
+
+		@Test
+		@DisplayName("Should not allow retention without transitions")
+		void shouldNotAllowRetentionWithoutTransitions() {
+				//when //then
+				assertThatThrownBy(() -> HistoryRetention.builder().maxTransitions(0).build())
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessage("Maximal number of transitions must be positive");
+		}
+
+		private SpaceXRepository repositoryWith(HistoryRetention retention) {
+				return new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+					RepositoryOptions.builder().historyRetention(retention).clock(clock).build());
+		}
+
+		private static class ManualClock extends Clock {
+
+				private volatile long millis;
+
+				void set(long millis) {
+						this.millis = millis;
+				}
+
+				@Override
+				public long millis() {
+						return millis;
+				}
+
+				@Override
+				public Instant instant() {
+						return Instant.ofEpochMilli(millis);
+				}
+
+				@Override
+				public ZoneId getZone() {
+						return ZoneOffset.UTC;
+				}
+
+				@Override
+				public Clock withZone(ZoneId zone) {
+						return this;
+				}
+		}
+}
@@ -0,0 +1,126 @@
+package pl.msocha.spacexrepository.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryFlightRecorderTest {
+
+		@TempDir
+		Path directory;
+
+		@Test
+		@DisplayName("Should record operation events with identifiers, outcome and summary counts")
+		void shouldRecordOperationEvents() throws IOException {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				var recordingPath = directory.resolve("repository.jfr");
+
+				//when
+				try (var recording = new Recording()) {
+						var missionId = repository.addMission("Transit");
+						var rocketId = repository.addRocket("Red Dragon");
+						recording.enable(AssignRocketEvent.class);
+						recording.enable(SetRocketStatusEvent.class);
+						recording.enable(MissionsSummaryEvent.class);
+						recording.start();
+
+						repository.assignRocketToMission(rocketId, missionId);
+						assertThatThrownBy(() -> repository.setRocketStatus("rocket404", RocketStatus.IN_REPAIR))
+							.isInstanceOf(IllegalStateException.class);
+						repository.getMissionsSummary();
+
+						recording.stop();
+						recording.dump(recordingPath);
+				}
+				List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+
+				//then
+				assertThat(events)
+					.extracting(event -> event.getEventType().getName())
+					.containsExactly("pl.msocha.spacexrepository.AssignRocket", "pl.msocha.spacexrepository.SetRocketStatus",
+						"pl.msocha.spacexrepository.MissionsSummary");
+				assertThat(events.get(0).getString("rocketId")).isEqualTo("rocket1");
+				assertThat(events.get(0).getString("missionId")).isEqualTo("mission1");
+				assertThat(events.get(0).getBoolean("succeeded")).isTrue();
+				assertThat(events.get(1).getString("status")).isEqualTo("IN_REPAIR");
+				assertThat(events.get(1).getBoolean("succeeded")).isFalse();
+				assertThat(events.get(1).getString("failure")).contains("Rocket to change status is not in repository");
+				assertThat(events.get(2).getInt("missionCount")).isEqualTo(1);
+				assertThat(events.get(2).getInt("rocketCount")).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("Should record events of status queries and snapshot opening")
+		void shouldRecordStatusQueryAndSnapshotEvents() throws IOException {
+				//given
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+					RepositoryOptions.builder().snapshotsEnabled(true).build());
+				var recordingPath = directory.resolve("queries.jfr");
+				repository.addRockets(List.of("Red Dragon", "Dragon XL"));
+				var missionId = repository.addMission("Transit");
+
+				//when
+				try (var recording = new Recording()) {
+						recording.enable(FindRocketsByStatusEvent.class);
+						recording.enable(CountMissionRocketsByStatusEvent.class);
+						recording.enable(CountMissionsByStatusEvent.class);
+						recording.enable(OpenSnapshotEvent.class);
+						recording.start();
+
+						repository.findRocketsByStatus(RocketStatus.ON_GROUND);
+						repository.countMissionRocketsByStatus(missionId, RocketStatus.IN_SPACE);
+						assertThatThrownBy(() -> repository.countMissionsByStatus(null)).isInstanceOf(IllegalArgumentException.class);
+						repository.snapshot().close();
+
+						recording.stop();
+						recording.dump(recordingPath);
+				}
+				List<RecordedEvent> events = RecordingFile.readAllEvents(recordingPath);
+
+				//then
+				assertThat(events)
+					.extracting(event -> event.getEventType().getName())
+					.containsExactly("pl.msocha.spacexrepository.FindRocketsByStatus", "pl.msocha.spacexrepository.CountMissionRocketsByStatus",
+						"pl.msocha.spacexrepository.CountMissionsByStatus", "pl.msocha.spacexrepository.OpenSnapshot");
+				assertThat(events.get(0).getString("status")).isEqualTo("ON_GROUND");
+				assertThat(events.get(0).getInt("rocketCount")).isEqualTo(2);
+				assertThat(events.get(1).getString("missionId")).isEqualTo(missionId);
+				assertThat(events.get(1).getInt("rocketCount")).isZero();
+				assertThat(events.get(2).getBoolean("succeeded")).isFalse();
+				assertThat(events.get(2).getString("failure")).contains("Status must not be null");
+				assertThat(events.get(3).getBoolean("succeeded")).isTrue();
+		}
+
+		@Test
+		@DisplayName("Should not describe failure of an operation when its event is disabled")
+		void shouldNotDescribeFailureWhenEventIsDisabled() {
+				//given
+				var event = new SetRocketStatusEvent();
+				var exception = new IllegalStateException("Rocket to change status is not in repository") {
+						@Override
+						public String toString() {
+								throw new AssertionError("Failure of disabled event must not be described");
+						}
+				};
+
+				//when
+				event.failed(exception);
+
+				//then
+				assertThat(event.isEnabled()).isFalse();
+		}
+}
@@ -0,0 +1,265 @@
+package pl.msocha.spacexrepository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.journal.JournalRecord.MissionAdded;
+import pl.msocha.spacexrepository.journal.JournalRecord.RocketAdded;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryJournalTest {
+
+		@TempDir
+		Path directory;
+
+		@Test
+		@DisplayName("Should restore repository state from journal")
+		void shouldRestoreRepositoryStateFromJournal() {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						var transitMissionId = repository.addMission("Transit");
+						var lunaMissionId = repository.addMission("Luna1");
+						var rocketIds = repository.addRockets(List.of("Red Dragon", "Dragon XL"));
+						repository.assignRocketsToMission(transitMissionId, rocketIds);
+						repository.setRocketStatus(rocketIds.get(1), RocketStatus.IN_REPAIR);
+						repository.setMissionStatus(lunaMissionId, MissionStatus.ENDED);
+				}
+
+				//when
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var restored = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						var newRocketId = restored.addRocket("Falcon Heavy");
+
+						//then
+						assertThat(newRocketId).isEqualTo("rocket3");
+						var summary = restored.getMissionsSummary();
+						assertThat(summary)
+							.extracting("missionName", "missionStatus")
+							.containsExactly(
+								tuple("Transit", MissionStatus.PENDING),
+								tuple("Luna1", MissionStatus.ENDED)
+							);
+						assertThat(summary.get(0).getRockets())
+							.extracting("rocketName", "rocketStatus")
+							.containsExactlyInAnyOrder(
+								tuple("Red Dragon", RocketStatus.IN_SPACE),
+								tuple("Dragon XL", RocketStatus.IN_REPAIR)
+							);
+				}
+		}
+
+		@Test
+		@DisplayName("Should replay interleaved assignments and status changes in order they were applied")
+		void shouldReplayInterleavedAssignmentsAndStatusChanges() throws Exception {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				var executor = Executors.newFixedThreadPool(8);
+				var expectedSummary = new ArrayList<MissionSummary>();
+				var expectedInRepair = new ArrayList<String>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						var missionIds = new ArrayList<String>();
+						for (int i = 0; i < 8; i++) {
+								missionIds.add(repository.addMission("Mission " + i));
+						}
+						var rocketIds = repository.addRockets(Collections.nCopies(400, "Dragon"));
+						var tasks = new ArrayList<Future<?>>();
+
+						//when
+						for (int i = 0; i < missionIds.size(); i++) {
+								var missionId = missionIds.get(i);
+								var missionRockets = rocketIds.subList(i * 50, (i + 1) * 50);
+								tasks.add(executor.submit(() -> {
+										for (var rocketId : missionRockets) {
+												repository.assignRocketToMission(rocketId, missionId);
+												ignoreRejection(() -> repository.setMissionStatus(missionId, MissionStatus.IN_PROGRESS));
+										}
+								}));
+								tasks.add(executor.submit(() -> {
+										for (int change = 0; change < 200; change++) {
+												var rocketId = missionRockets.get(ThreadLocalRandom.current().nextInt(missionRockets.size()));
+												var status = RocketStatus.values()[ThreadLocalRandom.current().nextInt(RocketStatus.values().length)];
+												repository.setRocketStatus(rocketId, status);
+										}
+								}));
+						}
+						for (var task : tasks) {
+								task.get();
+						}
+						expectedSummary.addAll(repository.getMissionsSummary());
+						expectedInRepair.addAll(repository.findRocketsByStatus(RocketStatus.IN_REPAIR));
+				}
+				executor.shutdown();
+
+				//then
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var restored = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						assertThat(restored.getMissionsSummary())
+							.usingRecursiveFieldByFieldElementComparator()
+							.containsExactlyElementsOf(expectedSummary);
+						assertThat(restored.findRocketsByStatus(RocketStatus.IN_REPAIR)).containsExactlyInAnyOrderElementsOf(expectedInRepair);
+				}
+		}
+
+		@Test
+		@DisplayName("Should reject identifier that can't be journaled before changing anything")
+		void shouldRejectIdentifierThatCantBeJournaled() {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var rockets = new ConcurrentHashMap<String, Rocket>();
+						rockets.put("falcon", new Rocket("falcon", "Falcon 9"));
+						var repository = new SpaceXRepository(rockets, new ConcurrentHashMap<>(), journal);
+
+						//when //then
+						assertThatThrownBy(() -> repository.setRocketStatus("falcon", RocketStatus.IN_REPAIR))
+							.isInstanceOf(IllegalArgumentException.class)
+							.hasMessage("Rocket with id [falcon] can't be stored in journal");
+						assertThat(rockets.get("falcon").getStatus()).isEqualTo(RocketStatus.ON_GROUND);
+				}
+		}
+
+		@Test
+		@DisplayName("Should discard torn record at the end of journal")
+		void shouldDiscardTornRecordAtTheEndOfJournal() throws IOException {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.append(new MissionAdded("mission1", "Transit"));
+						journal.append(new MissionAdded("mission2", "Luna1"));
+				}
+				try (var channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+						channel.truncate(channel.size() - 3);
+						channel.write(ByteBuffer.wrap(new byte[]{1, 2}), channel.size());
+				}
+
+				//when
+				var replayedAfterCrash = new ArrayList<JournalRecord>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.replay(replayedAfterCrash::add);
+						journal.append(new RocketAdded("rocket1", "Red Dragon"));
+				}
+				var replayedAfterAppend = new ArrayList<JournalRecord>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.replay(replayedAfterAppend::add);
+				}
+
+				//then
+				assertThat(replayedAfterCrash).containsExactly(new MissionAdded("mission1", "Transit"));
+				assertThat(replayedAfterAppend).containsExactly(
+					new MissionAdded("mission1", "Transit"),
+					new RocketAdded("rocket1", "Red Dragon")
+				);
+		}
+
+		@Test
+		@DisplayName("Should replay journal longer than read window, with record larger than window")
+		void shouldReplayJournalLongerThanReadWindow() {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				var records = new ArrayList<JournalRecord>();
+				for (int i = 1; i <= 100_000; i++) {
+						records.add(new RocketAdded("rocket" + i, "Dragon " + i));
+				}
+				var longName = "F".repeat(2 * RepositoryJournal.READ_WINDOW_SIZE);
+				records.add(new MissionAdded("mission1", longName));
+				records.add(new MissionAdded("mission2", "Transit"));
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.append(records);
+				}
+
+				//when
+				var replayed = new ArrayList<JournalRecord>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.replay(replayed::add);
+				}
+
+				//then
+				assertThat(replayed).isEqualTo(records);
+		}
+
+		@Test
+		@DisplayName("Should make records written without waiting durable when journal is closed")
+		void shouldMakeWrittenRecordsDurableOnClose() {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.append(new MissionAdded("mission1", "Transit"));
+
+						//when
+						journal.write(List.of(new RocketAdded("rocket1", "Red Dragon"), new MissionAdded("mission2", "Luna1")));
+				}
+
+				//then
+				var replayed = new ArrayList<JournalRecord>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.replay(replayed::add);
+				}
+				assertThat(replayed).containsExactly(
+					new MissionAdded("mission1", "Transit"),
+					new RocketAdded("rocket1", "Red Dragon"),
+					new MissionAdded("mission2", "Luna1")
+				);
+		}
+
+		@Test
+		@DisplayName("Should store records appended concurrently")
+		void shouldStoreRecordsAppendedConcurrently() throws Exception {
+				//given
+				var journalPath = directory.resolve("repository.journal");
+				var executor = Executors.newFixedThreadPool(8);
+
+				//when
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var appends = new ArrayList<Future<?>>();
+						for (int i = 1; i <= 200; i++) {
+								var rocketId = "rocket" + i;
+								appends.add(executor.submit(() -> journal.append(new RocketAdded(rocketId, "Dragon"))));
+						}
+						for (var append : appends) {
+								append.get();
+						}
+				}
+				executor.shutdown();
+
+				//then
+				var replayed = new ArrayList<JournalRecord>();
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						journal.replay(replayed::add);
+				}
+				assertThat(replayed)
+					.hasSize(200)
+					.extracting("rocketId")
+					.doesNotHaveDuplicates();
+		}
+
+		private static void ignoreRejection(Runnable change) {
+				try {
+						change.run();
+				} catch (IllegalStateException e) {
+						// Rocket of a Mission may be in repair at the moment
+				}
+		}
+}
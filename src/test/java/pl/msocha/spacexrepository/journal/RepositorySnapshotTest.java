@@ -0,0 +1,183 @@
+package pl.msocha.spacexrepository.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+import pl.msocha.spacexrepository.storage.DenseRocketStore;
+
+public class RepositorySnapshotTest {
+
+		private static final RepositoryOptions SNAPSHOTS_ENABLED = RepositoryOptions.builder().snapshotsEnabled(true).build();
+
+		@TempDir
+		Path directory;
+
+		@Test
+		@DisplayName("Should restore Rockets, Missions and identifier generators from snapshot")
+		void shouldRestoreRocketsMissionsAndGeneratorsFromSnapshot() {
+				//given
+				var snapshotPath = directory.resolve("repository.snapshot");
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), SNAPSHOTS_ENABLED);
+				var transitMissionId = repository.addMission("Transit");
+				repository.addMission("Luna1");
+				var rocketIds = repository.addRockets(List.of("Red Dragon", "Dragon XL", "Falcon Heavy"));
+				repository.assignRocketsToMission(transitMissionId, rocketIds.subList(0, 2));
+				repository.setRocketStatus(rocketIds.get(1), RocketStatus.IN_REPAIR);
+
+				//when
+				repository.writeSnapshot(snapshotPath);
+				var restored = SpaceXRepository.restore(snapshotPath, new DenseRocketStore(), new ConcurrentHashMap<>());
+
+				//then
+				assertThat(restored.addRocket("Dragon 1")).isEqualTo("rocket4");
+				assertThat(restored.addMission("Mars")).isEqualTo("mission3");
+				var summary = restored.getMissionsSummary();
+				assertThat(summary)
+					.extracting("missionName", "missionStatus")
+					.containsExactly(
+						tuple("Transit", MissionStatus.PENDING),
+						tuple("Mars", MissionStatus.SCHEDULED),
+						tuple("Luna1", MissionStatus.SCHEDULED)
+					);
+				assertThat(summary.get(0).getRockets())
+					.extracting("rocketName", "rocketStatus")
+					.containsExactlyInAnyOrder(
+						tuple("Red Dragon", RocketStatus.IN_SPACE),
+						tuple("Dragon XL", RocketStatus.IN_REPAIR)
+					);
+		}
+
+		@Test
+		@DisplayName("Should replay journal started after snapshot")
+		void shouldReplayJournalStartedAfterSnapshot() {
+				//given
+				var snapshotPath = directory.resolve("repository.snapshot");
+				var journalPath = directory.resolve("repository.journal");
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), SNAPSHOTS_ENABLED);
+				var missionId = repository.addMission("Transit");
+				repository.writeSnapshot(snapshotPath);
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var journaled = SpaceXRepository.restore(snapshotPath, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+						journaled.assignRocketToMission(journaled.addRocket("Red Dragon"), missionId);
+				}
+
+				//when
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var restored = SpaceXRepository.restore(snapshotPath, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+
+						//then
+						assertThat(restored.getMissionsSummary().get(0).getRockets())
+							.extracting("rocketName", "rocketStatus")
+							.containsExactly(tuple("Red Dragon", RocketStatus.IN_SPACE));
+				}
+		}
+
+		@Test
+		@DisplayName("Should replay only records of the same journal written after snapshot")
+		void shouldReplayOnlyRecordsWrittenAfterSnapshot() {
+				//given
+				var snapshotPath = directory.resolve("repository.snapshot");
+				var journalPath = directory.resolve("repository.journal");
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().journal(journal).snapshotsEnabled(true).build());
+						var missionId = repository.addMission("Transit");
+						repository.assignRocketToMission(repository.addRocket("Red Dragon"), missionId);
+						repository.writeSnapshot(snapshotPath);
+						repository.setRocketStatus("rocket1", RocketStatus.IN_REPAIR);
+						repository.addRocket("Dragon XL");
+				}
+
+				//when
+				try (var journal = RepositoryJournal.open(journalPath)) {
+						var restored = SpaceXRepository.restore(snapshotPath, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), journal);
+
+						//then
+						assertThat(restored.getMissionsSummary())
+							.singleElement()
+							.satisfies(summary -> {
+									assertThat(summary.getMissionStatus()).isEqualTo(MissionStatus.PENDING);
+									assertThat(summary.getRockets())
+										.extracting("rocketName", "rocketStatus")
+										.containsExactly(tuple("Red Dragon", RocketStatus.IN_REPAIR));
+							});
+						assertThat(restored.findRocketsByStatus(RocketStatus.ON_GROUND)).containsExactly("rocket2");
+						assertThat(restored.addRocket("Falcon Heavy")).isEqualTo("rocket3");
+				}
+		}
+
+		@Test
+		@DisplayName("Should restore snapshot longer than read buffer, with name longer than buffer")
+		void shouldRestoreSnapshotLongerThanReadBuffer() {
+				//given
+				var snapshotPath = directory.resolve("repository.snapshot");
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), SNAPSHOTS_ENABLED);
+				var longName = "L".repeat(3 << 20);
+				var missionId = repository.addMission(longName);
+				var rocketNames = IntStream.rangeClosed(1, 100_000).mapToObj(i -> "Dragon " + i).toList();
+				repository.addRockets(rocketNames);
+				repository.assignRocketToMission("rocket100000", missionId);
+
+				//when
+				repository.writeSnapshot(snapshotPath);
+				var restoredRockets = new ConcurrentHashMap<String, Rocket>();
+				var restored = SpaceXRepository.restore(snapshotPath, restoredRockets, new ConcurrentHashMap<>());
+
+				//then
+				assertThat(restoredRockets).hasSize(100_000);
+				assertThat(restoredRockets.get("rocket99999").getName()).isEqualTo("Dragon 99999");
+				assertThat(restored.getMissionsSummary())
+					.singleElement()
+					.satisfies(summary -> {
+							assertThat(summary.getMissionName()).isEqualTo(longName);
+							assertThat(summary.getRockets()).extracting("rocketName").containsExactly("Dragon 100000");
+					});
+		}
+
+		@Test
+		@DisplayName("Should not write snapshot when snapshots are not enabled")
+		void shouldNotWriteSnapshotWhenSnapshotsAreNotEnabled() {
+				//given
+				var snapshotPath = directory.resolve("repository.snapshot");
+				var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+				repository.addMission("Transit");
+
+				//when
+				var exception = catchException(() -> repository.writeSnapshot(snapshotPath));
+
+				//then
+				assertThat(exception).isInstanceOf(IllegalStateException.class);
+				assertThat(exception.getMessage()).isEqualTo("Snapshots are not enabled");
+				assertThat(snapshotPath).doesNotExist();
+		}
+
+		@Test
+		@DisplayName("Should reject file that is not a snapshot")
+		void shouldRejectFileThatIsNotASnapshot() throws IOException {
+				//given
+				var snapshotPath = Files.writeString(directory.resolve("repository.snapshot"), "not a snapshot at all");
+
+				//when
+				var exception = catchException(() -> SpaceXRepository.restore(snapshotPath, new ConcurrentHashMap<>(), new ConcurrentHashMap<>()));
+
+				//then
+				assertThat(exception).isInstanceOf(UncheckedIOException.class);
+				assertThat(exception.getCause().getMessage()).isEqualTo("File is not a repository snapshot");
+		}
+}
@@ -0,0 +1,151 @@
+package pl.msocha.spacexrepository.manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.MissionSummary;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class ManifestLoaderTest {
+
+		@TempDir
+		Path directory;
+
+		SpaceXRepository repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+		@Test
+		@DisplayName("Should load CSV manifest split into many chunks and report rejected lines")
+		void shouldLoadCsvManifestAndReportRejectedLines() throws IOException {
+				//given
+				var manifest = directory.resolve("fleet.csv");
+				Files.writeString(manifest, """
+					type,key,name,status
+					mission,m1,Transit,IN_PROGRESS
+					mission,m2,"Luna, first",
+					rocket,r1,Red Dragon,
+					rocket,r2,Dragon XL,IN_REPAIR
+					rocket,r3,Falcon 9,LANDED
+					assign,r1,m1
+					assign,r2,m2
+					assign,r1,m9
+					assign,r4,m1
+					launch,r1,m1
+					""" + IntStream.rangeClosed(1, 50)
+					.mapToObj(i -> "rocket,f%d,Falcon %d\nassign,f%d,m2\n".formatted(i, i, i))
+					.collect(Collectors.joining()));
+				var pool = new ForkJoinPool(4);
+				var tested = new ManifestLoader(repository, pool, 64, 8);
+
+				//when
+				var report = tested.load(manifest, ManifestFormat.CSV);
+				pool.shutdown();
+
+				//then
+				assertThat(report.lines()).isEqualTo(111);
+				assertThat(report.rockets()).isEqualTo(52);
+				assertThat(report.missions()).isEqualTo(2);
+				assertThat(report.assignments()).isEqualTo(52);
+				assertThat(report.statusChanges()).isEqualTo(2);
+				assertThat(report.rejectedLines())
+					.extracting("lineNumber", "reason")
+					.containsExactly(
+						tuple(6L, "Unknown Rocket status [LANDED]"),
+						tuple(9L, "Unknown Mission key [m9]"),
+						tuple(10L, "Unknown Rocket key [r4]"),
+						tuple(11L, "Unknown record type [launch]")
+					);
+				assertThat(report.linesPerSecond()).isPositive();
+				assertThat(repository.getMissionsSummary())
+					.extracting(MissionSummary::getMissionName, MissionSummary::getMissionStatus, summary -> summary.getRockets().size())
+					.containsExactly(
+						tuple("Luna, first", MissionStatus.PENDING, 51),
+						tuple("Transit", MissionStatus.IN_PROGRESS, 1)
+					);
+				assertThat(repository.countRocketsByStatus(RocketStatus.IN_REPAIR)).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("Should load JSONL manifest")
+		void shouldLoadJsonlManifest() throws IOException {
+				//given
+				var manifest = directory.resolve("fleet.jsonl");
+				Files.writeString(manifest, """
+					{"type":"mission","key":"m1","name":"Transit \\"One\\"","status":null}
+					{"type": "rocket", "key": "r1", "name": "Red Dragon \\u00c6"}
+					{"type":"assign","rocket":"r1","mission":"m1"}
+					{"type":"rocket","key":"r2","name":42}
+					{"type":"rocket","key":"r1","name":"Falcon Heavy"}
+					""");
+				var tested = new ManifestLoader(repository);
+
+				//when
+				var report = tested.load(manifest, ManifestFormat.JSONL);
+
+				//then
+				assertThat(report.rockets()).isEqualTo(1);
+				assertThat(report.assignments()).isEqualTo(1);
+				assertThat(report.rejectedLines())
+					.extracting("lineNumber", "reason")
+					.containsExactly(
+						tuple(4L, "Only string and null values are supported"),
+						tuple(5L, "Duplicate Rocket key [r1]")
+					);
+				assertThat(repository.getMissionsSummary())
+					.singleElement()
+					.satisfies(summary -> {
+							assertThat(summary.getMissionName()).isEqualTo("Transit \"One\"");
+							assertThat(summary.getRockets()).extracting("rocketName").containsExactly("Red Dragon Æ");
+					});
+		}
+
+		@Test
+		@DisplayName("Should reject Mission statuses failing validation and apply the others")
+		void shouldRejectInvalidMissionStatuses() throws IOException {
+				//given
+				var manifest = directory.resolve("fleet.csv");
+				Files.writeString(manifest, """
+					mission,m1,Transit,IN_PROGRESS
+					mission,m2,Luna1,IN_PROGRESS
+					mission,m3,Mars,ENDED
+					mission,m4,Venus,ENDED
+					rocket,r1,Red Dragon,
+					rocket,r2,Dragon XL,
+					assign,r1,m1
+					assign,r2,m3
+					""");
+				var tested = new ManifestLoader(repository, ForkJoinPool.commonPool(), 64, 2);
+
+				//when
+				var report = tested.load(manifest, ManifestFormat.CSV);
+
+				//then
+				assertThat(report.missions()).isEqualTo(4);
+				assertThat(report.statusChanges()).isEqualTo(2);
+				assertThat(report.rejectedLines())
+					.extracting("lineNumber", "reason")
+					.containsExactly(
+						tuple(2L, "Mission does not have any Rockets assigned"),
+						tuple(3L, "Mission still has assigned rockets")
+					);
+				assertThat(repository.getMissionsSummary())
+					.extracting(MissionSummary::getMissionName, MissionSummary::getMissionStatus)
+					.containsExactly(
+						tuple("Transit", MissionStatus.IN_PROGRESS),
+						tuple("Mars", MissionStatus.SCHEDULED),
+						tuple("Venus", MissionStatus.ENDED),
+						tuple("Luna1", MissionStatus.SCHEDULED)
+					);
+		}
+}
@@ -0,0 +1,134 @@
+package pl.msocha.spacexrepository.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.RepositoryOptions;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class RepositoryMetricsTest {
+
+		@Nested
+		@DisplayName("Repository metrics")
+		class RepositoryMetricsTests {
+
+				@Test
+				@DisplayName("Should record latency of operations and validation failures by reason")
+				void shouldRecordLatencyAndValidationFailures() {
+						//given
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().metricsEnabled(true).build());
+						var missionId = repository.addMission("Transit");
+						repository.assignRocketToMission(repository.addRocket("Red Dragon"), missionId);
+
+						//when
+						assertThatThrownBy(() -> repository.addRocket("")).isInstanceOf(IllegalArgumentException.class);
+						assertThatThrownBy(() -> repository.assignRocketToMission("rocket404", missionId)).isInstanceOf(IllegalArgumentException.class);
+						assertThatThrownBy(() -> repository.setMissionStatus(missionId, MissionStatus.ENDED)).isInstanceOf(IllegalStateException.class);
+						repository.getMissionsSummary();
+						repository.findRocketsByStatus(RocketStatus.IN_SPACE);
+						repository.countMissionRocketsByStatus(missionId, RocketStatus.IN_SPACE);
+						assertThatThrownBy(() -> repository.countMissionsByStatus(null)).isInstanceOf(IllegalArgumentException.class);
+						var snapshot = repository.metrics().snapshot();
+
+						//then
+						assertThat(snapshot.operationLatencies().get(Operation.ADD_ROCKET).count()).isEqualTo(2);
+						assertThat(snapshot.operationLatencies().get(Operation.ASSIGN_ROCKET_TO_MISSION).count()).isEqualTo(2);
+						assertThat(snapshot.operationLatencies().get(Operation.GET_MISSIONS_SUMMARY).count()).isEqualTo(1);
+						assertThat(snapshot.operationLatencies().get(Operation.TOP_MISSIONS).count()).isZero();
+						assertThat(snapshot.operationLatencies().get(Operation.FIND_ROCKETS_BY_STATUS).count()).isEqualTo(1);
+						assertThat(snapshot.operationLatencies().get(Operation.COUNT_MISSION_ROCKETS_BY_STATUS).count()).isEqualTo(1);
+						assertThat(snapshot.operationLatencies().get(Operation.COUNT_MISSIONS_BY_STATUS).count()).isEqualTo(1);
+						assertThat(snapshot.lockWait().count()).isEqualTo(2);
+						assertThat(snapshot.validationFailures())
+							.containsEntry(ValidationFailure.INVALID_ARGUMENT, 2L)
+							.containsEntry(ValidationFailure.ROCKET_NOT_FOUND, 1L)
+							.containsEntry(ValidationFailure.MISSION_HAS_ROCKETS, 1L)
+							.containsEntry(ValidationFailure.MISSION_ENDED, 0L);
+				}
+
+				@Test
+				@DisplayName("Should not record anything when metrics are disabled")
+				void shouldNotRecordWhenDisabled() {
+						//given
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+						//when
+						repository.addRocket("Red Dragon");
+						assertThatThrownBy(() -> repository.addMission(null)).isInstanceOf(IllegalArgumentException.class);
+						var snapshot = repository.metrics().snapshot();
+
+						//then
+						assertThat(repository.metrics().isEnabled()).isFalse();
+						assertThat(snapshot.operationLatencies().values()).allMatch(latency -> latency.count() == 0);
+						assertThat(snapshot.validationFailures().values()).allMatch(count -> count == 0);
+				}
+
+				@Test
+				@DisplayName("Should expose metrics as MBean")
+				void shouldExposeMetricsAsMBean() throws Exception {
+						//given
+						var repository = new SpaceXRepository(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+							RepositoryOptions.builder().metricsEnabled(true).build());
+						repository.addMission("Transit");
+						var objectName = repository.metrics().registerMBean("metrics-test");
+
+						try {
+								//when
+								var server = ManagementFactory.getPlatformMBeanServer();
+								var latencies = (TabularData) server.getAttribute(objectName, "OperationLatencies");
+								var addMission = (CompositeData) latencies.get(new Object[]{Operation.ADD_MISSION.name()}).get("value");
+
+								//then
+								assertThat(server.getAttribute(objectName, "Enabled")).isEqualTo(true);
+								assertThat(addMission.get("count")).isEqualTo(1L);
+						} finally {
+								repository.metrics().unregisterMBean(objectName);
+						}
+				}
+		}
+
+		@Nested
+		@DisplayName("Latency histogram")
+		class LatencyHistogramTests {
+
+				@Test
+				@DisplayName("Should report percentiles within bucket precision")
+				void shouldReportPercentilesWithinBucketPrecision() {
+						//given
+						var tested = new LatencyHistogram();
+
+						//when
+						for (int nanos = 1; nanos <= 1000; nanos++) {
+								tested.record(nanos * 1000L);
+						}
+						var snapshot = tested.snapshot();
+
+						//then
+						assertThat(snapshot.count()).isEqualTo(1000);
+						assertThat(snapshot.meanNanos()).isEqualTo(500_500);
+						assertThat(snapshot.maxNanos()).isEqualTo(1_000_000);
+						assertThat(snapshot.p50Nanos()).isBetween(500_000L, 500_000L + 500_000L / 8);
+						assertThat(snapshot.p99Nanos()).isBetween(990_000L, 1_000_000L);
+				}
+
+				@Test
+				@DisplayName("Should map every value to bucket containing it")
+				void shouldMapValueToBucketContainingIt() {
+						for (var value : new long[]{0, 7, 8, 9, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+								var bucket = LatencyHistogram.bucketOf(value);
+								assertThat(LatencyHistogram.highestValueOf(bucket)).isGreaterThanOrEqualTo(value);
+								assertThat(bucket == 0 || LatencyHistogram.highestValueOf(bucket - 1) < value).isTrue();
+						}
+				}
+		}
+}
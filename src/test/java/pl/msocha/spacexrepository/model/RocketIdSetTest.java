@@ -0,0 +1,99 @@
+package pl.msocha.spacexrepository.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class RocketIdSetTest {
+
+		@Test
+		@DisplayName("Should keep generated and custom identifiers")
+		void shouldKeepGeneratedAndCustomIdentifiers() {
+				//given
+				var tested = new RocketIdSet();
+
+				//when
+				tested.add("rocket12");
+				tested.add("Falcon");
+				tested.add("rocket3");
+				var duplicateAdded = tested.add("rocket12");
+				tested.remove("rocket3");
+
+				//then
+				assertThat(duplicateAdded).isFalse();
+				assertThat(tested).containsExactly("rocket12", "Falcon");
+				assertThat(tested.contains("rocket3")).isFalse();
+				assertThat(tested.contains("Falcon")).isTrue();
+		}
+
+		@Test
+		@DisplayName("Should merge added identifiers with a single change")
+		void shouldMergeAddedIdentifiers() {
+				//given
+				var tested = new RocketIdSet();
+				tested.add("rocket5");
+				tested.add("Falcon");
+				var iterator = tested.iterator();
+
+				//when
+				var added = tested.addAll(List.of("rocket9", "rocket1", "rocket5", "Dragon", "rocket9", "Falcon"));
+				var addedAgain = tested.addAll(List.of("rocket1", "Dragon"));
+
+				//then
+				assertThat(added).isTrue();
+				assertThat(addedAgain).isFalse();
+				assertThat(tested).containsExactly("rocket1", "rocket5", "rocket9", "Falcon", "Dragon");
+				assertThat(iterator).toIterable().containsExactly("rocket5", "Falcon");
+		}
+
+		@Test
+		@DisplayName("Should iterate stable snapshot while identifiers are added")
+		void shouldIterateStableSnapshot() {
+				//given
+				var tested = new RocketIdSet();
+				tested.add("rocket1");
+				tested.add("rocket2");
+				var iterator = tested.iterator();
+
+				//when
+				tested.add("rocket3");
+				var iterated = new ArrayList<String>();
+				iterator.forEachRemaining(iterated::add);
+
+				//then
+				assertThat(iterated).containsExactly("rocket1", "rocket2");
+				assertThat(tested).hasSize(3);
+		}
+
+		@Test
+		@DisplayName("Should not lose identifiers added concurrently")
+		void shouldNotLoseConcurrentlyAddedIdentifiers() throws InterruptedException {
+				//given
+				var tested = new RocketIdSet();
+				var executor = Executors.newFixedThreadPool(4);
+				var done = new CountDownLatch(4);
+
+				//when
+				for (int thread = 0; thread < 4; thread++) {
+						var offset = thread;
+						executor.execute(() -> {
+								for (int i = 1; i <= 1000; i++) {
+										tested.add(Identifiers.rocketId(i * 4 - offset));
+								}
+								done.countDown();
+						});
+				}
+
+				//then
+				assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+				executor.shutdown();
+				assertThat(tested).hasSize(4000);
+				assertThat(tested).contains("rocket1", "rocket4000");
+		}
+}
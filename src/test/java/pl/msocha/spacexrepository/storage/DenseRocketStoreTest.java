@@ -0,0 +1,283 @@
+package pl.msocha.spacexrepository.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.MissionSummaryVisitor;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.Identifiers;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class DenseRocketStoreTest {
+
+		DenseRocketStore tested = new DenseRocketStore();
+
+		@Test
+		@DisplayName("Should store Rocket and return view of stored state")
+		void shouldStoreRocketAndReturnViewOfStoredState() {
+				//given
+				var rocket = new Rocket("rocket7", "Dragon 1");
+				rocket.setMissionId("mission3");
+
+				//when
+				tested.put(rocket.getId(), rocket);
+
+				//then
+				var storedRocket = tested.get("rocket7");
+				assertThat(storedRocket.getId()).isEqualTo("rocket7");
+				assertThat(storedRocket.getName()).isEqualTo("Dragon 1");
+				assertThat(storedRocket.getStatus()).isEqualTo(RocketStatus.ON_GROUND);
+				assertThat(storedRocket.getMissionId()).isEqualTo("mission3");
+				assertThat(tested).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("Should write changes made through Rocket view to the store")
+		void shouldWriteChangesMadeThroughViewToTheStore() {
+				//given
+				tested.put("rocket1", new Rocket("rocket1", "Dragon 1"));
+
+				//when
+				var view = tested.get("rocket1");
+				view.setStatus(RocketStatus.IN_REPAIR);
+				view.setMissionId("mission1");
+
+				//then
+				var storedRocket = tested.get("rocket1");
+				assertThat(storedRocket.getStatus()).isEqualTo(RocketStatus.IN_REPAIR);
+				assertThat(storedRocket.getMissionId()).isEqualTo("mission1");
+		}
+
+		@Test
+		@DisplayName("Should grow storage and iterate over stored Rockets")
+		void shouldGrowStorageAndIterateOverStoredRockets() {
+				//given
+				tested.put("rocket1", new Rocket("rocket1", "Dragon 1"));
+				tested.put("rocket100000", new Rocket("rocket100000", "Dragon XL"));
+
+				//when
+				tested.remove("rocket1");
+
+				//then
+				assertThat(tested.get("rocket1")).isNull();
+				assertThat(tested.values())
+					.extracting("id", "name")
+					.containsExactly(tuple("rocket100000", "Dragon XL"));
+		}
+
+		@Test
+		@DisplayName("Should keep Rocket state whole when put and replaced concurrently")
+		void shouldKeepRocketStateWholeWhenPutAndReplacedConcurrently() throws Exception {
+				//given
+				tested.put("rocket1", rocket("Dragon 1", RocketStatus.IN_SPACE));
+				var executor = Executors.newFixedThreadPool(2);
+				var start = new CountDownLatch(1);
+
+				//when
+				var putting = executor.submit(() -> {
+						start.await();
+						for (int i = 0; i < 20_000; i++) {
+								tested.put("rocket1", rocket("Dragon " + (i % 2), i % 2 == 0 ? RocketStatus.IN_REPAIR : RocketStatus.IN_SPACE));
+						}
+						return null;
+				});
+				var replacing = executor.submit(() -> {
+						start.await();
+						for (int i = 0; i < 20_000; i++) {
+								tested.replace("rocket1", rocket("Falcon " + (i % 3), RocketStatus.ON_GROUND));
+						}
+						return null;
+				});
+				start.countDown();
+				putting.get();
+				replacing.get();
+				executor.shutdown();
+
+				//then
+				var storedRocket = tested.get("rocket1");
+				assertThat(tested).hasSize(1);
+				assertThat(storedRocket.getStatus()).isEqualTo(switch (storedRocket.getName()) {
+						case "Dragon 0" -> RocketStatus.IN_REPAIR;
+						case "Dragon 1" -> RocketStatus.IN_SPACE;
+						default -> RocketStatus.ON_GROUND;
+				});
+		}
+
+		@Test
+		@DisplayName("Should read current names after names of removed Rockets are released")
+		void shouldReadCurrentNamesAfterNamesOfRemovedRocketsAreReleased() {
+				//given
+				for (int i = 1; i <= 200; i++) {
+						tested.put("rocket" + i, new Rocket("rocket" + i, "Dragon " + i));
+				}
+				var view = tested.get("rocket7");
+
+				//when
+				for (int i = 1; i <= 200; i += 2) {
+						tested.remove("rocket" + i);
+				}
+				for (int i = 1; i <= 200; i += 2) {
+						tested.put("rocket" + i, new Rocket("rocket" + i, "Falcon " + i));
+				}
+
+				//then
+				assertThat(view.getName()).isEqualTo("Falcon 7");
+				assertThat(tested.values())
+					.extracting(Rocket::getName)
+					.containsExactlyElementsOf(IntStream.rangeClosed(1, 200)
+						.mapToObj(i -> (i % 2 == 0 ? "Dragon " : "Falcon ") + i)
+						.toList());
+		}
+
+		@Test
+		@DisplayName("Should replace and remove Rocket only in state it was compared with")
+		void shouldReplaceAndRemoveRocketOnlyInStateItWasComparedWith() {
+				//given
+				tested.put("rocket1", rocket("Dragon 1", RocketStatus.ON_GROUND));
+				var expected = tested.get("rocket1");
+				var compared = rocket("Dragon 1", RocketStatus.ON_GROUND);
+
+				//when
+				expected.setStatus(RocketStatus.IN_REPAIR);
+				var replacedChanged = tested.replace("rocket1", compared, rocket("Falcon 1", RocketStatus.IN_SPACE));
+				var removedChanged = tested.remove("rocket1", compared);
+				var replaced = tested.replace("rocket1", rocket("Dragon 1", RocketStatus.IN_REPAIR), rocket("Falcon 1", RocketStatus.IN_SPACE));
+
+				//then
+				assertThat(replacedChanged).isFalse();
+				assertThat(removedChanged).isFalse();
+				assertThat(replaced).isTrue();
+				assertThat(tested.get("rocket1"))
+					.extracting("name", "status")
+					.containsExactly("Falcon 1", RocketStatus.IN_SPACE);
+				assertThat(tested.remove("rocket1", rocket("Falcon 1", RocketStatus.IN_SPACE))).isTrue();
+				assertThat(tested).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Should never read name of another Rocket while names are released and reused")
+		void shouldNeverReadNameOfAnotherRocketWhileNamesAreReused() throws Exception {
+				//given
+				for (int i = 1; i <= 50; i++) {
+						tested.put("rocket" + i, new Rocket("rocket" + i, "Dragon " + i + "/0"));
+				}
+				var executor = Executors.newFixedThreadPool(2);
+				var start = new CountDownLatch(1);
+
+				//when
+				var writing = executor.submit(() -> {
+						start.await();
+						for (int i = 0; i < 100_000; i++) {
+								var number = 1 + i % 50;
+								tested.remove("rocket" + number);
+								tested.put("rocket" + number, new Rocket("rocket" + number, "Dragon " + number + "/" + i % 7));
+						}
+						return null;
+				});
+				var reading = executor.submit(() -> {
+						var foreignNames = new ArrayList<String>();
+						start.await();
+						while (!writing.isDone()) {
+								for (int number = 1; number <= 50; number++) {
+										var rocket = tested.get("rocket" + number);
+										var name = rocket == null ? null : rocket.getName();
+										if (name != null && !name.startsWith("Dragon " + number + "/")) {
+												foreignNames.add(name);
+										}
+								}
+						}
+						return foreignNames;
+				});
+				start.countDown();
+				writing.get();
+				var foreignNames = reading.get();
+				executor.shutdown();
+
+				//then
+				assertThat(foreignNames).isEmpty();
+		}
+
+		@Test
+		@DisplayName("Should not find Rocket with identifier in unsupported format")
+		void shouldNotFindRocketWithIdentifierInUnsupportedFormat() {
+				//when
+				var exception = catchException(() -> tested.put("ghostRocket", new Rocket("ghostRocket", "Ghost")));
+
+				//then
+				assertThat(tested.get("ghostRocket")).isNull();
+				assertThat(exception).isInstanceOf(IllegalArgumentException.class);
+				assertThat(exception.getMessage()).isEqualTo("Rocket identifier [ghostRocket] is not supported by dense storage");
+		}
+
+		@Test
+		@DisplayName("Should serve repository operations from dense storage")
+		void shouldServeRepositoryOperationsFromDenseStorage() {
+				//given
+				var repository = new SpaceXRepository(tested, new ConcurrentHashMap<>());
+				var missionId = repository.addMission("Transit");
+				var redDragonId = repository.addRocket("Red Dragon");
+				var dragonXLId = repository.addRocket("Dragon XL");
+
+				//when
+				repository.assignRocketToMission(redDragonId, missionId);
+				repository.assignRocketToMission(dragonXLId, missionId);
+				repository.setRocketStatus(dragonXLId, RocketStatus.IN_REPAIR);
+
+				//then
+				var summary = repository.getMissionsSummary();
+				assertThat(summary).hasSize(1);
+				assertThat(summary.get(0).getMissionStatus()).isEqualTo(MissionStatus.PENDING);
+				assertThat(summary.get(0).getRockets())
+					.extracting("rocketName", "rocketStatus")
+					.containsExactlyInAnyOrder(
+						tuple("Red Dragon", RocketStatus.IN_SPACE),
+						tuple("Dragon XL", RocketStatus.IN_REPAIR)
+					);
+		}
+
+		@Test
+		@DisplayName("Should visit Missions summary with Rockets read by number from dense storage")
+		void shouldVisitMissionsSummaryWithRocketsReadByNumber() {
+				//given
+				var repository = new SpaceXRepository(tested, new ConcurrentHashMap<>());
+				var missionId = repository.addMission("Transit");
+				var rocketIds = repository.addRockets(List.of("Red Dragon", "Dragon XL"));
+				repository.assignRocketsToMission(missionId, rocketIds);
+				repository.setRocketStatus(rocketIds.get(1), RocketStatus.IN_REPAIR);
+				var visited = new ArrayList<String>();
+
+				//when
+				repository.forEachMissionSummary(new MissionSummaryVisitor() {
+						@Override
+						public void missionStart(String missionName, MissionStatus missionStatus) {
+								visited.add(missionName + ":" + missionStatus);
+						}
+
+						@Override
+						public void rocket(String rocketName, RocketStatus rocketStatus) {
+								visited.add(rocketName + ":" + rocketStatus);
+						}
+				});
+
+				//then
+				assertThat(visited).containsExactly("Transit:PENDING", "Red Dragon:IN_SPACE", "Dragon XL:IN_REPAIR");
+				assertThat(tested.rocketName(Identifiers.rocketNumber(rocketIds.get(1)))).isEqualTo("Dragon XL");
+		}
+
+		private static Rocket rocket(String name, RocketStatus status) {
+				var rocket = new Rocket("rocket1", name);
+				rocket.setStatus(status);
+				return rocket;
+		}
+}
@@ -0,0 +1,108 @@
+package pl.msocha.spacexrepository.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pl.msocha.spacexrepository.SpaceXRepository;
+import pl.msocha.spacexrepository.model.Mission;
+import pl.msocha.spacexrepository.model.MissionStatus;
+import pl.msocha.spacexrepository.model.Rocket;
+import pl.msocha.spacexrepository.model.RocketStatus;
+
+public class OffHeapStoreTest {
+
+		OffHeapRocketStore rockets = new OffHeapRocketStore();
+		OffHeapMissionStore missions = new OffHeapMissionStore();
+
+		@Test
+		@DisplayName("Should store Rocket off heap and write changes made through view")
+		void shouldStoreRocketAndWriteChangesMadeThroughView() {
+				//given
+				rockets.put("rocket70000", new Rocket("rocket70000", "Dragon Żółty"));
+
+				//when
+				var view = rockets.get("rocket70000");
+				view.setStatus(RocketStatus.IN_REPAIR);
+				var assigned = view.assignMission("mission3");
+
+				//then
+				var storedRocket = rockets.get("rocket70000");
+				assertThat(assigned).isTrue();
+				assertThat(storedRocket.getName()).isEqualTo("Dragon Żółty");
+				assertThat(storedRocket.getStatus()).isEqualTo(RocketStatus.IN_REPAIR);
+				assertThat(storedRocket.getMissionId()).isEqualTo("mission3");
+				assertThat(rockets.get("rocket1")).isNull();
+				assertThat(rockets).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("Should store Mission off heap with its Rockets and iterate over stored Missions")
+		void shouldStoreMissionAndIterateOverStoredMissions() {
+				//given
+				var mission = new Mission("mission2", "Transit");
+				mission.addRocket("rocket1");
+				missions.put("mission2", mission);
+				missions.put("mission5", new Mission("mission5", "Luna"));
+
+				//when
+				missions.get("mission2").addRocket("rocket2");
+				missions.get("mission5").setStatus(MissionStatus.ENDED);
+				missions.remove("mission5");
+
+				//then
+				assertThat(missions.values())
+					.extracting("id", "name", "status")
+					.containsExactly(tuple("mission2", "Transit", MissionStatus.SCHEDULED));
+				assertThat(missions.get("mission2").getRocketIds()).containsExactly("rocket1", "rocket2");
+		}
+
+		@Test
+		@DisplayName("Should keep Rockets and name of Mission put back from its view")
+		void shouldKeepRocketsAndNameOfMissionPutBackFromItsView() {
+				//given
+				var mission = new Mission("mission1", "Transit");
+				mission.addRockets(List.of("rocket1", "rocket2"));
+				missions.put("mission1", mission);
+				var view = missions.get("mission1");
+				var rocketIds = view.getRocketIds();
+
+				//when
+				view.setStatus(MissionStatus.IN_PROGRESS);
+				var previous = missions.put("mission1", view);
+
+				//then
+				assertThat(previous.getRocketIds()).containsExactly("rocket1", "rocket2");
+				assertThat(missions.get("mission1").getRocketIds()).isSameAs(rocketIds);
+				assertThat(missions.get("mission1"))
+					.extracting("name", "status")
+					.containsExactly("Transit", MissionStatus.IN_PROGRESS);
+		}
+
+		@Test
+		@DisplayName("Should serve repository operations from off-heap storage")
+		void shouldServeRepositoryOperationsFromOffHeapStorage() {
+				//given
+				var repository = new SpaceXRepository(rockets, missions);
+				var missionId = repository.addMission("Transit");
+				var redDragonId = repository.addRocket("Red Dragon");
+				var dragonXLId = repository.addRocket("Dragon XL");
+
+				//when
+				repository.assignRocketsToMission(missionId, List.of(redDragonId, dragonXLId));
+				repository.setRocketStatus(dragonXLId, RocketStatus.IN_REPAIR);
+
+				//then
+				var summary = repository.getMissionsSummary();
+				assertThat(summary).hasSize(1);
+				assertThat(summary.get(0).getMissionStatus()).isEqualTo(MissionStatus.PENDING);
+				assertThat(summary.get(0).getRockets())
+					.extracting("rocketName", "rocketStatus")
+					.containsExactlyInAnyOrder(
+						tuple("Red Dragon", RocketStatus.IN_SPACE),
+						tuple("Dragon XL", RocketStatus.IN_REPAIR)
+					);
+		}
+}